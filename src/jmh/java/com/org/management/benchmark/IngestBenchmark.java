@@ -0,0 +1,127 @@
+package com.org.management.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.org.management.model.ImportResult;
+import com.org.management.persistence.EmployeeJournal;
+import com.org.management.repository.CompactEmployeeRepository;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+import com.org.management.service.EmployeeService;
+import com.org.management.service.ValidationMode;
+
+/**
+ * Startup ingest through EmployeeService into an empty store, once per
+ * load mode, from a CSV and from binary exports of the same org. The org
+ * is generated from a fixed seed, so the file sizes are the same on every
+ * run and are listed in the README. Each measured operation loads
+ * the whole file, so the score is the time per file; divide the size by it
+ * for rows per second. The journal is disabled so the numbers cover
+ * parsing, validation and the store only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class IngestBenchmark {
+
+	@Param({ "memory", "compact" })
+	public String store;
+
+	@Param({ "REALISTIC" })
+	public OrgGenerator.Shape shape;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	private Path csv;
+
+	private MockMultipartFile file;
+
+	private MockMultipartFile export;
+
+	private MockMultipartFile gzipExport;
+
+	private EmployeeService service;
+
+	@Setup(Level.Trial)
+	public void writeCsv() throws IOException {
+		csv = Files.createTempFile("employees", ".csv");
+		new OrgGenerator(shape, size, 42).writeCsv(csv);
+		file = new MockMultipartFile("employees", "employees.csv", MediaType.TEXT_PLAIN_VALUE, Files.readAllBytes(csv));
+
+		// The binary files are exports of the same org, so every mode loads identical rows
+		createService();
+		service.streamingSave(file, ValidationMode.LENIENT);
+		export = export(false);
+		gzipExport = export(true);
+	}
+
+	private MockMultipartFile export(boolean compress) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.export(out, compress);
+		return new MockMultipartFile("employees", "employees.bin", MediaType.APPLICATION_OCTET_STREAM_VALUE,
+				out.toByteArray());
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteCsv() throws IOException {
+		Files.deleteIfExists(csv);
+	}
+
+	// Every load starts from an empty store
+	@Setup(Level.Invocation)
+	public void createService() {
+		EmployeeRepository repository = "compact".equals(store)
+				? new CompactEmployeeRepository()
+				: new InMemoryEmployeeRepository();
+		service = new EmployeeService(repository, new EmployeeJournal(repository, "", false));
+	}
+
+	@Benchmark
+	public boolean initialSave() throws IOException {
+		return service.initialSave(file, ValidationMode.LENIENT);
+	}
+
+	@Benchmark
+	public ImportResult streamingSave() throws IOException {
+		return service.streamingSave(file, ValidationMode.LENIENT);
+	}
+
+	@Benchmark
+	public ImportResult parallelSave() throws IOException {
+		return service.parallelSave(csv, ValidationMode.LENIENT);
+	}
+
+	@Benchmark
+	public ImportResult binarySave() throws IOException {
+		return service.binarySave(export, ValidationMode.LENIENT);
+	}
+
+	@Benchmark
+	public ImportResult binarySaveGzip() throws IOException {
+		return service.binarySave(gzipExport, ValidationMode.LENIENT);
+	}
+}
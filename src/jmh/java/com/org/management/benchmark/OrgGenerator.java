@@ -0,0 +1,100 @@
+package com.org.management.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import com.org.management.model.Employee;
+
+/**
+ * Deterministic synthetic orgs for benchmarks. Employee 1 is the CEO and
+ * ids run from 1 to size, each manager appearing before its reports, so
+ * the same shape, size and seed always produce the same org. Employees are
+ * generated one at a time, so a 10M-row CSV never has to be held in memory.
+ */
+public final class OrgGenerator {
+
+	public enum Shape {
+		// Every manager has 1,000 reports: three levels hold a million employees
+		WIDE,
+		// Chains 1,000 managers long hanging off the CEO
+		DEEP,
+		// Spans of 3 to 12 reports filled level by level, as in a typical company
+		REALISTIC
+	}
+
+	private static final int WIDE_SPAN = 1000;
+
+	private static final int DEEP_CHAIN = 1000;
+
+	private static final String[] TITLES = { "Engineer", "Senior Engineer", "Designer", "Analyst", "Accountant",
+			"Recruiter", "Product Manager", "Sales Representative", "Support Specialist", "Director" };
+
+	private final Shape shape;
+
+	private final int size;
+
+	private final long seed;
+
+	public OrgGenerator(Shape shape, int size, long seed) {
+		this.shape = shape;
+		this.size = size;
+		this.seed = seed;
+	}
+
+	public void forEach(Consumer<Employee> consumer) {
+		SplittableRandom random = new SplittableRandom(seed);
+		consumer.accept(new Employee(1, "Employee 1", "CEO", 0));
+
+		// Realistic orgs hand out reports to managers in id order until each span is full
+		int manager = 1;
+		int span = 3 + random.nextInt(10);
+		for (int id = 2; id <= size; id++) {
+			int managerId;
+			switch (shape) {
+			case WIDE:
+				managerId = (id - 2) / WIDE_SPAN + 1;
+				break;
+			case DEEP:
+				managerId = (id - 2) % DEEP_CHAIN == 0 ? 1 : id - 1;
+				break;
+			default:
+				managerId = manager;
+				if (--span == 0) {
+					manager++;
+					span = 3 + random.nextInt(10);
+				}
+				break;
+			}
+			consumer.accept(new Employee(id, "Employee " + id, TITLES[random.nextInt(TITLES.length)], managerId));
+		}
+	}
+
+	public List<Employee> generate() {
+		List<Employee> employees = new ArrayList<>(size);
+		forEach(employees::add);
+		return employees;
+	}
+
+	// Writes the org in the startup CSV format, header included
+	public void writeCsv(Path csv) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+			writer.write("EmployeeID,Name,Title,ManagerID\n");
+			forEach(employee -> {
+				try {
+					writer.write(employee.getEmployeeId() + "," + employee.getName() + "," + employee.getTitle() + ","
+							+ (employee.getManagerId() == 0 ? "" : employee.getManagerId()) + "\n");
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.org.management.benchmark;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.org.management.metrics.TimedEmployeeRepository;
+import com.org.management.model.Employee;
+import com.org.management.repository.CompactEmployeeRepository;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+import com.org.management.repository.JdbcEmployeeRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Read paths of each store against a generated org: single lookups,
+ * subordinate queries, one page of the id-ordered listing and the full
+ * listing. Throughput and sampled latency percentiles are reported
+ * together; run with -prof gc for allocation rates. The jdbc store uses an
+ * in-memory H2 database and is left out unless asked for with -p store=jdbc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class RepositoryBenchmark {
+
+	private static final int PAGE_SIZE = 100;
+
+	@Param({ "memory", "compact" })
+	public String store;
+
+	@Param({ "WIDE", "DEEP", "REALISTIC" })
+	public OrgGenerator.Shape shape;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int size;
+
+	// Wraps the store in the metrics timers, as the application does
+	@Param({ "false" })
+	public boolean timed;
+
+	private EmployeeRepository repository;
+
+	private HikariDataSource dataSource;
+
+	// Managers take the lowest ids in every shape, so any id up to this one has reports
+	private int highestManager;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		repository = createRepository();
+		if (timed) {
+			repository = new TimedEmployeeRepository(repository, new SimpleMeterRegistry());
+		}
+		List<Employee> employees = new OrgGenerator(shape, size, 42).generate();
+		for (int from = 0; from < employees.size(); from += 10_000) {
+			repository.initialSaveAll(employees.subList(from, Math.min(employees.size(), from + 10_000)));
+		}
+		for (Employee employee : employees) {
+			highestManager = Math.max(highestManager, employee.getManagerId());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		if (dataSource != null) {
+			dataSource.close();
+		}
+	}
+
+	private EmployeeRepository createRepository() {
+		switch (store) {
+		case "memory":
+			return new InMemoryEmployeeRepository();
+		case "compact":
+			return new CompactEmployeeRepository();
+		case "jdbc":
+			dataSource = new HikariDataSource();
+			dataSource.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+			return new JdbcEmployeeRepository(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource));
+		default:
+			throw new IllegalArgumentException("Unknown store " + store);
+		}
+	}
+
+	@Benchmark
+	public Employee getEmployee() {
+		return repository.getEmployee(1 + ThreadLocalRandom.current().nextInt(size));
+	}
+
+	@Benchmark
+	public List<Employee> getSubordinates() {
+		Employee manager = Employee.builder().employeeId(1 + ThreadLocalRandom.current().nextInt(highestManager)).build();
+		return repository.getSubordinates(manager);
+	}
+
+	@Benchmark
+	public List<Employee> getEmployeesPage() {
+		return repository.getEmployees(ThreadLocalRandom.current().nextInt(size), PAGE_SIZE);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public List<Employee> getEmployees() {
+		return repository.getEmployees();
+	}
+}
@@ -2,8 +2,12 @@ package com.org.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Only the jdbc store needs a database; JdbcDataSourceConfiguration builds its pool
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@EnableScheduling
 public class ManagementApplication {
 
 	public static void main(String[] args) {
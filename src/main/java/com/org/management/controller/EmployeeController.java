@@ -2,42 +2,111 @@ package com.org.management.controller;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.opencsv.CSVReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.opencsv.exceptions.CsvException;
+import com.org.management.model.ChangePage;
+import com.org.management.model.DeleteResult;
 import com.org.management.model.Employee;
+import com.org.management.model.EmployeePage;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.ImportResult;
+import com.org.management.model.LcaQuery;
+import com.org.management.model.LcaResult;
+import com.org.management.service.ChangeFeed;
 import com.org.management.service.EmployeeService;
+import com.org.management.service.InvalidHierarchyException;
+import com.org.management.service.ValidationMode;
+import com.org.management.web.JsonCache;
 
 import jakarta.validation.Valid;
 
 @RestController
 public class EmployeeController {
 
+	static final int DEFAULT_PAGE_SIZE = 100;
+
+	static final int MAX_PAGE_SIZE = 1000;
+
+	static final int MAX_WAIT_SECONDS = 60;
+
+	static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
 	@Autowired
 	private EmployeeService employeeService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private JsonCache jsonCache;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	// Differs per process, so a tag handed out before a restart never matches a version after it
+	private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
 	@PostMapping("/employees/startup")
-	public ResponseEntity<?> loadData(@RequestParam("employees") MultipartFile file) {
+	public ResponseEntity<?> loadData(@RequestParam("employees") MultipartFile file,
+			@RequestParam(value = "mode", required = false) String mode,
+			@RequestParam(value = "validation", required = false) String validation) {
 		if (file.isEmpty()) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("File is empty");
 		}
 
+		// Lenient unless asked otherwise: problems are reported and the load is still published
+		ValidationMode validationMode = "strict".equals(validation) ? ValidationMode.STRICT : ValidationMode.LENIENT;
+
+		// Streaming, parallel and delta modes report per-row outcomes instead of a message
+		if ("stream".equals(mode) || "parallel".equals(mode) || "delta".equals(mode)) {
+			try {
+				ImportResult result = "stream".equals(mode)
+						? employeeService.streamingSave(file, validationMode)
+						: "parallel".equals(mode)
+						? employeeService.parallelSave(file, validationMode)
+						: employeeService.deltaSave(file, validationMode);
+				return ResponseEntity.status(HttpStatus.OK).body(result);
+			} catch (InvalidHierarchyException e) {
+				return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getReport());
+			} catch (IOException e) {
+				return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+						.body("Error processing file: " + e.getMessage());
+			}
+		}
+
 		try {
-			employeeService.initialSave(file);
+			employeeService.initialSave(file, validationMode);
+		} catch (InvalidHierarchyException e) {
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getReport());
 		} catch (IOException e) {
 			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
 					.body("Error processing file: " + e.getMessage());
@@ -46,15 +115,200 @@ public class EmployeeController {
 		return ResponseEntity.status(HttpStatus.OK).body("Data loaded successfully");
 	}
 
+	@PostMapping("/employees/import")
+	public ResponseEntity<?> importData(@RequestParam("employees") MultipartFile file,
+			@RequestParam(value = "validation", required = false) String validation) {
+		if (file.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("File is empty");
+		}
+		ValidationMode validationMode = "strict".equals(validation) ? ValidationMode.STRICT : ValidationMode.LENIENT;
+		try {
+			return ResponseEntity.status(HttpStatus.OK).body(employeeService.binarySave(file, validationMode));
+		} catch (InvalidHierarchyException e) {
+			return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getReport());
+		} catch (IOException e) {
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+					.body("Error processing file: " + e.getMessage());
+		}
+	}
+
+	@GetMapping("/employees/export")
+	public ResponseEntity<StreamingResponseBody> exportEmployees(
+			@RequestParam(value = "compress", required = false) String compress) {
+		boolean gzip = "gzip".equals(compress);
+		// Compression is part of the format, not a Content-Encoding, so the file imports as downloaded
+		StreamingResponseBody body = (OutputStream out) -> employeeService.export(out, gzip);
+		return ResponseEntity.status(HttpStatus.OK)
+				.contentType(MediaType.APPLICATION_OCTET_STREAM)
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.bin\"")
+				.body(body);
+	}
+
 	@RequestMapping("/employees")
-	public ResponseEntity<?> getEmployees() {
-		List<Employee> employees = employeeService.getEmployees();
+	public ResponseEntity<?> getEmployees(@RequestParam(value = "after", required = false) Integer after,
+			@RequestParam(value = "limit", required = false) Integer limit,
+			@RequestParam(value = "ids", required = false) List<Integer> ids,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+			throws JsonProcessingException {
+		// Read before the body, so the tag is never newer than what it describes
+		String etag = etag(employeeService.getVersion());
+
+		// Batch lookup of the given ids in one request
+		if (ids != null) {
+			if (ids.isEmpty() || ids.size() > MAX_PAGE_SIZE) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+						.body("Between 1 and " + MAX_PAGE_SIZE + " ids are required");
+			}
+			if (notModified(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+			List<Employee> employees = employeeService.getEmployees(ids);
+			if (employees.isEmpty()) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+			}
+			return ResponseEntity.status(HttpStatus.OK).eTag(etag).body(employees);
+		}
+
+		// Cursor pagination in ascending id order when either parameter is given
+		if (after != null || limit != null) {
+			int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+			if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+						.body("Limit must be between 1 and " + MAX_PAGE_SIZE);
+			}
+			if (notModified(ifNoneMatch, etag)) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+			}
+			EmployeePage page = employeeService.getEmployees(after, pageSize);
+			return ResponseEntity.status(HttpStatus.OK).eTag(etag).body(page);
+		}
+
+		if (notModified(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+		}
+		byte[] json = jsonCache.get("employees", etag);
+		if (json == null) {
+			List<Employee> employees = employeeService.getEmployees();
 
-		// Check if employees exist
-		if (employees.isEmpty()) {
-			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No employees exist");
+			// Check if employees exist
+			if (employees.isEmpty()) {
+				return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No employees exist");
+			}
+			json = jsonCache.put("employees", etag, employees);
 		}
-		return ResponseEntity.status(HttpStatus.OK).body(employees);
+		return ResponseEntity.status(HttpStatus.OK).eTag(etag).contentType(MediaType.APPLICATION_JSON).body(json);
+	}
+
+	@GetMapping("/employees/version")
+	public ResponseEntity<?> getVersion() {
+		return ResponseEntity.status(HttpStatus.OK).body(employeeService.getVersion());
+	}
+
+	@GetMapping("/employees/summary")
+	public ResponseEntity<?> getOrgSummary() {
+		return ResponseEntity.status(HttpStatus.OK).body(employeeService.getOrgSummary());
+	}
+
+	@GetMapping("/employees/search")
+	public ResponseEntity<?> search(@RequestParam(value = "name", required = false) String name,
+			@RequestParam(value = "title", required = false) String title,
+			@RequestParam(value = "under", required = false) Integer under,
+			@RequestParam(value = "offset", defaultValue = "0") int offset,
+			@RequestParam(value = "limit", required = false) Integer limit) {
+		if ((name == null || name.isBlank()) && (title == null || title.isBlank())) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Name or title is required");
+		}
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body("Limit must be between 1 and " + MAX_PAGE_SIZE);
+		}
+		if (offset < 0) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Offset must not be negative");
+		}
+
+		// Check if the manager to search under exists
+		if (under != null && employeeService.getEmployee(under) == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(employeeService.search(name, title, under, offset, pageSize));
+	}
+
+	@GetMapping("/employees/stream")
+	public ResponseEntity<StreamingResponseBody> streamEmployees() {
+		// One JSON object per line, fetched a page at a time so no full list is ever built
+		ObjectWriter writer = objectMapper.writerFor(Employee.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody body = (OutputStream out) -> {
+			try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				generator.setRootValueSeparator(null);
+				Integer after = null;
+				do {
+					EmployeePage page = employeeService.getEmployees(after, MAX_PAGE_SIZE);
+					for (Employee employee : page.getEmployees()) {
+						writer.writeValue(generator, employee);
+						generator.writeRaw('\n');
+					}
+					generator.flush();
+					after = page.getNext();
+				} while (after != null);
+			}
+		};
+		return ResponseEntity.status(HttpStatus.OK).contentType(APPLICATION_NDJSON).body(body);
+	}
+
+	@GetMapping("/employees/changes")
+	public DeferredResult<ResponseEntity<?>> getChanges(@RequestParam(value = "since", required = false) Long since,
+			@RequestParam(value = "limit", required = false) Integer limit,
+			@RequestParam(value = "wait", defaultValue = "0") int wait) {
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+		if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+			return completed(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body("Limit must be between 1 and " + MAX_PAGE_SIZE));
+		}
+		if (wait < 0 || wait > MAX_WAIT_SECONDS) {
+			return completed(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body("Wait must be between 0 and " + MAX_WAIT_SECONDS + " seconds"));
+		}
+
+		// Without a position, start after the newest change
+		if (since == null) {
+			return completed(ResponseEntity.status(HttpStatus.OK).body(new ChangePage(List.of(), changeFeed.getLast())));
+		}
+		ResponseEntity<?> changes = changes(since, pageSize);
+		if (wait == 0 || !(changes.getBody() instanceof ChangePage page) || !page.getEvents().isEmpty()) {
+			return completed(changes);
+		}
+
+		// Nothing new yet: park the request without a thread until a publish or the wait runs out
+		DeferredResult<ResponseEntity<?>> result = new DeferredResult<>(wait * 1000L, changes);
+		Runnable callback = () -> result.setResult(changes(since, pageSize));
+		result.onCompletion(() -> changeFeed.cancel(callback));
+		changeFeed.await(since, callback);
+		return result;
+	}
+
+	@GetMapping("/employees/lca")
+	public ResponseEntity<?> getCommonManager(@RequestParam("a") Integer a, @RequestParam("b") Integer b) {
+		// Check if both employees exist
+		if (employeeService.getEmployee(a) == null || employeeService.getEmployee(b) == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+
+		LcaResult result = employeeService.getCommonManager(a, b);
+		if (result.getManager() == null) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employees do not share a manager");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(result);
+	}
+
+	@PostMapping("/employees/lca")
+	public ResponseEntity<?> getCommonManagers(@RequestBody List<LcaQuery> queries) {
+		if (queries.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("No queries provided");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(employeeService.getCommonManagers(queries));
 	}
 
 	@RequestMapping("/employees/{id}")
@@ -88,7 +342,9 @@ public class EmployeeController {
 	}
 
 	@RequestMapping("/employees/{id}/subordinates")
-	public ResponseEntity<?> getSubordinates(@PathVariable Integer id) {
+	public ResponseEntity<?> getSubordinates(@PathVariable Integer id,
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+			throws JsonProcessingException {
 		Employee employee = employeeService.getEmployee(id);
 
 		// Check if employee exists
@@ -96,14 +352,161 @@ public class EmployeeController {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
 		}
 
-		List<Employee> subordinates = employeeService.getSubordinates(employee);
-		// Check if manager exists
-		if (subordinates.isEmpty()) {
-			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee has no subordinates");
+		// Tagged with this manager's own version, so writes elsewhere in the tree keep it valid
+		String etag = etag(employeeService.getSubtreeVersion(id));
+		if (notModified(ifNoneMatch, etag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
 		}
-		return ResponseEntity.status(HttpStatus.OK).body(subordinates);
+		String key = "subordinates/" + id;
+		byte[] json = jsonCache.get(key, etag);
+		if (json == null) {
+			List<Employee> subordinates = employeeService.getSubordinates(employee);
+			// Check if manager exists
+			if (subordinates.isEmpty()) {
+				return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee has no subordinates");
+			}
+			json = jsonCache.put(key, etag, subordinates);
+		}
+		return ResponseEntity.status(HttpStatus.OK).eTag(etag).contentType(MediaType.APPLICATION_JSON).body(json);
 	}
 	
+	@RequestMapping("/employees/{id}/chain")
+	public ResponseEntity<?> getChain(@PathVariable Integer id) {
+		Employee employee = employeeService.getEmployee(id);
+
+		// Check if employee exists
+		if (employee == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+
+		List<Employee> chain = employeeService.getChain(employee);
+		// Check if employee has managers
+		if (chain.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee has no managers");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(chain);
+	}
+
+	@RequestMapping("/employees/{id}/stats")
+	public ResponseEntity<?> getStats(@PathVariable Integer id) {
+		Employee employee = employeeService.getEmployee(id);
+
+		// Check if employee exists
+		if (employee == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+
+		EmployeeStats stats = employeeService.getStats(employee);
+		// Check if employee is outside the hierarchy
+		if (stats == null) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body("Employee is in a manager cycle");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(stats);
+	}
+
+	@RequestMapping("/employees/{id}/reports")
+	public ResponseEntity<?> getReports(@PathVariable Integer id,
+			@RequestParam(value = "depth", required = false) Integer depth) {
+		if (depth != null && depth < 1) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Depth must be positive");
+		}
+
+		Employee employee = employeeService.getEmployee(id);
+
+		// Check if employee exists
+		if (employee == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+
+		List<Employee> reports = employeeService.getReports(employee, depth);
+		// Check if employee has reports
+		if (reports.isEmpty()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee has no reports");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(reports);
+	}
+
+	@GetMapping("/employees/{id}/tree")
+	public ResponseEntity<StreamingResponseBody> getTree(@PathVariable Integer id,
+			@RequestParam(value = "depth", required = false) Integer depth) {
+		if (depth != null && depth < 1) {
+			return message(HttpStatus.BAD_REQUEST, "Depth must be positive");
+		}
+
+		Employee employee = employeeService.getEmployee(id);
+
+		// Check if employee exists
+		if (employee == null) {
+			return message(HttpStatus.BAD_REQUEST, "EmployeeID does not exist");
+		}
+		// Check if employee is outside the hierarchy
+		if (!employeeService.isInHierarchy(employee)) {
+			return message(HttpStatus.CONFLICT, "Employee is in a manager cycle");
+		}
+
+		// Written as the walk reaches each employee, so the nesting is never built in memory
+		StreamingResponseBody body = (OutputStream out) -> {
+			try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+				generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				employeeService.walkTree(employee, depth, new EmployeeService.TreeVisitor() {
+					@Override
+					public void enter(Employee report, boolean expanded) throws IOException {
+						generator.writeStartObject();
+						generator.writeNumberField("employeeId", report.getEmployeeId());
+						generator.writeStringField("name", report.getName());
+						generator.writeStringField("title", report.getTitle());
+						if (report.getManagerId() == null) {
+							generator.writeNullField("managerId");
+						} else {
+							generator.writeNumberField("managerId", report.getManagerId());
+						}
+						// Left out past the depth limit, where the reports are unknown rather than none
+						if (expanded) {
+							generator.writeArrayFieldStart("reports");
+						} else {
+							generator.writeEndObject();
+						}
+					}
+
+					@Override
+					public void exit(Employee report) throws IOException {
+						generator.writeEndArray();
+						generator.writeEndObject();
+					}
+				});
+			}
+		};
+		return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_JSON).body(body);
+	}
+
+	// Plain-text answer for endpoints that otherwise stream their body
+	private static ResponseEntity<StreamingResponseBody> message(HttpStatus status, String message) {
+		return ResponseEntity.status(status)
+				.contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+				.body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private String etag(long version) {
+		return "\"" + epoch + "-" + version + "\"";
+	}
+
+	// Weak comparison, as If-None-Match calls for: W/"x" matches "x"
+	private static boolean notModified(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	@PostMapping("/employees")
 	public ResponseEntity<?> addEmployee(@Valid @RequestBody Employee employee) {
 		int status = employeeService.save(employee);
@@ -116,14 +519,63 @@ public class EmployeeController {
 		
 		return ResponseEntity.status(HttpStatus.OK).body(employee);
 	}
-//	
-//	@PutMapping("/employees/{id}")
-//	public ResponseEntity<?> updateEmployee(@RequestParam Integer employeeId, @RequestBody EmployeeObject employeeObj) {
-//		
-//	}
-//	
-//	@DeleteMapping("/employees/{id}")
-//	public ResponseEntity<?> deleteEmployee(@RequestParam Integer employeeId) {
-//		
-//	}
+
+	@PostMapping("/employees/batch")
+	public ResponseEntity<?> addEmployees(@RequestBody List<Employee> employees) {
+		if (employees.isEmpty() || employees.size() > MAX_PAGE_SIZE) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+					.body("Between 1 and " + MAX_PAGE_SIZE + " employees are required");
+		}
+		// Every item gets its own status, in request order
+		return ResponseEntity.status(HttpStatus.OK).body(employeeService.saveBatch(employees));
+	}
+
+	@PutMapping("/employees/{id}")
+	public ResponseEntity<?> updateEmployee(@PathVariable Integer id, @Valid @RequestBody Employee employee) {
+		if (!id.equals(employee.getEmployeeId())) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not match the path");
+		}
+		int status = employeeService.update(employee);
+
+		if (status == -1) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		} else if (status == 0) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body("Manager does not exist");
+		} else if (status == -2) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).body("Manager reports to the employee");
+		}
+
+		return ResponseEntity.status(HttpStatus.OK).body(employee);
+	}
+
+	@DeleteMapping("/employees/{id}")
+	public ResponseEntity<?> deleteEmployee(@PathVariable Integer id,
+			@RequestParam(value = "reports", defaultValue = "reassign") String reports) {
+		// Reports move up to the removed employee's manager unless asked to go with it
+		if (!"reassign".equals(reports) && !"cascade".equals(reports)) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Reports must be reassign or cascade");
+		}
+
+		DeleteResult result = employeeService.delete(id, "cascade".equals(reports));
+		// Check if employee exists
+		if (result == null) {
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("EmployeeID does not exist");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(result);
+	}
+
+	private ResponseEntity<?> changes(long since, int limit) {
+		ChangePage page = changeFeed.read(since, limit);
+		if (page == null) {
+			return ResponseEntity.status(HttpStatus.GONE)
+					.body("Changes since " + since + " are no longer available; reload /employees");
+		}
+		return ResponseEntity.status(HttpStatus.OK).body(page);
+	}
+
+	private static DeferredResult<ResponseEntity<?>> completed(ResponseEntity<?> response) {
+		DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+		result.setResult(response);
+		return result;
+	}
 }
@@ -0,0 +1,203 @@
+package com.org.management.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.org.management.model.ImportResult;
+import com.org.management.model.ValidationReport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Service-level meters: imports and the rows they ingest, single-save
+ * outcomes, validation findings, index rebuilds and hierarchy queries.
+ * Every meter on a request path is registered here once, so recording is a
+ * field access and never a registry lookup.
+ */
+@Component
+public class EmployeeMetrics {
+
+	// Records nothing; for services built outside the application context
+	public static final EmployeeMetrics NOOP = new EmployeeMetrics(new CompositeMeterRegistry());
+
+	private final MeterRegistry registry;
+
+	private final Counter rowsLoaded;
+
+	private final Counter rowsSkipped;
+
+	private final Counter rowsRejected;
+
+	private final DistributionSummary rowsPerSecond;
+
+	private final Counter strictRejections;
+
+	private final Counter saved;
+
+	private final Counter exists;
+
+	private final Counter missingManager;
+
+	private final Timer hierarchyRebuild;
+
+	private final Timer statsRebuild;
+
+	private final Timer searchRebuild;
+
+	private final Timer chain;
+
+	private final Timer reports;
+
+	private final Timer isUnder;
+
+	private final Timer commonManager;
+
+	private final Timer stats;
+
+	private final Timer search;
+
+	public EmployeeMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		rowsLoaded = rows("loaded");
+		rowsSkipped = rows("skipped");
+		rowsRejected = rows("rejected");
+		rowsPerSecond = DistributionSummary.builder("employee.import.throughput")
+				.description("Rows ingested per second by each import")
+				.baseUnit("rows/s")
+				.register(registry);
+		strictRejections = Counter.builder("employee.import.rejections")
+				.description("Strict imports discarded because the hierarchy was invalid")
+				.register(registry);
+		saved = saves("saved");
+		exists = saves("exists");
+		missingManager = saves("missing_manager");
+		hierarchyRebuild = rebuild("hierarchy");
+		statsRebuild = rebuild("stats");
+		searchRebuild = rebuild("search");
+		chain = query("chain");
+		reports = query("reports");
+		isUnder = query("under");
+		commonManager = query("lca");
+		stats = query("stats");
+		search = query("search");
+	}
+
+	private Counter rows(String outcome) {
+		return Counter.builder("employee.import.rows")
+				.description("CSV rows processed by imports")
+				.tag("outcome", outcome)
+				.register(registry);
+	}
+
+	private Counter saves(String status) {
+		return Counter.builder("employee.saves")
+				.description("Single and batch saves by outcome")
+				.tag("status", status)
+				.register(registry);
+	}
+
+	private Timer rebuild(String index) {
+		return Timer.builder("employee.index.rebuild")
+				.description("Time to rebuild a hierarchy index after the store changed")
+				.tag("index", index)
+				.register(registry);
+	}
+
+	private Timer query(String type) {
+		return Timer.builder("employee.query")
+				.description("Hierarchy queries answered from the indexes")
+				.tag("type", type)
+				.register(registry);
+	}
+
+	// Imports are rare enough that looking their timer up by mode costs nothing
+	public void recordImport(String mode, ImportResult result, long nanos) {
+		Timer.builder("employee.import")
+				.description("Time to parse, validate and publish a CSV import")
+				.tag("mode", mode)
+				.register(registry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+		rowsLoaded.increment(result.getLoaded());
+		rowsSkipped.increment(result.getSkipped());
+		rowsRejected.increment(result.getRejected());
+		if (nanos > 0) {
+			rowsPerSecond.record(result.getLoaded() * 1e9 / nanos);
+		}
+		ValidationReport validation = result.getValidation();
+		if (validation != null) {
+			recordValidation(validation);
+		}
+	}
+
+	// Startup only, so the timer is looked up like the import ones
+	public void recordPreload(long nanos) {
+		Timer.builder("employee.preload")
+				.description("Time to load the configured file and build the indexes at startup")
+				.register(registry)
+				.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordStrictRejection(ValidationReport validation) {
+		strictRejections.increment();
+		recordValidation(validation);
+	}
+
+	private void recordValidation(ValidationReport validation) {
+		problems("duplicate", validation.getDuplicates());
+		problems("orphan", validation.getOrphans());
+		problems("cycle", validation.getCycles());
+		problems("extra_root", validation.getExtraRoots());
+	}
+
+	private void problems(String type, long count) {
+		if (count > 0) {
+			registry.counter("employee.validation.problems", "type", type).increment(count);
+		}
+	}
+
+	// Takes the repository's -1 / 0 / 1 save status
+	public void recordSave(int status) {
+		(status == 1 ? saved : status == 0 ? missingManager : exists).increment();
+	}
+
+	public void recordHierarchyRebuild(long nanos) {
+		hierarchyRebuild.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordStatsRebuild(long nanos) {
+		statsRebuild.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordSearchRebuild(long nanos) {
+		searchRebuild.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordChain(long nanos) {
+		chain.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordReports(long nanos) {
+		reports.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordIsUnder(long nanos) {
+		isUnder.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordCommonManager(long nanos) {
+		commonManager.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordStats(long nanos) {
+		stats.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordSearch(long nanos) {
+		search.record(nanos, TimeUnit.NANOSECONDS);
+	}
+}
@@ -0,0 +1,35 @@
+package com.org.management.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.org.management.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps whichever EmployeeRepository is configured in a TimedEmployeeRepository,
+ * so every caller, including the journal, goes through the timers.
+ */
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+	// Looked up on first use, so registering this processor does not create the registry early
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof EmployeeRepository repository && !(bean instanceof TimedEmployeeRepository)) {
+			MeterRegistry registry = meterRegistry.getIfAvailable();
+			if (registry != null) {
+				return new TimedEmployeeRepository(repository, registry);
+			}
+		}
+		return bean;
+	}
+}
@@ -0,0 +1,203 @@
+package com.org.management.metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.org.management.model.Employee;
+import com.org.management.repository.EmployeeRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every store operation under employee.repository, tagged with the
+ * operation name, and exposes the store size as employee.store.size.
+ *
+ * Timers are registered once up front and recorded with raw nanoTime
+ * deltas, so a timed read allocates nothing beyond what the store itself
+ * does. getVersion and stage pass straight through: the first is a field
+ * read on every index check and the second is timed as a whole import by
+ * the service.
+ */
+public class TimedEmployeeRepository implements EmployeeRepository {
+
+	static final String TIMER = "employee.repository";
+
+	private final EmployeeRepository delegate;
+
+	private final Timer initialSave;
+
+	private final Timer initialSaveAll;
+
+	private final Timer save;
+
+	private final Timer update;
+
+	private final Timer removeAll;
+
+	private final Timer getAll;
+
+	private final Timer getPage;
+
+	private final Timer getEmployee;
+
+	private final Timer getByIds;
+
+	private final Timer getManager;
+
+	private final Timer getSubordinates;
+
+	public TimedEmployeeRepository(EmployeeRepository delegate, MeterRegistry registry) {
+		this.delegate = delegate;
+		String store = delegate.getClass().getSimpleName();
+		initialSave = timer(registry, store, "initialSave");
+		initialSaveAll = timer(registry, store, "initialSaveAll");
+		save = timer(registry, store, "save");
+		update = timer(registry, store, "update");
+		removeAll = timer(registry, store, "removeAll");
+		getAll = timer(registry, store, "getEmployees");
+		getPage = timer(registry, store, "getEmployeesPage");
+		getEmployee = timer(registry, store, "getEmployee");
+		getByIds = timer(registry, store, "getEmployeesByIds");
+		getManager = timer(registry, store, "getManager");
+		getSubordinates = timer(registry, store, "getSubordinates");
+		Gauge.builder("employee.store.size", delegate, EmployeeRepository::count)
+				.description("Employees in the store")
+				.tag("store", store)
+				.register(registry);
+	}
+
+	private static Timer timer(MeterRegistry registry, String store, String operation) {
+		return Timer.builder(TIMER)
+				.description("Time spent in the employee store")
+				.tag("store", store)
+				.tag("operation", operation)
+				.register(registry);
+	}
+
+	@Override
+	public boolean initialSave(Employee employee) {
+		long start = System.nanoTime();
+		try {
+			return delegate.initialSave(employee);
+		} finally {
+			initialSave.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public int initialSaveAll(List<Employee> employees) {
+		long start = System.nanoTime();
+		try {
+			return delegate.initialSaveAll(employees);
+		} finally {
+			initialSaveAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public int save(Employee employee) {
+		long start = System.nanoTime();
+		try {
+			return delegate.save(employee);
+		} finally {
+			save.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public boolean update(Employee employee) {
+		long start = System.nanoTime();
+		try {
+			return delegate.update(employee);
+		} finally {
+			update.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public int removeAll(List<Integer> employeeIds) {
+		long start = System.nanoTime();
+		try {
+			return delegate.removeAll(employeeIds);
+		} finally {
+			removeAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public List<Employee> getEmployees() {
+		long start = System.nanoTime();
+		try {
+			return delegate.getEmployees();
+		} finally {
+			getAll.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public List<Employee> getEmployees(Integer after, int limit) {
+		long start = System.nanoTime();
+		try {
+			return delegate.getEmployees(after, limit);
+		} finally {
+			getPage.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public Employee getEmployee(Integer employeeId) {
+		long start = System.nanoTime();
+		try {
+			return delegate.getEmployee(employeeId);
+		} finally {
+			getEmployee.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public List<Employee> getEmployees(List<Integer> employeeIds) {
+		long start = System.nanoTime();
+		try {
+			return delegate.getEmployees(employeeIds);
+		} finally {
+			getByIds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public Employee getManager(Employee employee) {
+		long start = System.nanoTime();
+		try {
+			return delegate.getManager(employee);
+		} finally {
+			getManager.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public List<Employee> getSubordinates(Employee employee) {
+		long start = System.nanoTime();
+		try {
+			return delegate.getSubordinates(employee);
+		} finally {
+			getSubordinates.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	@Override
+	public long count() {
+		return delegate.count();
+	}
+
+	@Override
+	public long getVersion() {
+		return delegate.getVersion();
+	}
+
+	@Override
+	public StagedLoad stage() {
+		return delegate.stage();
+	}
+}
@@ -0,0 +1,29 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResult {
+
+	private Integer employeeId;
+
+	private Status status;
+
+	public enum Status {
+		SAVED,
+		// Already stored before the batch
+		EXISTS,
+		// An earlier item in the batch has the same id
+		DUPLICATE,
+		// Manager is neither stored nor saved by the batch
+		MISSING_MANAGER,
+		// Id, name or title is missing
+		INVALID
+	}
+}
@@ -0,0 +1,30 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+	// Position in the change feed; one higher than the event before it
+	private long sequence;
+
+	private Type type;
+
+	// The employee as stored after the change, or as last stored for a delete
+	private Employee employee;
+
+	public enum Type {
+		INSERT,
+		// Name or title changed, same manager
+		UPDATE,
+		// Manager changed, possibly along with name or title
+		MOVE,
+		DELETE
+	}
+}
@@ -0,0 +1,20 @@
+package com.org.management.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangePage {
+
+	private List<ChangeEvent> events;
+
+	// Sequence to pass as ?since= for the next batch
+	private long next;
+}
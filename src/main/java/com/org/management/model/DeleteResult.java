@@ -0,0 +1,21 @@
+package com.org.management.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeleteResult {
+
+	// Employees removed, reports before their managers
+	private List<Integer> removed;
+
+	// Former direct reports that now report to the removed employee's manager
+	private List<Integer> reassigned;
+}
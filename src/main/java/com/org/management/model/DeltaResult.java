@@ -0,0 +1,29 @@
+package com.org.management.model;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Change set applied by a delta import. The inherited loaded count is the
+ * number of inserted employees.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class DeltaResult extends ImportResult {
+
+	// Employees whose name or title changed under the same manager
+	private long updated;
+
+	// Employees that now report to a different manager
+	private long moved;
+
+	// Stored employees missing from the file
+	private long removed;
+
+	// Stored employees whose row matched exactly
+	private long unchanged;
+}
@@ -0,0 +1,20 @@
+package com.org.management.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+
+	private List<Employee> employees;
+
+	// Cursor to pass as ?after= for the next page, or null on the last page
+	private Integer next;
+}
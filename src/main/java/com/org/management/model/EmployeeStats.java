@@ -0,0 +1,27 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeStats {
+
+	private Integer employeeId;
+
+	// Reporting lines up to the top of the org; 0 for the CEO
+	private int level;
+
+	// Span of control
+	private int directReports;
+
+	// Everyone under the employee, directly or transitively
+	private int headcount;
+
+	// Reporting lines down to the deepest report; 0 for an employee with no reports
+	private int depth;
+}
@@ -0,0 +1,28 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResult {
+
+	// Rows written to the repository
+	private long loaded;
+
+	// Well-formed rows whose employeeId already existed
+	private long skipped;
+
+	// Malformed rows that could not be parsed into an employee
+	private long rejected;
+
+	// Hierarchy version published by the import
+	private long version;
+
+	// Problems found in the loaded rows; a lenient import is published with them
+	private ValidationReport validation;
+}
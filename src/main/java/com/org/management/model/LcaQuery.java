@@ -0,0 +1,20 @@
+package com.org.management.model;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LcaQuery {
+
+	@NotNull(message = "Employee ID a is required")
+	private Integer a;
+
+	@NotNull(message = "Employee ID b is required")
+	private Integer b;
+}
@@ -0,0 +1,23 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LcaResult {
+
+	private Integer a;
+
+	private Integer b;
+
+	// Lowest employee both report to, or null when they share no manager
+	private Employee manager;
+
+	// Reporting lines between a and b through the shared manager
+	private Integer distance;
+}
@@ -0,0 +1,27 @@
+package com.org.management.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrgSummary {
+
+	private int employees;
+
+	// Employees with at least one direct report
+	private int managers;
+
+	// Reporting lines from the top of the org down to its deepest employee
+	private int depth;
+
+	// Largest span of control
+	private int maxSpan;
+
+	// Direct reports per manager
+	private double averageSpan;
+}
@@ -0,0 +1,20 @@
+package com.org.management.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPage {
+
+	private List<Employee> employees;
+
+	// Offset to pass as ?offset= for the next page, or null on the last page
+	private Integer next;
+}
@@ -0,0 +1,45 @@
+package com.org.management.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ValidationReport {
+
+	// Rows whose employeeId already appeared earlier in the file
+	private long duplicates;
+
+	// Employees whose manager is neither in the file nor already stored
+	private long orphans;
+
+	// Employees that are their own manager somewhere up the chain
+	private long cycles;
+
+	// Employees without a manager beyond the single CEO
+	private long extraRoots;
+
+	// A few example ids per problem, so a large file does not produce a large report
+	@Builder.Default
+	private List<Integer> duplicateIds = new ArrayList<>();
+
+	@Builder.Default
+	private List<Integer> orphanIds = new ArrayList<>();
+
+	@Builder.Default
+	private List<Integer> cycleIds = new ArrayList<>();
+
+	@Builder.Default
+	private List<Integer> extraRootIds = new ArrayList<>();
+
+	public boolean isValid() {
+		return duplicates == 0 && orphans == 0 && cycles == 0 && extraRoots == 0;
+	}
+}
@@ -0,0 +1,72 @@
+package com.org.management.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.org.management.model.Employee;
+
+/**
+ * Fixed binary layout of one employee, shared by the journal and snapshots:
+ * id, managerId, then length-prefixed UTF-8 name and title.
+ */
+final class EmployeeCodec {
+
+	// Stored managerId for employees saved without one
+	static final int NO_MANAGER = Integer.MIN_VALUE;
+
+	// Marks a null name or title
+	private static final int NULL_LENGTH = -1;
+
+	private EmployeeCodec() {
+	}
+
+	static byte[] encode(Employee employee) {
+		byte[] name = bytes(employee.getName());
+		byte[] title = bytes(employee.getTitle());
+		ByteBuffer buffer = ByteBuffer.allocate(4 * 4 + length(name) + length(title));
+		buffer.putInt(employee.getEmployeeId());
+		buffer.putInt(employee.getManagerId() == null ? NO_MANAGER : employee.getManagerId());
+		putString(buffer, name);
+		putString(buffer, title);
+		return buffer.array();
+	}
+
+	static Employee decode(ByteBuffer buffer) {
+		int employeeId = buffer.getInt();
+		int managerId = buffer.getInt();
+		return Employee
+				.builder()
+				.employeeId(employeeId)
+				.managerId(managerId == NO_MANAGER ? null : managerId)
+				.name(getString(buffer))
+				.title(getString(buffer))
+				.build();
+	}
+
+	private static byte[] bytes(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static int length(byte[] value) {
+		return value == null ? 0 : value.length;
+	}
+
+	private static void putString(ByteBuffer buffer, byte[] value) {
+		if (value == null) {
+			buffer.putInt(NULL_LENGTH);
+			return;
+		}
+		buffer.putInt(value.length);
+		buffer.put(value);
+	}
+
+	private static String getString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length == NULL_LENGTH) {
+			return null;
+		}
+		byte[] value = new byte[length];
+		buffer.get(value);
+		return new String(value, StandardCharsets.UTF_8);
+	}
+}
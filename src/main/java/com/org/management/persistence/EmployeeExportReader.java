@@ -0,0 +1,226 @@
+package com.org.management.persistence;
+
+import static com.org.management.persistence.EmployeeExportWriter.BUFFER_BYTES;
+import static com.org.management.persistence.EmployeeExportWriter.FLAG_GZIP;
+import static com.org.management.persistence.EmployeeExportWriter.LITERAL;
+import static com.org.management.persistence.EmployeeExportWriter.MAGIC;
+import static com.org.management.persistence.EmployeeExportWriter.NEW;
+import static com.org.management.persistence.EmployeeExportWriter.NULL;
+import static com.org.management.persistence.EmployeeExportWriter.REFERENCE;
+import static com.org.management.persistence.EmployeeExportWriter.TABLE_SIZE;
+import static com.org.management.persistence.EmployeeExportWriter.VERSION;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import com.org.management.model.Employee;
+
+/**
+ * Reads the binary export format written by EmployeeExportWriter, one
+ * block at a time, refilling a single buffer from the channel as it goes,
+ * or decoding straight from memory when given the whole export. Anything
+ * malformed or cut short fails with an IOException.
+ */
+public class EmployeeExportReader {
+
+	// Blocks claiming more employees than this are still read, just not preallocated
+	private static final int MAX_PREALLOCATED = 4096;
+
+	// Longer names and titles are taken as corruption rather than buffered
+	private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+	private static final int HEADER_BYTES = MAGIC.length + 2;
+
+	// Null when the whole body is already in buffer
+	private final ReadableByteChannel channel;
+
+	private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+
+	private final List<String> names = new ArrayList<>();
+
+	private final List<String> titles = new ArrayList<>();
+
+	private long previousId;
+
+	private boolean finished;
+
+	// Reads and checks the header at once; in is not closed
+	public EmployeeExportReader(InputStream in) throws IOException {
+		byte[] header = in.readNBytes(HEADER_BYTES);
+		boolean compressed = compressed(header);
+		this.channel = Channels.newChannel(compressed ? new GZIPInputStream(in, BUFFER_BYTES) : in);
+	}
+
+	// Reads a whole export held in memory, typically a mapped file; an uncompressed body is decoded in place
+	public EmployeeExportReader(ByteBuffer export) throws IOException {
+		byte[] header = new byte[Math.min(HEADER_BYTES, export.remaining())];
+		export.get(header);
+		if (compressed(header)) {
+			this.channel = Channels.newChannel(new GZIPInputStream(new BufferInputStream(export), BUFFER_BYTES));
+		} else {
+			this.channel = null;
+			this.buffer = export.slice();
+		}
+	}
+
+	// Whether the file starts like an export, so callers can tell it from a CSV
+	public static boolean isExport(Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+		}
+	}
+
+	private static boolean compressed(byte[] header) throws IOException {
+		if (header.length < HEADER_BYTES || !Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+			throw new IOException("Not an employee export");
+		}
+		if (header[MAGIC.length] != VERSION) {
+			throw new IOException("Unsupported export version " + header[MAGIC.length]);
+		}
+		return (header[MAGIC.length + 1] & FLAG_GZIP) != 0;
+	}
+
+	// The next block of employees, or null once the end of the export is reached
+	public List<Employee> read() throws IOException {
+		if (finished) {
+			return null;
+		}
+		long count = getVarint();
+		if (count == 0) {
+			finished = true;
+			return null;
+		}
+		if (count > Integer.MAX_VALUE) {
+			throw new IOException("Corrupt export: block of " + count + " employees");
+		}
+		List<Employee> employees = new ArrayList<>((int) Math.min(count, MAX_PREALLOCATED));
+		for (long i = 0; i < count; i++) {
+			long id = previousId + unzigzag(getVarint());
+			long manager = getVarint();
+			long managerId = manager == 0 ? 0 : id - unzigzag(manager - 1);
+			if (id != (int) id || managerId != (int) managerId) {
+				throw new IOException("Corrupt export: id out of range after " + previousId);
+			}
+			employees.add(Employee
+					.builder()
+					.employeeId((int) id)
+					.managerId(manager == 0 ? null : (int) managerId)
+					.name(getString(names))
+					.title(getString(titles))
+					.build());
+			previousId = id;
+		}
+		return employees;
+	}
+
+	private String getString(List<String> table) throws IOException {
+		long tag = getVarint();
+		if (tag == NULL) {
+			return null;
+		}
+		if (tag >= REFERENCE) {
+			if (tag - REFERENCE >= table.size()) {
+				throw new IOException("Corrupt export: unknown string " + (tag - REFERENCE));
+			}
+			return table.get((int) (tag - REFERENCE));
+		}
+		long length = getVarint();
+		if (length > MAX_STRING_BYTES) {
+			throw new IOException("Corrupt export: string of " + length + " bytes");
+		}
+		fill((int) length);
+		String value;
+		if (buffer.hasArray()) {
+			value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), (int) length,
+					StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + (int) length);
+		} else {
+			byte[] bytes = new byte[(int) length];
+			buffer.get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+		if (tag == NEW && table.size() < TABLE_SIZE) {
+			table.add(value);
+		} else if (tag != LITERAL) {
+			throw new IOException("Corrupt export: unexpected string tag " + tag);
+		}
+		return value;
+	}
+
+	private long getVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			if (!buffer.hasRemaining()) {
+				fill(1);
+			}
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IOException("Corrupt export: varint too long");
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	// Makes at least bytes readable, growing the buffer for strings longer than it
+	private void fill(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		if (channel == null) {
+			throw new IOException("Export ended unexpectedly");
+		}
+		if (bytes > buffer.capacity()) {
+			ByteBuffer larger = ByteBuffer.allocate(bytes);
+			larger.put(buffer);
+			buffer = larger;
+		} else {
+			buffer.compact();
+		}
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) < 0) {
+				throw new IOException("Export ended unexpectedly");
+			}
+		}
+		buffer.flip();
+	}
+
+	// Feeds a compressed body from memory to the inflater
+	private static class BufferInputStream extends InputStream {
+
+		private final ByteBuffer source;
+
+		BufferInputStream(ByteBuffer source) {
+			this.source = source;
+		}
+
+		@Override
+		public int read() {
+			return source.hasRemaining() ? source.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (!source.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(length, source.remaining());
+			source.get(bytes, offset, count);
+			return count;
+		}
+	}
+}
@@ -0,0 +1,163 @@
+package com.org.management.persistence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.org.management.model.Employee;
+
+/**
+ * Writes employees in the binary export format, a buffer at a time.
+ *
+ * The file starts with the magic EMPX, a version byte and a flags byte,
+ * followed by the body, gzipped when FLAG_GZIP is set. The body is a run
+ * of blocks, each a varint count and that many employees, closed by an
+ * empty block. An employee is its id as the zigzag varint difference from
+ * the previous id, its manager as 0 for none or 1 + the zigzag difference
+ * from its own id, then its name and title. A string is NULL, a literal
+ * that joins the field's table (NEW), a literal that does not (LITERAL),
+ * or REFERENCE + the index of an earlier table entry. Literals are a varint
+ * byte length and UTF-8. Names and titles each keep a table of up to
+ * TABLE_SIZE strings, so a repeated title costs a byte or two and memory
+ * stays bounded however large the org is.
+ */
+public class EmployeeExportWriter {
+
+	static final byte[] MAGIC = { 'E', 'M', 'P', 'X' };
+
+	static final byte VERSION = 1;
+
+	static final byte FLAG_GZIP = 1;
+
+	static final int TABLE_SIZE = 1 << 16;
+
+	static final int NULL = 0;
+
+	static final int NEW = 1;
+
+	static final int LITERAL = 2;
+
+	static final int REFERENCE = 3;
+
+	static final int BUFFER_BYTES = 64 * 1024;
+
+	// Longest encoding of a 64-bit varint
+	private static final int MAX_VARINT_BYTES = 10;
+
+	private final GZIPOutputStream gzip;
+
+	private final WritableByteChannel channel;
+
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+
+	private final Map<String, Integer> names = new HashMap<>();
+
+	private final Map<String, Integer> titles = new HashMap<>();
+
+	private long previousId;
+
+	// Writes the header at once; out is flushed by finish but never closed
+	public EmployeeExportWriter(OutputStream out, boolean compress) throws IOException {
+		out.write(MAGIC);
+		out.write(VERSION);
+		out.write(compress ? FLAG_GZIP : 0);
+		this.gzip = compress ? new GZIPOutputStream(out, BUFFER_BYTES) : null;
+		this.channel = Channels.newChannel(compress ? gzip : out);
+	}
+
+	// Writes the employees as one block
+	public void write(List<Employee> employees) throws IOException {
+		if (employees.isEmpty()) {
+			return;
+		}
+		ensure(MAX_VARINT_BYTES);
+		putVarint(employees.size());
+		for (Employee employee : employees) {
+			long id = employee.getEmployeeId();
+			ensure(2 * MAX_VARINT_BYTES);
+			putVarint(zigzag(id - previousId));
+			putVarint(employee.getManagerId() == null ? 0 : 1 + zigzag(id - employee.getManagerId()));
+			putString(names, employee.getName());
+			putString(titles, employee.getTitle());
+			previousId = id;
+		}
+	}
+
+	// Closes the body and flushes everything written to out
+	public void finish() throws IOException {
+		ensure(MAX_VARINT_BYTES);
+		putVarint(0);
+		drain();
+		if (gzip != null) {
+			gzip.finish();
+			gzip.flush();
+		}
+	}
+
+	private void putString(Map<String, Integer> table, String value) throws IOException {
+		ensure(MAX_VARINT_BYTES);
+		if (value == null) {
+			putVarint(NULL);
+			return;
+		}
+		Integer index = table.get(value);
+		if (index != null) {
+			putVarint(REFERENCE + index);
+			return;
+		}
+		boolean kept = table.size() < TABLE_SIZE;
+		if (kept) {
+			table.put(value, table.size());
+		}
+		putVarint(kept ? NEW : LITERAL);
+
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		ensure(MAX_VARINT_BYTES);
+		putVarint(bytes.length);
+		if (bytes.length > buffer.capacity()) {
+			// Too long to stage; goes straight to the channel
+			drain();
+			writeFully(ByteBuffer.wrap(bytes));
+			return;
+		}
+		ensure(bytes.length);
+		buffer.put(bytes);
+	}
+
+	private void putVarint(long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			drain();
+		}
+	}
+
+	private void drain() throws IOException {
+		buffer.flip();
+		writeFully(buffer);
+		buffer.clear();
+	}
+
+	private void writeFully(ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			channel.write(source);
+		}
+	}
+}
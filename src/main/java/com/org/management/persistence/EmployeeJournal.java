@@ -0,0 +1,518 @@
+package com.org.management.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.org.management.model.Employee;
+import com.org.management.repository.EmployeeRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Durable write log plus periodic snapshots for the employee store, enabled
+ * by setting management.persistence.dir.
+ *
+ * Every write is appended to journal-N.log as a CRC-checked record. A
+ * snapshot first rotates appends to journal-(N+1).log and then writes every
+ * employee to snapshot-(N+1).bin, so that snapshot plus journals N+1 and
+ * later always cover the full history. Replay is idempotent because inserts
+ * keep the first copy of an id. At boot the newest snapshot and the journals
+ * after it are read through memory-mapped windows and loaded in batches. A
+ * torn record at the end of a journal, left by a crash, is truncated.
+ *
+ * Bulk loads are bracketed by LOAD_BEGIN and LOAD_COMMIT records and replay
+ * through a staged load, so a load is restored whole or not at all. Delta
+ * imports record UPDATE and REMOVE changes inside their load; edits and
+ * deletes record them on their own and replay them straight to the store. An
+ * aborted load is cut from the journal, and one left open by a crash is
+ * discarded and truncated at boot.
+ */
+@Component
+public class EmployeeJournal {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeeJournal.class);
+
+	static final byte INSERT = 1;
+
+	static final byte LOAD_BEGIN = 2;
+
+	static final byte LOAD_COMMIT = 3;
+
+	static final byte UPDATE = 4;
+
+	static final byte REMOVE = 5;
+
+	private static final byte[] EMPTY = new byte[0];
+
+	// Record header: payload length, CRC32 of type and payload, type
+	private static final int HEADER_BYTES = 4 + 4 + 1;
+
+	private static final long WINDOW_BYTES = 256L * 1024 * 1024;
+
+	private static final int RESTORE_BATCH_SIZE = 10_000;
+
+	private static final int SNAPSHOT_PAGE_SIZE = 10_000;
+
+	private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d+)\\.log");
+
+	private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+	private final EmployeeRepository employeeRepository;
+
+	private final Path directory;
+
+	private final boolean fsync;
+
+	// Guards the open journal and its generation
+	private final ReentrantLock lock = new ReentrantLock();
+
+	// Keeps scheduled and shutdown snapshots from overlapping
+	private final ReentrantLock snapshotLock = new ReentrantLock();
+
+	private FileChannel journal;
+
+	private long generation;
+
+	private volatile long recordsSinceSnapshot;
+
+	// Journal length before the open load's LOAD_BEGIN record, or -1 when no load is open
+	private long loadStart = -1;
+
+	public EmployeeJournal(EmployeeRepository employeeRepository,
+			@Value("${management.persistence.dir:}") String directory,
+			@Value("${management.persistence.fsync:false}") boolean fsync) {
+		this.employeeRepository = employeeRepository;
+		this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+		this.fsync = fsync;
+	}
+
+	public boolean isEnabled() {
+		return directory != null;
+	}
+
+	@PostConstruct
+	public void restore() throws IOException {
+		if (!isEnabled()) {
+			return;
+		}
+		long started = System.nanoTime();
+		Files.createDirectories(directory);
+
+		TreeMap<Long, Path> snapshots = list(SNAPSHOT_FILE);
+		TreeMap<Long, Path> journals = list(JOURNAL_FILE);
+		long base = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+
+		long records = 0;
+		if (!snapshots.isEmpty()) {
+			records += replay(snapshots.lastEntry().getValue(), false);
+		}
+		long journalRecords = 0;
+		for (Path path : journals.tailMap(base, true).values()) {
+			journalRecords += replay(path, true);
+		}
+
+		generation = Math.max(base, journals.isEmpty() ? 0 : journals.lastKey());
+		journal = FileChannel.open(journalPath(generation),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		recordsSinceSnapshot = journalRecords;
+		log.info("Restored {} snapshot and {} journal records from {} in {} ms", records, journalRecords,
+				directory, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	public void append(Employee employee) {
+		appendAll(List.of(employee));
+	}
+
+	public void appendAll(List<Employee> employees) {
+		if (!isEnabled() || employees.isEmpty()) {
+			return;
+		}
+		ByteBuffer[] records = new ByteBuffer[employees.size()];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = record(INSERT, EmployeeCodec.encode(employees.get(i)));
+		}
+		write(records);
+	}
+
+	public void appendUpdates(List<Employee> employees) {
+		if (!isEnabled() || employees.isEmpty()) {
+			return;
+		}
+		ByteBuffer[] records = new ByteBuffer[employees.size()];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = record(UPDATE, EmployeeCodec.encode(employees.get(i)));
+		}
+		write(records);
+	}
+
+	public void appendRemovals(List<Integer> employeeIds) {
+		if (!isEnabled() || employeeIds.isEmpty()) {
+			return;
+		}
+		ByteBuffer[] records = new ByteBuffer[employeeIds.size()];
+		for (int i = 0; i < records.length; i++) {
+			records[i] = record(REMOVE, ByteBuffer.allocate(4).putInt(employeeIds.get(i)).array());
+		}
+		write(records);
+	}
+
+	private void write(ByteBuffer[] records) {
+		lock.lock();
+		try {
+			writeFully(journal, records);
+			if (fsync) {
+				journal.force(false);
+			}
+			recordsSinceSnapshot += records.length;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error appending to employee journal", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Opens a bulk load; snapshots wait until it is ended or aborted on this thread
+	public void beginLoad() {
+		if (!isEnabled()) {
+			return;
+		}
+		snapshotLock.lock();
+		lock.lock();
+		try {
+			loadStart = journal.size();
+			writeFully(journal, new ByteBuffer[] { record(LOAD_BEGIN, EMPTY) });
+		} catch (IOException e) {
+			loadStart = -1;
+			snapshotLock.unlock();
+			throw new UncheckedIOException("Error appending to employee journal", e);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Makes the load durable; snapshots keep waiting until endLoad, once it is published
+	public void commitLoad() {
+		if (!isEnabled()) {
+			return;
+		}
+		lock.lock();
+		try {
+			writeFully(journal, new ByteBuffer[] { record(LOAD_COMMIT, EMPTY) });
+			if (fsync) {
+				journal.force(false);
+			}
+			loadStart = -1;
+		} catch (IOException e) {
+			UncheckedIOException failure = new UncheckedIOException("Error appending to employee journal", e);
+			// Leave no half-committed load behind for the next append to land in
+			try {
+				discardLoad();
+			} catch (IOException suppressed) {
+				failure.addSuppressed(suppressed);
+			}
+			snapshotLock.unlock();
+			throw failure;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Lets snapshots run again once a committed load is visible in the store, so none can miss it
+	public void endLoad() {
+		if (!isEnabled()) {
+			return;
+		}
+		snapshotLock.unlock();
+	}
+
+	public void abortLoad() {
+		if (!isEnabled()) {
+			return;
+		}
+		lock.lock();
+		try {
+			discardLoad();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Error truncating employee journal", e);
+		} finally {
+			lock.unlock();
+			snapshotLock.unlock();
+		}
+	}
+
+	// Cuts the open load's records back out of the journal; must be called while holding lock
+	private void discardLoad() throws IOException {
+		long start = loadStart;
+		loadStart = -1;
+		journal.truncate(start);
+	}
+
+	@Scheduled(fixedDelayString = "${management.persistence.snapshot-interval-ms:300000}")
+	public void scheduledSnapshot() throws IOException {
+		if (isEnabled() && recordsSinceSnapshot > 0) {
+			snapshot();
+		}
+	}
+
+	public void snapshot() throws IOException {
+		snapshotLock.lock();
+		try {
+			writeSnapshot();
+		} finally {
+			snapshotLock.unlock();
+		}
+	}
+
+	private void writeSnapshot() throws IOException {
+		long snapshotGeneration;
+		lock.lock();
+		try {
+			// Later writes go to the next journal, which replays on top of this snapshot
+			snapshotGeneration = generation + 1;
+			FileChannel next = FileChannel.open(journalPath(snapshotGeneration),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			journal.force(false);
+			journal.close();
+			journal = next;
+			generation = snapshotGeneration;
+			recordsSinceSnapshot = 0;
+		} finally {
+			lock.unlock();
+		}
+
+		long started = System.nanoTime();
+		Path temporary = directory.resolve("snapshot-" + snapshotGeneration + ".tmp");
+		long count = 0;
+		try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			Integer after = null;
+			List<Employee> page;
+			do {
+				page = employeeRepository.getEmployees(after, SNAPSHOT_PAGE_SIZE);
+				ByteBuffer[] records = new ByteBuffer[page.size()];
+				for (int i = 0; i < records.length; i++) {
+					records[i] = record(INSERT, EmployeeCodec.encode(page.get(i)));
+				}
+				writeFully(out, records);
+				count += page.size();
+				after = page.isEmpty() ? null : page.get(page.size() - 1).getEmployeeId();
+			} while (page.size() == SNAPSHOT_PAGE_SIZE);
+			out.force(true);
+		}
+		move(temporary, snapshotPath(snapshotGeneration));
+
+		// Older snapshots and journals are fully covered by the new snapshot
+		for (Path path : list(SNAPSHOT_FILE).headMap(snapshotGeneration).values()) {
+			Files.deleteIfExists(path);
+		}
+		for (Path path : list(JOURNAL_FILE).headMap(snapshotGeneration).values()) {
+			Files.deleteIfExists(path);
+		}
+		log.info("Wrote snapshot of {} employees in {} ms", count, (System.nanoTime() - started) / 1_000_000);
+	}
+
+	@PreDestroy
+	public void close() throws IOException {
+		if (journal == null) {
+			return;
+		}
+		// Leave a fresh snapshot behind so the next boot replays as little as possible
+		if (recordsSinceSnapshot > 0) {
+			snapshot();
+		}
+		lock.lock();
+		try {
+			journal.force(false);
+			journal.close();
+			journal = null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Loads every valid record in the file and returns how many were read
+	private long replay(Path path, boolean truncateTornTail) throws IOException {
+		long records = 0;
+		long valid = 0;
+		List<Employee> batch = new ArrayList<>(RESTORE_BATCH_SIZE);
+		EmployeeRepository.StagedLoad load = null;
+		long loadStart = -1;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			long size = channel.size();
+			long windowStart = 0;
+			MappedByteBuffer window = null;
+			CRC32 crc = new CRC32();
+
+			while (valid + HEADER_BYTES <= size) {
+				if (window == null || valid + HEADER_BYTES > windowStart + window.limit()) {
+					windowStart = valid;
+					window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+							Math.min(WINDOW_BYTES, size - windowStart));
+				}
+				int offset = (int) (valid - windowStart);
+				int length = window.getInt(offset);
+				if (length < 0 || valid + HEADER_BYTES + length > size) {
+					break;
+				}
+				if (offset + HEADER_BYTES + length > window.limit()) {
+					// Record straddles the window; remap starting at it
+					windowStart = valid;
+					window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+							Math.min(Math.max(WINDOW_BYTES, HEADER_BYTES + length), size - windowStart));
+					offset = 0;
+				}
+
+				ByteBuffer body = window.slice(offset + 8, 1 + length);
+				crc.reset();
+				crc.update(body.duplicate());
+				if ((int) crc.getValue() != window.getInt(offset + 4)) {
+					break;
+				}
+				byte type = body.get();
+				if (type == INSERT) {
+					batch.add(EmployeeCodec.decode(body));
+					if (batch.size() == RESTORE_BATCH_SIZE) {
+						flush(batch, load);
+					}
+				} else if (type == LOAD_BEGIN) {
+					flush(batch, load);
+					if (load != null) {
+						load.close();
+					}
+					load = employeeRepository.stage();
+					loadStart = valid;
+				} else if (type == UPDATE || type == REMOVE) {
+					// Inserts before the change must land first, since it may move or remove them
+					flush(batch, load);
+					if (type == UPDATE) {
+						Employee employee = EmployeeCodec.decode(body);
+						if (load == null) {
+							employeeRepository.update(employee);
+						} else {
+							load.update(employee);
+						}
+					} else if (load == null) {
+						employeeRepository.removeAll(List.of(body.getInt()));
+					} else {
+						load.remove(body.getInt());
+					}
+				} else if (type == LOAD_COMMIT && load != null) {
+					flush(batch, load);
+					load.publish();
+					load.close();
+					load = null;
+				}
+				records++;
+				valid += HEADER_BYTES + length;
+			}
+
+			flush(batch, load);
+			if (load != null) {
+				// The load never committed, so none of it was ever visible
+				load.close();
+				load = null;
+				log.warn("Discarding uncommitted load of {} bytes from {}", valid - loadStart, path);
+				valid = loadStart;
+			}
+			if (valid < size) {
+				if (!truncateTornTail) {
+					throw new IOException("Corrupt snapshot " + path + " at byte " + valid);
+				}
+				log.warn("Truncating {} bytes of incomplete records from {}", size - valid, path);
+				channel.truncate(valid);
+			}
+		} finally {
+			if (load != null) {
+				load.close();
+			}
+		}
+		return records;
+	}
+
+	private void flush(List<Employee> batch, EmployeeRepository.StagedLoad load) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		if (load == null) {
+			employeeRepository.initialSaveAll(batch);
+		} else {
+			load.saveAll(batch);
+		}
+		batch.clear();
+	}
+
+	// Gathering writes stop at the platform's iovec limit, so keep going until every buffer is drained
+	private static void writeFully(FileChannel channel, ByteBuffer[] buffers) throws IOException {
+		int first = 0;
+		while (first < buffers.length) {
+			channel.write(buffers, first, buffers.length - first);
+			while (first < buffers.length && !buffers[first].hasRemaining()) {
+				first++;
+			}
+		}
+	}
+
+	private static ByteBuffer record(byte type, byte[] payload) {
+		CRC32 crc = new CRC32();
+		crc.update(type);
+		crc.update(payload);
+		ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+		record.putInt(payload.length);
+		record.putInt((int) crc.getValue());
+		record.put(type);
+		record.put(payload);
+		return record.flip();
+	}
+
+	private TreeMap<Long, Path> list(Pattern pattern) throws IOException {
+		TreeMap<Long, Path> files = new TreeMap<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path path : stream) {
+				Matcher matcher = pattern.matcher(path.getFileName().toString());
+				if (matcher.matches()) {
+					files.put(Long.parseLong(matcher.group(1)), path);
+				}
+			}
+		}
+		return files;
+	}
+
+	private Path journalPath(long journalGeneration) {
+		return directory.resolve("journal-" + journalGeneration + ".log");
+	}
+
+	private Path snapshotPath(long snapshotGeneration) {
+		return directory.resolve("snapshot-" + snapshotGeneration + ".bin");
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
@@ -0,0 +1,603 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.org.management.model.Employee;
+
+/**
+ * Memory-compact employee store that keeps the hierarchy in primitive columns
+ * indexed by slot instead of one object graph per employee.
+ *
+ * Ids map to slots through an open-addressing int map. Titles are interned
+ * into a shared table and stored as int references; names stay as one String
+ * reference per slot. Reports form an intrusive doubly linked list through
+ * the firstReport/lastReport/nextReport/previousReport columns, so a report
+ * is unlinked in O(1) however wide its manager's span. A manager referenced before it
+ * is loaded gets a placeholder slot that is filled in when it arrives.
+ * Employee objects are only built when a read returns them.
+ *
+ * Reads are optimistic: they run without a lock and are retried when a write
+ * intervened, taking the read lock only after a few lost attempts, so long
+ * scans never hold up writers. Writes lock for short sections; bulk inserts
+ * and removals release the lock every WRITE_SECTION employees. Id-ordered
+ * pages come from a sorted (id, slot) array that is rebuilt on the first
+ * page read after a write. A staged load fills a copy of the columns
+ * without blocking readers and swaps it in under the write lock.
+ */
+@Repository
+@ConditionalOnProperty(name = "management.repository.type", havingValue = "compact")
+public class CompactEmployeeRepository implements EmployeeRepository {
+
+	private static final int NONE = -1;
+
+	// Stored managerId for employees saved without one
+	private static final int NO_MANAGER = Integer.MIN_VALUE;
+
+	// Unlocked attempts a read makes before taking the read lock
+	private static final int OPTIMISTIC_READS = 4;
+
+	// Employees inserted or removed per write section by the bulk writes, so readers never wait long for one
+	private static final int WRITE_SECTION = 1024;
+
+	private final StampedLock lock = new StampedLock();
+
+	// Serializes writers, including a staged load from start to close, without blocking readers
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private Columns columns = new Columns();
+
+	private volatile long version;
+
+	// Ids packed above their slots and sorted, valid for sortedVersion only
+	private volatile SortedIds sortedIds;
+
+	private static class SortedIds {
+		final long version;
+		final long[] entries;
+
+		SortedIds(long version, long[] entries) {
+			this.version = version;
+			this.entries = entries;
+		}
+	}
+
+	private static class Columns {
+
+		final IntIntHashMap slots;
+
+		final HashMap<String, Integer> titleRefs;
+
+		String[] titles;
+
+		// Indexed by slot; a null name marks a placeholder slot
+		int[] ids;
+		int[] managerIds;
+		int[] titleColumn;
+		String[] names;
+		int[] firstReport;
+		int[] lastReport;
+		int[] nextReport;
+		int[] previousReport;
+
+		int slotCount;
+
+		int employeeCount;
+
+		Columns() {
+			slots = new IntIntHashMap();
+			titleRefs = new HashMap<>();
+			titles = new String[16];
+			ids = new int[16];
+			managerIds = new int[16];
+			titleColumn = new int[16];
+			names = new String[16];
+			firstReport = new int[16];
+			lastReport = new int[16];
+			nextReport = new int[16];
+			previousReport = new int[16];
+		}
+
+		Columns(Columns source) {
+			slots = new IntIntHashMap(source.slots);
+			titleRefs = new HashMap<>(source.titleRefs);
+			titles = source.titles.clone();
+			ids = source.ids.clone();
+			managerIds = source.managerIds.clone();
+			titleColumn = source.titleColumn.clone();
+			names = source.names.clone();
+			firstReport = source.firstReport.clone();
+			lastReport = source.lastReport.clone();
+			nextReport = source.nextReport.clone();
+			previousReport = source.previousReport.clone();
+			slotCount = source.slotCount;
+			employeeCount = source.employeeCount;
+		}
+
+		Employee find(int employeeId) {
+			int slot = slots.get(employeeId);
+			return isPresent(slot) ? toEmployee(slot) : null;
+		}
+
+		boolean isPresent(int slot) {
+			return slot != IntIntHashMap.MISSING && names[slot] != null;
+		}
+
+		Employee toEmployee(int slot) {
+			int managerId = managerIds[slot];
+			return Employee
+					.builder()
+					.employeeId(ids[slot])
+					.name(names[slot])
+					.title(titles[titleColumn[slot]])
+					.managerId(managerId == NO_MANAGER ? null : managerId)
+					.build();
+		}
+
+		boolean insert(Employee employee) {
+			int slot = slotFor(employee.getEmployeeId());
+			if (names[slot] != null) {
+				return false;
+			}
+
+			titleColumn[slot] = intern(employee.getTitle());
+			managerIds[slot] = employee.getManagerId() == null ? NO_MANAGER : employee.getManagerId();
+			link(slot);
+			// Setting the name last publishes the slot
+			names[slot] = employee.getName() == null ? "" : employee.getName();
+			employeeCount++;
+			return true;
+		}
+
+		// Must be called on a staged copy or under the write lock
+		boolean update(Employee employee) {
+			int slot = slots.get(employee.getEmployeeId());
+			if (!isPresent(slot)) {
+				return false;
+			}
+			titleColumn[slot] = intern(employee.getTitle());
+			names[slot] = employee.getName() == null ? "" : employee.getName();
+			int managerId = employee.getManagerId() == null ? NO_MANAGER : employee.getManagerId();
+			if (managerIds[slot] != managerId) {
+				unlink(slot);
+				managerIds[slot] = managerId;
+				link(slot);
+			}
+			return true;
+		}
+
+		// Must be called on a staged copy or under the write lock; the slot becomes a placeholder that keeps its own reports
+		boolean remove(int employeeId) {
+			int slot = slots.get(employeeId);
+			if (!isPresent(slot)) {
+				return false;
+			}
+			unlink(slot);
+			managerIds[slot] = NO_MANAGER;
+			names[slot] = null;
+			employeeCount--;
+			return true;
+		}
+
+		// Appends the slot to its manager's report list
+		private void link(int slot) {
+			if (managerIds[slot] == NO_MANAGER) {
+				return;
+			}
+			int managerSlot = slotFor(managerIds[slot]);
+			previousReport[slot] = lastReport[managerSlot];
+			if (lastReport[managerSlot] == NONE) {
+				firstReport[managerSlot] = slot;
+			} else {
+				nextReport[lastReport[managerSlot]] = slot;
+			}
+			lastReport[managerSlot] = slot;
+		}
+
+		// Removes the slot from its manager's report list
+		private void unlink(int slot) {
+			if (managerIds[slot] == NO_MANAGER) {
+				return;
+			}
+			int managerSlot = slots.get(managerIds[slot]);
+			int previous = previousReport[slot];
+			int next = nextReport[slot];
+			if (previous == NONE) {
+				firstReport[managerSlot] = next;
+			} else {
+				nextReport[previous] = next;
+			}
+			if (next == NONE) {
+				lastReport[managerSlot] = previous;
+			} else {
+				previousReport[next] = previous;
+			}
+			nextReport[slot] = NONE;
+			previousReport[slot] = NONE;
+		}
+
+		// Returns the slot for the id, allocating a placeholder when it is not known yet
+		private int slotFor(int employeeId) {
+			int slot = slots.get(employeeId);
+			if (slot != IntIntHashMap.MISSING) {
+				return slot;
+			}
+
+			if (slotCount == ids.length) {
+				grow(ids.length * 2);
+			}
+			slot = slotCount++;
+			ids[slot] = employeeId;
+			managerIds[slot] = NO_MANAGER;
+			firstReport[slot] = NONE;
+			lastReport[slot] = NONE;
+			nextReport[slot] = NONE;
+			previousReport[slot] = NONE;
+			slots.put(employeeId, slot);
+			return slot;
+		}
+
+		private int intern(String title) {
+			String key = title == null ? "" : title;
+			Integer ref = titleRefs.get(key);
+			if (ref == null) {
+				ref = titleRefs.size();
+				if (ref == titles.length) {
+					titles = Arrays.copyOf(titles, titles.length * 2);
+				}
+				titles[ref] = key;
+				titleRefs.put(key, ref);
+			}
+			return ref;
+		}
+
+		private void grow(int capacity) {
+			ids = Arrays.copyOf(ids, capacity);
+			managerIds = Arrays.copyOf(managerIds, capacity);
+			titleColumn = Arrays.copyOf(titleColumn, capacity);
+			names = Arrays.copyOf(names, capacity);
+			firstReport = Arrays.copyOf(firstReport, capacity);
+			lastReport = Arrays.copyOf(lastReport, capacity);
+			nextReport = Arrays.copyOf(nextReport, capacity);
+			previousReport = Arrays.copyOf(previousReport, capacity);
+		}
+	}
+
+	@Override
+	public boolean initialSave(Employee employee) {
+		return initialSaveAll(List.of(employee)) == 1;
+	}
+
+	@Override
+	public int initialSaveAll(List<Employee> employees) {
+		writeLock.lock();
+		try {
+			int saved = 0;
+			for (int from = 0; from < employees.size(); from += WRITE_SECTION) {
+				long stamp = lock.writeLock();
+				try {
+					int before = saved;
+					for (Employee employee : employees.subList(from, Math.min(employees.size(), from + WRITE_SECTION))) {
+						if (columns.insert(employee)) {
+							saved++;
+						}
+					}
+					version += saved - before;
+				} finally {
+					lock.unlockWrite(stamp);
+				}
+			}
+			return saved;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int save(Employee employee) {
+		writeLock.lock();
+		long stamp = lock.writeLock();
+		try {
+			// Check if employee already exists
+			if (columns.isPresent(columns.slots.get(employee.getEmployeeId()))) {
+				return -1;
+			}
+			// Check if manager exists
+			if (employee.getManagerId() == null || !columns.isPresent(columns.slots.get(employee.getManagerId()))) {
+				return 0;
+			}
+			columns.insert(employee);
+			version++;
+			return 1;
+		} finally {
+			lock.unlockWrite(stamp);
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean update(Employee employee) {
+		writeLock.lock();
+		long stamp = lock.writeLock();
+		try {
+			if (!columns.update(employee)) {
+				return false;
+			}
+			version++;
+			return true;
+		} finally {
+			lock.unlockWrite(stamp);
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int removeAll(List<Integer> employeeIds) {
+		writeLock.lock();
+		try {
+			int removed = 0;
+			for (int from = 0; from < employeeIds.size(); from += WRITE_SECTION) {
+				long stamp = lock.writeLock();
+				try {
+					int before = removed;
+					for (Integer employeeId : employeeIds.subList(from, Math.min(employeeIds.size(), from + WRITE_SECTION))) {
+						if (employeeId != null && columns.remove(employeeId)) {
+							removed++;
+						}
+					}
+					version += removed - before;
+				} finally {
+					lock.unlockWrite(stamp);
+				}
+			}
+			return removed;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public StagedLoad stage() {
+		writeLock.lock();
+		return new StagedLoad() {
+
+			// No other writer can touch the published columns while writeLock is held
+			private final Columns staged = new Columns(columns);
+
+			private int count;
+
+			private boolean closed;
+
+			@Override
+			public List<Employee> saveAll(List<Employee> employees) {
+				List<Employee> saved = new ArrayList<>(employees.size());
+				for (Employee employee : employees) {
+					if (staged.insert(employee)) {
+						saved.add(employee);
+					}
+				}
+				count += saved.size();
+				return saved;
+			}
+
+			@Override
+			public boolean update(Employee employee) {
+				if (!staged.update(employee)) {
+					return false;
+				}
+				count++;
+				return true;
+			}
+
+			@Override
+			public boolean remove(Integer employeeId) {
+				if (!staged.remove(employeeId)) {
+					return false;
+				}
+				count++;
+				return true;
+			}
+
+			@Override
+			public long publish() {
+				long stamp = lock.writeLock();
+				try {
+					columns = staged;
+					version += count;
+					count = 0;
+					return version;
+				} finally {
+					lock.unlockWrite(stamp);
+				}
+			}
+
+			@Override
+			public void close() {
+				if (!closed) {
+					closed = true;
+					writeLock.unlock();
+				}
+			}
+		};
+	}
+
+	@Override
+	public List<Employee> getEmployees() {
+		return read(() -> {
+			Columns current = columns;
+			List<Employee> employees = new ArrayList<>(current.employeeCount);
+			for (int slot = 0; slot < current.slotCount; slot++) {
+				if (current.names[slot] != null) {
+					employees.add(current.toEmployee(slot));
+				}
+			}
+			return employees;
+		});
+	}
+
+	@Override
+	public List<Employee> getEmployees(Integer after, int limit) {
+		// The attempt that returns is the last one made, so its sort is safe to keep for later pages
+		SortedIds[] sorted = new SortedIds[1];
+		List<Employee> page = read(() -> {
+			sorted[0] = sortedIds();
+			long[] entries = sorted[0].entries;
+			// First entry with an id greater than after
+			int from = 0;
+			if (after != null) {
+				int low = 0;
+				int high = entries.length;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if ((int) (entries[mid] >> 32) <= after) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				from = low;
+			}
+
+			Columns current = columns;
+			int to = (int) Math.min(entries.length, (long) from + limit);
+			List<Employee> employees = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				employees.add(current.toEmployee((int) entries[i]));
+			}
+			return employees;
+		});
+		sortedIds = sorted[0];
+		return page;
+	}
+
+	@Override
+	public Employee getEmployee(Integer employeeId) {
+		if (employeeId == null) {
+			return null;
+		}
+		return read(() -> columns.find(employeeId));
+	}
+
+	@Override
+	public List<Employee> getEmployees(List<Integer> employeeIds) {
+		// One read for the whole batch rather than one per id
+		return read(() -> {
+			Columns current = columns;
+			List<Employee> employees = new ArrayList<>(employeeIds.size());
+			for (Integer employeeId : employeeIds) {
+				Employee employee = employeeId == null ? null : current.find(employeeId);
+				if (employee != null) {
+					employees.add(employee);
+				}
+			}
+			return employees;
+		});
+	}
+
+	@Override
+	public Employee getManager(Employee employee) {
+		if (employee.getManagerId() == null) {
+			return null;
+		}
+		return read(() -> columns.find(employee.getManagerId()));
+	}
+
+	@Override
+	public List<Employee> getSubordinates(Employee employee) {
+		return read(() -> {
+			Columns current = columns;
+			List<Employee> subordinates = new ArrayList<>();
+			int slot = current.slots.get(employee.getEmployeeId());
+			if (slot == IntIntHashMap.MISSING) {
+				return subordinates;
+			}
+			// A list seen half-relinked by a writer may run on; the read is retried once it runs past every slot
+			for (int report = current.firstReport[slot]; report != NONE; report = current.nextReport[report]) {
+				if (subordinates.size() == current.slotCount) {
+					throw new IllegalStateException("Report list changed during read");
+				}
+				subordinates.add(current.toEmployee(report));
+			}
+			return subordinates;
+		});
+	}
+
+	@Override
+	public long count() {
+		return read(() -> (long) columns.employeeCount);
+	}
+
+	// Approximate bytes retained by the store, excluding the name and title strings themselves
+	public long sizeInBytes() {
+		return read(() -> {
+			Columns current = columns;
+			int capacity = current.ids.length;
+			// Seven int columns and one String reference column per slot
+			return current.slots.sizeInBytes() + capacity * (7L * 4 + 4) + current.titles.length * 4L;
+		});
+	}
+
+	// Sorted for the current version, reusing the last sort when nothing was written since
+	private SortedIds sortedIds() {
+		long current = version;
+		SortedIds sorted = sortedIds;
+		if (sorted != null && sorted.version == current) {
+			return sorted;
+		}
+		Columns source = columns;
+		long[] entries = new long[source.employeeCount];
+		int count = 0;
+		for (int slot = 0; slot < source.slotCount; slot++) {
+			if (source.names[slot] != null) {
+				entries[count++] = ((long) source.ids[slot] << 32) | slot;
+			}
+		}
+		Arrays.sort(entries);
+		return new SortedIds(current, entries);
+	}
+
+	/**
+	 * Runs a read against the columns without locking, and keeps its result
+	 * only if no write intervened; an overlapping write can also make it throw
+	 * or see a resized column, which counts the same. Writers are never held
+	 * up by readers this way, however long a scan takes. Write sections are
+	 * short, so a reader that keeps losing to them takes the read lock for a
+	 * last attempt, waiting out at most the write section in progress.
+	 */
+	private <T> T read(Supplier<T> read) {
+		for (int attempt = 0; attempt < OPTIMISTIC_READS; attempt++) {
+			long stamp = lock.tryOptimisticRead();
+			if (stamp == 0) {
+				Thread.onSpinWait();
+				continue;
+			}
+			try {
+				T value = read.get();
+				if (lock.validate(stamp)) {
+					return value;
+				}
+			} catch (RuntimeException e) {
+				// Torn by a write; retried below
+			}
+		}
+		long stamp = lock.readLock();
+		try {
+			return read.get();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+}
@@ -1,58 +1,74 @@
 package com.org.management.repository;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
-
-import org.springframework.stereotype.Repository;
 
 import com.org.management.model.Employee;
 
-@Repository
-public class EmployeeRepository {
-
-	public HashMap<Integer, Employee> employeeMap = new HashMap<>();
-	
-	public boolean initialSave(Employee employee) {
-		// Save employee only if employeeId is unique.
-		if (!employeeMap.containsKey(employee.getEmployeeId())) {
-			employeeMap.put(employee.getEmployeeId(), employee);
-			return true;
-		}
-		return false;
-	}
-	
-	public int save(Employee employee) {
-		// Check if employee already exists
-		if (employeeMap.containsKey(employee.getEmployeeId())) {
-			return -1;
-		}
-		// Check if manager exists
-		if (!employeeMap.containsKey(employee.getManagerId())) {
-			return 0;
-		}
-		// Save employee
-		employeeMap.put(employee.getEmployeeId(), employee);
-		return 1;
-	}
+/**
+ * Storage contract for the employee hierarchy. Implementations are selected
+ * with the management.repository.type property and must be safe to share
+ * between request threads.
+ */
+public interface EmployeeRepository {
 
-	public List<Employee> getEmployees() {
-		List<Employee> employees = employeeMap.values().stream()
-				.collect(Collectors.toList());
-		return employees;
-	}
+	// Saves the employee only if its employeeId is unique; the manager is not checked.
+	boolean initialSave(Employee employee);
 
-	public Employee getEmployee(Integer employeeId) {
-		return employeeMap.get(employeeId);
-	}
+	// Returns the number of employees saved; duplicates are skipped like initialSave.
+	int initialSaveAll(List<Employee> employees);
 
-	public Employee getManager(Employee employee) {
-		return employeeMap.get(employee.getManagerId());
-	}
+	// Returns -1 if the employee already exists, 0 if its manager does not exist, 1 when saved.
+	int save(Employee employee);
+
+	// Replaces the name, title and manager of a stored employee; false when the id is not stored. The manager is not checked.
+	boolean update(Employee employee);
+
+	// Removes the stored employees among the given ids, in order, and returns how many were removed; their reports keep pointing at the missing ids.
+	int removeAll(List<Integer> employeeIds);
+
+	List<Employee> getEmployees();
+
+	// Up to limit employees with ids greater than after (or from the start when null), in ascending id order.
+	List<Employee> getEmployees(Integer after, int limit);
+
+	Employee getEmployee(Integer employeeId);
+
+	// Stored employees among the given ids, in the order asked for; ids that are not stored are skipped.
+	List<Employee> getEmployees(List<Integer> employeeIds);
+
+	Employee getManager(Employee employee);
+
+	List<Employee> getSubordinates(Employee employee);
+
+	// Number of stored employees.
+	long count();
+
+	// Increases with every write that changes the hierarchy, so derived indexes can tell they are stale.
+	long getVersion();
+
+	// Starts a bulk load built off to the side of the published store. Other writers wait until it is closed.
+	StagedLoad stage();
+
+	/**
+	 * A bulk load that readers cannot see until publish swaps it in as one
+	 * new version. Closing a load that was not published discards it. Must be
+	 * used from the thread that started it.
+	 */
+	interface StagedLoad extends AutoCloseable {
+
+		// Stages employees with the same duplicate handling as initialSaveAll and returns the ones that were staged, in order.
+		List<Employee> saveAll(List<Employee> employees);
+
+		// Replaces the name, title and manager of a stored employee; false when the id is not stored.
+		boolean update(Employee employee);
+
+		// Removes a stored employee, leaving its reports pointing at the missing id; false when it is not stored.
+		boolean remove(Integer employeeId);
+
+		// Makes every staged employee visible in one step and returns the new version.
+		long publish();
 
-	public List<Employee> getSubordinates(Employee employee) {
-		List<Employee> subordinates = employeeMap.values().stream()
-				.filter(e -> e.getManagerId() == employee.getEmployeeId()).collect(Collectors.toList());
-		return subordinates;
+		@Override
+		void close();
 	}
 }
@@ -0,0 +1,663 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.org.management.model.Employee;
+
+/**
+ * Euler-tour tree over the hierarchy: the depth-first tour kept in a treap,
+ * so a whole subtree can be cut out and pasted under a new manager in
+ * O(log n) instead of renumbering the org.
+ *
+ * Every indexed employee owns an open token (weight +1) and a close token
+ * (weight -1), and its subtree is the run of tokens between them. The treap
+ * is ordered by tour position and each node carries the size, weight sum and
+ * lowest running sum of its subtree. The running sum up to an open token is
+ * the employee's level plus one, so levels, is-under checks, reporting
+ * distances and lowest common managers all come from O(log n) walks. Every
+ * tree of the forest sits in the one tour, and employees whose manager is
+ * not stored wait at the top until it is. Employees caught in a manager
+ * cycle, and anyone below them, are not indexed. Only ids are kept; callers
+ * resolve them through the store when they need the employees.
+ */
+public class EulerTourTree {
+
+	private static final int NONE = -1;
+
+	// Parent of a removed slot
+	private static final int REMOVED = -2;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// Removed employees keep their slot, so an id that comes back reuses it
+	private final IntIntHashMap slots = new IntIntHashMap();
+
+	// Top-level slots by the manager id they name but that is not stored, so they can be attached once it is
+	private final Map<Integer, List<Integer>> waiting = new HashMap<>();
+
+	private final SplittableRandom random = new SplittableRandom();
+
+	// Indexed by slot
+	private int[] ids;
+	private int[] parent;
+
+	// Indexed by token: 2 * slot opens the slot's run and 2 * slot + 1 closes it
+	private int[] left;
+	private int[] right;
+	private int[] up;
+	private int[] priority;
+	private int[] count;
+	private int[] sum;
+	private int[] low;
+
+	private int root = NONE;
+
+	private int size;
+
+	private long version;
+
+	// Results of split; only touched under the write lock
+	private int splitLeft;
+	private int splitRight;
+
+	private EulerTourTree(long version, Collection<Employee> source) {
+		this.version = version;
+		int n = source.size();
+		allocate(Math.max(16, n));
+
+		Employee[] employees = source.toArray(new Employee[0]);
+		for (Employee employee : employees) {
+			ids[size] = employee.getEmployeeId();
+			slots.put(employee.getEmployeeId(), size++);
+		}
+
+		// Children as linked lists in source order, as the tour visits them
+		int[] firstChild = new int[n];
+		int[] nextSibling = new int[n];
+		Arrays.fill(firstChild, NONE);
+		List<Integer> roots = new ArrayList<>();
+		for (int s = n - 1; s >= 0; s--) {
+			parent[s] = managerSlot(employees[s]);
+			if (parent[s] == NONE) {
+				roots.add(s);
+			} else {
+				nextSibling[s] = firstChild[parent[s]];
+				firstChild[parent[s]] = s;
+			}
+		}
+
+		// Iterative walk so deep chains cannot overflow the stack
+		int[] tour = new int[2 * n];
+		int[] stack = new int[n];
+		int[] cursor = new int[n];
+		int length = 0;
+		for (int r = roots.size() - 1; r >= 0; r--) {
+			int top = 0;
+			int slot = roots.get(r);
+			wait(slot, employees[slot].getManagerId());
+			stack[top] = slot;
+			cursor[slot] = firstChild[slot];
+			tour[length++] = 2 * slot;
+			while (top >= 0) {
+				int current = stack[top];
+				int child = cursor[current];
+				if (child == NONE) {
+					tour[length++] = 2 * current + 1;
+					top--;
+					continue;
+				}
+				cursor[current] = nextSibling[child];
+				tour[length++] = 2 * child;
+				cursor[child] = firstChild[child];
+				stack[++top] = child;
+			}
+		}
+
+		// Cartesian tree over the tour in one pass; a node is complete once it leaves the stack
+		int[] spine = new int[length];
+		int top = -1;
+		for (int i = 0; i < length; i++) {
+			int token = tour[i];
+			int last = NONE;
+			while (top >= 0 && priority[spine[top]] < priority[token]) {
+				last = spine[top--];
+				update(last);
+			}
+			left[token] = last;
+			if (last != NONE) {
+				up[last] = token;
+			}
+			if (top >= 0) {
+				right[spine[top]] = token;
+				up[token] = spine[top];
+			}
+			spine[++top] = token;
+		}
+		root = top >= 0 ? spine[0] : NONE;
+		while (top >= 0) {
+			update(spine[top--]);
+		}
+	}
+
+	public static EulerTourTree build(long version, Collection<Employee> employees) {
+		return new EulerTourTree(version, employees);
+	}
+
+	public long getVersion() {
+		lock.readLock().lock();
+		try {
+			return version;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Moves changed employees under their new manager, removes the
+	 * removed ones and adds new ones under their managers, as one step to
+	 * the given version. Reports of a removed employee move to the top and
+	 * wait for it, as the store keeps them. Returns false when a change
+	 * reaches an employee outside the tour or closes a cycle; the tree then
+	 * keeps an unusable version so the next read rebuilds it.
+	 */
+	public boolean apply(List<Employee> changed, List<Employee> inserted, List<Integer> removed, long newVersion) {
+		lock.writeLock().lock();
+		try {
+			for (Employee employee : changed) {
+				if (!move(employee)) {
+					return fail();
+				}
+			}
+			for (Integer employeeId : removed) {
+				if (!remove(employeeId)) {
+					return fail();
+				}
+			}
+			for (Employee employee : inserted) {
+				if (!append(employee)) {
+					return fail();
+				}
+			}
+			version = newVersion;
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// False for an employee that is not stored, or that sits in or under a manager cycle
+	public boolean contains(Integer employeeId) {
+		lock.readLock().lock();
+		try {
+			return indexed(employeeId) != NONE;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// True when employeeId reports to managerId directly or transitively
+	public boolean isUnder(Integer employeeId, Integer managerId) {
+		lock.readLock().lock();
+		try {
+			int employee = indexed(employeeId);
+			int manager = indexed(managerId);
+			return employee != NONE && manager != NONE && employee != manager && isWithin(employee, manager);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Managers above the employee, nearest first, ending at the top
+	public List<Integer> getChain(Integer employeeId) {
+		lock.readLock().lock();
+		try {
+			List<Integer> chain = new ArrayList<>();
+			int slot = indexed(employeeId);
+			if (slot == NONE) {
+				return chain;
+			}
+			for (int manager = parent[slot]; manager != NONE; manager = parent[manager]) {
+				chain.add(ids[manager]);
+			}
+			return chain;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Everyone under the employee in tour order, limited to maxDepth levels when given
+	public List<Integer> getReports(Integer employeeId, Integer maxDepth) {
+		lock.readLock().lock();
+		try {
+			List<Integer> reports = new ArrayList<>();
+			int slot = indexed(employeeId);
+			if (slot == NONE) {
+				return reports;
+			}
+			int depthLimit = maxDepth == null ? Integer.MAX_VALUE : maxDepth;
+			int depth = 0;
+			for (int token = next(2 * slot); token != 2 * slot + 1; token = next(token)) {
+				if ((token & 1) == 1) {
+					depth--;
+					continue;
+				}
+				reports.add(ids[token >> 1]);
+				// Below the limit only the close token matters, so jump straight to it
+				if (++depth == depthLimit) {
+					token++;
+					depth--;
+				}
+			}
+			return reports;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Returns the lowest employee that both report to, counting each as under themselves, or null
+	public Integer getCommonManager(Integer a, Integer b) {
+		lock.readLock().lock();
+		try {
+			int lca = lca(indexed(a), indexed(b));
+			return lca == NONE ? null : ids[lca];
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Number of reporting lines between the two employees, or null when they share no manager
+	public Integer getDistance(Integer a, Integer b) {
+		lock.readLock().lock();
+		try {
+			int u = indexed(a);
+			int v = indexed(b);
+			int lca = lca(u, v);
+			return lca == NONE ? null : level(u) + level(v) - 2 * level(lca);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int lca(int u, int v) {
+		if (u == NONE || v == NONE) {
+			return NONE;
+		}
+		int from = position(2 * u);
+		int to = position(2 * v);
+		if (from > to) {
+			int swap = from;
+			from = to;
+			to = swap;
+			swap = u;
+			u = v;
+			v = swap;
+		}
+		if (position(2 * u + 1) > to) {
+			return u;
+		}
+		// Between the two opens the running sum bottoms out at the close of the common manager's child
+		int lowest = lowest(root, from, to, 0);
+		int token = first(root, from, 0, lowest);
+		return parent[token >> 1];
+	}
+
+	private boolean move(Employee employee) {
+		int slot = indexed(employee.getEmployeeId());
+		int manager = managerSlot(employee);
+		if (slot == NONE || (manager != NONE && (count[2 * manager] == 0 || isWithin(manager, slot)))) {
+			return false;
+		}
+		if (manager == parent[slot] && manager != NONE) {
+			return true;
+		}
+		if (parent[slot] == NONE) {
+			unwait(slot);
+		}
+		paste(cut(slot), slot, manager);
+		if (manager == NONE) {
+			wait(slot, employee.getManagerId());
+		}
+		return true;
+	}
+
+	private boolean remove(Integer employeeId) {
+		int slot = indexed(employeeId);
+		if (slot == NONE) {
+			return false;
+		}
+		if (parent[slot] == NONE) {
+			unwait(slot);
+		}
+		// Direct reports lift to the top and wait for the removed id
+		for (int token = next(2 * slot); token != 2 * slot + 1; token = next(token + 1)) {
+			int report = token >> 1;
+			parent[report] = NONE;
+			wait(report, employeeId);
+		}
+		int run = cut(slot);
+		split(run, 1);
+		split(splitRight, count[splitRight] - 1);
+		root = merge(root, splitLeft);
+		if (root != NONE) {
+			up[root] = NONE;
+		}
+		release(2 * slot);
+		release(2 * slot + 1);
+		parent[slot] = REMOVED;
+		return true;
+	}
+
+	private boolean append(Employee employee) {
+		int manager = managerSlot(employee);
+		if (manager != NONE && count[2 * manager] == 0) {
+			return false;
+		}
+		int slot = slots.get(employee.getEmployeeId());
+		if (slot == IntIntHashMap.MISSING) {
+			if (size == ids.length) {
+				grow(ids.length * 2);
+			}
+			slot = size++;
+			ids[slot] = employee.getEmployeeId();
+			slots.put(employee.getEmployeeId(), slot);
+		} else if (parent[slot] != REMOVED) {
+			return false;
+		}
+		open(2 * slot);
+		open(2 * slot + 1);
+		paste(merge(2 * slot, 2 * slot + 1), slot, manager);
+		if (manager == NONE) {
+			wait(slot, employee.getManagerId());
+		}
+
+		// Employees that named this one as their manager before it was stored now report to it
+		List<Integer> reports = waiting.remove(employee.getEmployeeId());
+		if (reports != null) {
+			for (int report : reports) {
+				if (isWithin(slot, report)) {
+					return false;
+				}
+				paste(cut(report), report, slot);
+			}
+		}
+		return true;
+	}
+
+	private boolean fail() {
+		version = NONE;
+		return false;
+	}
+
+	// Takes the slot's run out of the tour and returns it as its own treap
+	private int cut(int slot) {
+		int from = position(2 * slot);
+		int to = position(2 * slot + 1);
+		split(root, to + 1);
+		int rest = splitRight;
+		split(splitLeft, from);
+		int run = splitRight;
+		root = merge(splitLeft, rest);
+		if (root != NONE) {
+			up[root] = NONE;
+		}
+		parent[slot] = NONE;
+		return run;
+	}
+
+	// Puts a run back as the last report of manager, or at the end of the tour
+	private void paste(int run, int slot, int manager) {
+		if (manager == NONE) {
+			root = merge(root, run);
+		} else {
+			split(root, position(2 * manager + 1));
+			int rest = splitRight;
+			root = merge(merge(splitLeft, run), rest);
+		}
+		up[root] = NONE;
+		parent[slot] = manager;
+	}
+
+	// Leaves the first k tokens of t in splitLeft and the rest in splitRight
+	private void split(int t, int k) {
+		if (t == NONE) {
+			splitLeft = NONE;
+			splitRight = NONE;
+			return;
+		}
+		if (size(left[t]) >= k) {
+			split(left[t], k);
+			left[t] = splitRight;
+			if (splitRight != NONE) {
+				up[splitRight] = t;
+			}
+			update(t);
+			up[t] = NONE;
+			splitRight = t;
+		} else {
+			split(right[t], k - size(left[t]) - 1);
+			right[t] = splitLeft;
+			if (splitLeft != NONE) {
+				up[splitLeft] = t;
+			}
+			update(t);
+			up[t] = NONE;
+			splitLeft = t;
+		}
+	}
+
+	private int merge(int a, int b) {
+		if (a == NONE) {
+			return b;
+		}
+		if (b == NONE) {
+			return a;
+		}
+		if (priority[a] > priority[b]) {
+			right[a] = merge(right[a], b);
+			up[right[a]] = a;
+			update(a);
+			return a;
+		}
+		left[b] = merge(a, left[b]);
+		up[left[b]] = b;
+		update(b);
+		return b;
+	}
+
+	private void update(int t) {
+		int l = left[t];
+		int r = right[t];
+		int before = total(l) + weight(t);
+		count[t] = size(l) + 1 + size(r);
+		sum[t] = before + total(r);
+		int lowest = l == NONE ? before : Math.min(low[l], before);
+		low[t] = r == NONE ? lowest : Math.min(lowest, before + low[r]);
+	}
+
+	// Zero-based place of the token in the tour
+	private int position(int t) {
+		int p = size(left[t]);
+		for (int child = t, node = up[t]; node != NONE; child = node, node = up[node]) {
+			if (right[node] == child) {
+				p += size(left[node]) + 1;
+			}
+		}
+		return p;
+	}
+
+	// Levels below the top; the running sum through the open token less one
+	private int level(int slot) {
+		int t = 2 * slot;
+		int running = total(left[t]) + weight(t);
+		for (int child = t, node = up[t]; node != NONE; child = node, node = up[node]) {
+			if (right[node] == child) {
+				running += total(left[node]) + weight(node);
+			}
+		}
+		return running - 1;
+	}
+
+	// Lowest running sum at positions from..to of t, whose tokens start after a running sum of before
+	private int lowest(int t, int from, int to, int before) {
+		if (t == NONE || to < 0 || from >= count[t]) {
+			return Integer.MAX_VALUE;
+		}
+		if (from <= 0 && to >= count[t] - 1) {
+			return before + low[t];
+		}
+		int leftCount = size(left[t]);
+		int here = before + total(left[t]) + weight(t);
+		int result = lowest(left[t], from, to, before);
+		if (from <= leftCount && leftCount <= to) {
+			result = Math.min(result, here);
+		}
+		return Math.min(result, lowest(right[t], from - leftCount - 1, to - leftCount - 1, here));
+	}
+
+	// First token at or after position from in t whose running sum is at most target, or NONE
+	private int first(int t, int from, int before, int target) {
+		if (t == NONE || from >= count[t] || before + low[t] > target) {
+			return NONE;
+		}
+		int leftCount = size(left[t]);
+		if (from < leftCount) {
+			int found = first(left[t], from, before, target);
+			if (found != NONE) {
+				return found;
+			}
+		}
+		int here = before + total(left[t]) + weight(t);
+		if (from <= leftCount && here <= target) {
+			return t;
+		}
+		return first(right[t], from - leftCount - 1, here, target);
+	}
+
+	// The token after t in the tour, or NONE at the end
+	private int next(int t) {
+		if (right[t] != NONE) {
+			t = right[t];
+			while (left[t] != NONE) {
+				t = left[t];
+			}
+			return t;
+		}
+		while (up[t] != NONE && right[up[t]] == t) {
+			t = up[t];
+		}
+		return up[t];
+	}
+
+	// True when slot is top or sits anywhere under it
+	private boolean isWithin(int slot, int top) {
+		int at = position(2 * slot);
+		return position(2 * top) <= at && at < position(2 * top + 1);
+	}
+
+	private void open(int t) {
+		left[t] = NONE;
+		right[t] = NONE;
+		up[t] = NONE;
+		priority[t] = random.nextInt();
+		update(t);
+	}
+
+	// Marks a token as outside the tour
+	private void release(int t) {
+		left[t] = NONE;
+		right[t] = NONE;
+		up[t] = NONE;
+		count[t] = 0;
+	}
+
+	private int size(int t) {
+		return t == NONE ? 0 : count[t];
+	}
+
+	private int total(int t) {
+		return t == NONE ? 0 : sum[t];
+	}
+
+	private static int weight(int t) {
+		return (t & 1) == 0 ? 1 : -1;
+	}
+
+	private void wait(int slot, Integer managerId) {
+		if (managerId != null) {
+			waiting.computeIfAbsent(managerId, k -> new ArrayList<>()).add(slot);
+		}
+	}
+
+	// Top-level slots only move when their manager changes, which is rare enough to scan for
+	private void unwait(int slot) {
+		Iterator<List<Integer>> lists = waiting.values().iterator();
+		while (lists.hasNext()) {
+			List<Integer> slotList = lists.next();
+			if (slotList.remove((Integer) slot) && slotList.isEmpty()) {
+				lists.remove();
+			}
+		}
+	}
+
+	private int managerSlot(Employee employee) {
+		Integer managerId = employee.getManagerId();
+		int slot = managerId == null ? IntIntHashMap.MISSING : slots.get(managerId);
+		return slot == IntIntHashMap.MISSING || parent[slot] == REMOVED ? NONE : slot;
+	}
+
+	// Returns the slot of an employee that is in the tour, or NONE
+	private int indexed(Integer employeeId) {
+		if (employeeId == null) {
+			return NONE;
+		}
+		int slot = slots.get(employeeId);
+		return slot == IntIntHashMap.MISSING || count[2 * slot] == 0 ? NONE : slot;
+	}
+
+	private void allocate(int capacity) {
+		ids = new int[capacity];
+		parent = new int[capacity];
+		left = filled(2 * capacity);
+		right = filled(2 * capacity);
+		up = filled(2 * capacity);
+		priority = new int[2 * capacity];
+		count = new int[2 * capacity];
+		sum = new int[2 * capacity];
+		low = new int[2 * capacity];
+		for (int t = 0; t < priority.length; t++) {
+			priority[t] = random.nextInt();
+		}
+	}
+
+	private void grow(int capacity) {
+		ids = Arrays.copyOf(ids, capacity);
+		parent = Arrays.copyOf(parent, capacity);
+		left = grown(left, 2 * capacity);
+		right = grown(right, 2 * capacity);
+		up = grown(up, 2 * capacity);
+		priority = Arrays.copyOf(priority, 2 * capacity);
+		count = Arrays.copyOf(count, 2 * capacity);
+		sum = Arrays.copyOf(sum, 2 * capacity);
+		low = Arrays.copyOf(low, 2 * capacity);
+	}
+
+	private static int[] filled(int capacity) {
+		int[] array = new int[capacity];
+		Arrays.fill(array, NONE);
+		return array;
+	}
+
+	private static int[] grown(int[] array, int capacity) {
+		int[] copy = Arrays.copyOf(array, capacity);
+		Arrays.fill(copy, array.length, capacity, NONE);
+		return copy;
+	}
+}
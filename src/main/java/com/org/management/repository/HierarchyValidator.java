@@ -0,0 +1,170 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.org.management.model.Employee;
+import com.org.management.model.ValidationReport;
+
+/**
+ * Checks the rows of one load for duplicate ids, orphans, manager cycles
+ * and extra roots in a single linear pass.
+ *
+ * Rows are kept as two int columns keyed by an unboxed id index, so even
+ * multi-million-row files cost a few tens of bytes per row. Every row has
+ * at most one manager, so cycle detection is a walk up parent links where
+ * each row is visited once. When validating against a store, managers that
+ * are not in the file are looked up there in batches, and the store's own
+ * CEO counts towards the root check; without a store the rows are taken to
+ * be the whole org.
+ */
+public class HierarchyValidator {
+
+	static final int SAMPLE_SIZE = 10;
+
+	// Manager ids per store lookup
+	private static final int LOOKUP_BATCH = 1000;
+
+	private static final int ROOT = 0;
+
+	private static final int NONE = -1;
+
+	private final EmployeeRepository store;
+
+	private final IntIntHashMap rows = new IntIntHashMap();
+
+	private int[] ids = new int[1024];
+
+	private int[] managerIds = new int[1024];
+
+	private int size;
+
+	private final ValidationReport report = new ValidationReport();
+
+	public HierarchyValidator(EmployeeRepository store) {
+		this.store = store;
+	}
+
+	public void add(Employee employee) {
+		int id = employee.getEmployeeId();
+		if (rows.get(id) != IntIntHashMap.MISSING) {
+			report.setDuplicates(report.getDuplicates() + 1);
+			sample(report.getDuplicateIds(), id);
+			return;
+		}
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, size * 2);
+			managerIds = Arrays.copyOf(managerIds, size * 2);
+		}
+		ids[size] = id;
+		// A blank manager is stored as 0, the CEO marker
+		managerIds[size] = employee.getManagerId() == null ? ROOT : employee.getManagerId();
+		rows.put(id, size++);
+	}
+
+	public void addAll(List<Employee> employees) {
+		for (Employee employee : employees) {
+			add(employee);
+		}
+	}
+
+	public ValidationReport validate() {
+		int[] parent = new int[size];
+		List<Integer> external = new ArrayList<>();
+		List<Integer> roots = new ArrayList<>();
+		for (int row = 0; row < size; row++) {
+			if (managerIds[row] == ROOT) {
+				parent[row] = NONE;
+				roots.add(ids[row]);
+			} else {
+				parent[row] = rows.get(managerIds[row]);
+				if (parent[row] == IntIntHashMap.MISSING) {
+					parent[row] = NONE;
+					external.add(managerIds[row]);
+				}
+			}
+		}
+
+		Set<Integer> stored = storedManagers(external);
+		for (int row = 0; row < size; row++) {
+			if (managerIds[row] != ROOT && parent[row] == NONE && !stored.contains(managerIds[row])) {
+				report.setOrphans(report.getOrphans() + 1);
+				sample(report.getOrphanIds(), ids[row]);
+			}
+		}
+
+		findCycles(parent);
+
+		// The first root in the file is the CEO unless the store already has one
+		int allowed = storedRoots() ? 0 : 1;
+		for (int i = allowed; i < roots.size(); i++) {
+			report.setExtraRoots(report.getExtraRoots() + 1);
+			sample(report.getExtraRootIds(), roots.get(i));
+		}
+		return report;
+	}
+
+	// Each row is walked once: a walk stops at a root, an external manager or a row finished earlier
+	private void findCycles(int[] parent) {
+		byte[] state = new byte[size];
+		int[] path = new int[size];
+		for (int start = 0; start < size; start++) {
+			int length = 0;
+			int row = start;
+			while (row != NONE && state[row] == 0) {
+				state[row] = 1;
+				path[length++] = row;
+				row = parent[row];
+			}
+			// Still marked as on this walk means the walk came back to itself
+			if (row != NONE && state[row] == 1) {
+				for (int i = length - 1; i >= 0; i--) {
+					report.setCycles(report.getCycles() + 1);
+					sample(report.getCycleIds(), ids[path[i]]);
+					if (path[i] == row) {
+						break;
+					}
+				}
+			}
+			for (int i = 0; i < length; i++) {
+				state[path[i]] = 2;
+			}
+		}
+	}
+
+	private Set<Integer> storedManagers(List<Integer> managerIds) {
+		Set<Integer> stored = new HashSet<>();
+		if (store == null) {
+			return stored;
+		}
+		List<Integer> distinct = new ArrayList<>(new HashSet<>(managerIds));
+		for (int from = 0; from < distinct.size(); from += LOOKUP_BATCH) {
+			for (Employee employee : store.getEmployees(distinct.subList(from, Math.min(distinct.size(), from + LOOKUP_BATCH)))) {
+				stored.add(employee.getEmployeeId());
+			}
+		}
+		return stored;
+	}
+
+	// Stored employees under the CEO marker that did not come from this file
+	private boolean storedRoots() {
+		if (store == null) {
+			return false;
+		}
+		for (Employee root : store.getSubordinates(Employee.builder().employeeId(ROOT).build())) {
+			if (rows.get(root.getEmployeeId()) == IntIntHashMap.MISSING) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void sample(List<Integer> ids, int id) {
+		if (ids.size() < SAMPLE_SIZE) {
+			ids.add(id);
+		}
+	}
+}
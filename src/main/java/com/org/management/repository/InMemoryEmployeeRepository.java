@@ -0,0 +1,351 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import com.org.management.model.Employee;
+
+/**
+ * In-memory employee store that is safe to share between request threads.
+ *
+ * Reads never lock: both maps are concurrent and every read works from what
+ * has already been published. Writes are serialized by a single lock so the
+ * existence checks and the multi-map update happen atomically. A new employee
+ * is added to its manager's report set before the employee itself becomes
+ * visible, and readers skip report ids that are not visible yet, so a reader
+ * can never observe a half-written manager/report relationship. A moved
+ * employee is briefly listed under both managers, so subordinate reads also
+ * skip reports that name a different manager.
+ *
+ * A staged load copies the published state, fills the copy and swaps it in
+ * with a single volatile write, so readers see either none or all of it.
+ */
+@Repository
+@ConditionalOnProperty(name = "management.repository.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEmployeeRepository implements EmployeeRepository {
+
+	// ReentrantLock rather than synchronized so waiting writers never pin a carrier thread
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	// Replaced as a whole when a staged load is published
+	private volatile State state = new State();
+
+	private volatile long version;
+
+	private static class State {
+
+		final ConcurrentHashMap<Integer, Employee> employeeMap;
+
+		// Ids in ascending order for cursor pagination
+		final ConcurrentSkipListSet<Integer> employeeIds;
+
+		// Reverse index of managerId -> direct report ids, kept in sync with employeeMap
+		final ConcurrentHashMap<Integer, Set<Integer>> subordinateMap;
+
+		State() {
+			employeeMap = new ConcurrentHashMap<>();
+			employeeIds = new ConcurrentSkipListSet<>();
+			subordinateMap = new ConcurrentHashMap<>();
+		}
+
+		State(State source) {
+			employeeMap = new ConcurrentHashMap<>(source.employeeMap);
+			employeeIds = new ConcurrentSkipListSet<>(source.employeeIds);
+			subordinateMap = new ConcurrentHashMap<>(source.subordinateMap.size());
+			for (Map.Entry<Integer, Set<Integer>> entry : source.subordinateMap.entrySet()) {
+				subordinateMap.put(entry.getKey(), new ConcurrentSkipListSet<>(entry.getValue()));
+			}
+		}
+
+		// Must be called while holding writeLock
+		boolean insert(Employee employee) {
+			if (employeeMap.containsKey(employee.getEmployeeId())) {
+				return false;
+			}
+			link(employee);
+			employeeIds.add(employee.getEmployeeId());
+			employeeMap.put(employee.getEmployeeId(), employee);
+			return true;
+		}
+
+		// Must be called while holding writeLock
+		boolean update(Employee employee) {
+			Employee old = employeeMap.get(employee.getEmployeeId());
+			if (old == null) {
+				return false;
+			}
+			// Listed under the new manager before the move is visible, and under the old one until after it
+			boolean moved = !Objects.equals(old.getManagerId(), employee.getManagerId());
+			if (moved) {
+				link(employee);
+			}
+			employeeMap.put(employee.getEmployeeId(), employee);
+			if (moved) {
+				unlink(old);
+			}
+			return true;
+		}
+
+		// Must be called while holding writeLock; the employee disappears before its id is unlinked
+		boolean remove(Integer employeeId) {
+			Employee old = employeeMap.remove(employeeId);
+			if (old == null) {
+				return false;
+			}
+			employeeIds.remove(employeeId);
+			unlink(old);
+			return true;
+		}
+
+		private void link(Employee employee) {
+			if (employee.getManagerId() != null) {
+				subordinateMap.computeIfAbsent(employee.getManagerId(), k -> new ConcurrentSkipListSet<>())
+						.add(employee.getEmployeeId());
+			}
+		}
+
+		private void unlink(Employee employee) {
+			if (employee.getManagerId() == null) {
+				return;
+			}
+			Set<Integer> reports = subordinateMap.get(employee.getManagerId());
+			if (reports != null) {
+				reports.remove(employee.getEmployeeId());
+			}
+		}
+	}
+
+	@Override
+	public boolean initialSave(Employee employee) {
+		writeLock.lock();
+		try {
+			// Save employee only if employeeId is unique.
+			return publish(employee);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int initialSaveAll(List<Employee> employees) {
+		writeLock.lock();
+		try {
+			int saved = 0;
+			for (Employee employee : employees) {
+				if (publish(employee)) {
+					saved++;
+				}
+			}
+			return saved;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int save(Employee employee) {
+		writeLock.lock();
+		try {
+			State current = state;
+			// Check if employee already exists
+			if (current.employeeMap.containsKey(employee.getEmployeeId())) {
+				return -1;
+			}
+			// Check if manager exists
+			if (employee.getManagerId() == null || !current.employeeMap.containsKey(employee.getManagerId())) {
+				return 0;
+			}
+			// Save employee
+			publish(employee);
+			return 1;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean update(Employee employee) {
+		writeLock.lock();
+		try {
+			if (!state.update(employee)) {
+				return false;
+			}
+			version++;
+			return true;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int removeAll(List<Integer> employeeIds) {
+		writeLock.lock();
+		try {
+			int removed = 0;
+			for (Integer employeeId : employeeIds) {
+				if (state.remove(employeeId)) {
+					removed++;
+				}
+			}
+			version += removed;
+			return removed;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public StagedLoad stage() {
+		writeLock.lock();
+		return new StagedLoad() {
+
+			private final State staged = new State(state);
+
+			private int count;
+
+			private boolean closed;
+
+			@Override
+			public List<Employee> saveAll(List<Employee> employees) {
+				List<Employee> saved = new ArrayList<>(employees.size());
+				for (Employee employee : employees) {
+					if (staged.insert(employee)) {
+						saved.add(employee);
+					}
+				}
+				count += saved.size();
+				return saved;
+			}
+
+			@Override
+			public boolean update(Employee employee) {
+				if (!staged.update(employee)) {
+					return false;
+				}
+				count++;
+				return true;
+			}
+
+			@Override
+			public boolean remove(Integer employeeId) {
+				if (!staged.remove(employeeId)) {
+					return false;
+				}
+				count++;
+				return true;
+			}
+
+			@Override
+			public long publish() {
+				state = staged;
+				version += count;
+				count = 0;
+				return version;
+			}
+
+			@Override
+			public void close() {
+				if (!closed) {
+					closed = true;
+					writeLock.unlock();
+				}
+			}
+		};
+	}
+
+	@Override
+	public List<Employee> getEmployees() {
+		return new ArrayList<>(state.employeeMap.values());
+	}
+
+	@Override
+	public List<Employee> getEmployees(Integer after, int limit) {
+		State current = state;
+		NavigableSet<Integer> ids = after == null ? current.employeeIds : current.employeeIds.tailSet(after, false);
+		List<Employee> employees = new ArrayList<>(Math.min(limit, 1024));
+		for (Integer id : ids) {
+			if (employees.size() == limit) {
+				break;
+			}
+			Employee employee = current.employeeMap.get(id);
+			if (employee != null) {
+				employees.add(employee);
+			}
+		}
+		return employees;
+	}
+
+	@Override
+	public Employee getEmployee(Integer employeeId) {
+		return state.employeeMap.get(employeeId);
+	}
+
+	@Override
+	public List<Employee> getEmployees(List<Integer> employeeIds) {
+		State current = state;
+		List<Employee> employees = new ArrayList<>(employeeIds.size());
+		for (Integer employeeId : employeeIds) {
+			Employee employee = employeeId == null ? null : current.employeeMap.get(employeeId);
+			if (employee != null) {
+				employees.add(employee);
+			}
+		}
+		return employees;
+	}
+
+	@Override
+	public Employee getManager(Employee employee) {
+		if (employee.getManagerId() == null) {
+			return null;
+		}
+		return state.employeeMap.get(employee.getManagerId());
+	}
+
+	@Override
+	public List<Employee> getSubordinates(Employee employee) {
+		State current = state;
+		Set<Integer> subordinateIds = current.subordinateMap.get(employee.getEmployeeId());
+		if (subordinateIds == null) {
+			return new ArrayList<>();
+		}
+
+		List<Employee> subordinates = new ArrayList<>(subordinateIds.size());
+		for (Integer subordinateId : subordinateIds) {
+			Employee subordinate = current.employeeMap.get(subordinateId);
+			// Skip reports whose write is still in flight, including moves to or from this manager
+			if (subordinate != null && employee.getEmployeeId().equals(subordinate.getManagerId())) {
+				subordinates.add(subordinate);
+			}
+		}
+		return subordinates;
+	}
+
+	@Override
+	public long count() {
+		return state.employeeMap.size();
+	}
+
+	// Must be called while holding writeLock
+	private boolean publish(Employee employee) {
+		if (!state.insert(employee)) {
+			return false;
+		}
+		version++;
+		return true;
+	}
+}
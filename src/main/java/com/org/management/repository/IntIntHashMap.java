@@ -0,0 +1,129 @@
+package com.org.management.repository;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int to int map with linear probing, used to map employee
+ * ids to column slots without boxing.
+ *
+ * Not thread-safe. The keys and values live in one table object that is
+ * replaced as a whole on resize, so a racing reader sees either the old or
+ * the new table but never a mix of the two; callers validate such reads.
+ */
+class IntIntHashMap {
+
+	static final int MISSING = -1;
+
+	private static final int FREE = Integer.MIN_VALUE;
+
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private static class Table {
+		final int[] keys;
+		final int[] values;
+
+		Table(int capacity) {
+			keys = new int[capacity];
+			values = new int[capacity];
+			Arrays.fill(keys, FREE);
+		}
+
+		Table(Table source) {
+			keys = source.keys.clone();
+			values = source.values.clone();
+		}
+	}
+
+	private Table table = new Table(16);
+
+	// Integer.MIN_VALUE doubles as the free marker, so its entry is kept aside
+	private int freeKeyValue = MISSING;
+
+	private int size;
+
+	IntIntHashMap() {
+	}
+
+	// Independent copy, for building a new version off to the side
+	IntIntHashMap(IntIntHashMap source) {
+		table = new Table(source.table);
+		freeKeyValue = source.freeKeyValue;
+		size = source.size;
+	}
+
+	int get(int key) {
+		if (key == FREE) {
+			return freeKeyValue;
+		}
+		Table current = table;
+		int mask = current.keys.length - 1;
+		for (int i = mix(key) & mask;; i = (i + 1) & mask) {
+			int k = current.keys[i];
+			if (k == key) {
+				return current.values[i];
+			}
+			if (k == FREE) {
+				return MISSING;
+			}
+		}
+	}
+
+	void put(int key, int value) {
+		if (key == FREE) {
+			if (freeKeyValue == MISSING) {
+				size++;
+			}
+			freeKeyValue = value;
+			return;
+		}
+		if (insert(table, key, value)) {
+			size++;
+			if (size > table.keys.length * LOAD_FACTOR) {
+				resize(table.keys.length * 2);
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	// Approximate retained size of the table, for memory reporting
+	long sizeInBytes() {
+		return 2L * 4 * table.keys.length;
+	}
+
+	private void resize(int capacity) {
+		Table current = table;
+		Table resized = new Table(capacity);
+		for (int i = 0; i < current.keys.length; i++) {
+			if (current.keys[i] != FREE) {
+				insert(resized, current.keys[i], current.values[i]);
+			}
+		}
+		table = resized;
+	}
+
+	// Returns true when the key was not present before
+	private static boolean insert(Table target, int key, int value) {
+		int mask = target.keys.length - 1;
+		for (int i = mix(key) & mask;; i = (i + 1) & mask) {
+			int k = target.keys[i];
+			if (k == key) {
+				target.values[i] = value;
+				return false;
+			}
+			if (k == FREE) {
+				// Write the value first so a racing reader never pairs the key with a stale value
+				target.values[i] = value;
+				target.keys[i] = key;
+				return true;
+			}
+		}
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+}
@@ -0,0 +1,35 @@
+package com.org.management.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The connection pool behind the jdbc store, built from the usual
+ * spring.datasource and spring.datasource.hikari properties, with embedded
+ * H2 when no url is set. DataSourceAutoConfiguration is excluded, so the
+ * memory and compact stores start no pool at all; the JdbcTemplate, the
+ * transaction manager and the pool's health and metrics are still
+ * auto-configured once this DataSource exists.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "management.repository.type", havingValue = "jdbc")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcDataSourceConfiguration {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource dataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		if (StringUtils.hasText(properties.getName())) {
+			dataSource.setPoolName(properties.getName());
+		}
+		return dataSource;
+	}
+}
@@ -0,0 +1,413 @@
+package com.org.management.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.org.management.model.Employee;
+
+/**
+ * Employee store backed by a relational database through the configured
+ * spring.datasource, for deployments that need the data outside the JVM.
+ *
+ * The employee table is created on first use with an index on manager_id,
+ * so subordinate lookups never scan. Both are looked up through the JDBC
+ * metadata first, since CREATE ... IF NOT EXISTS is not portable. Each
+ * initialSaveAll call runs as one transaction: ids already in the table are
+ * filtered out with a single IN query, and the rest go in as prepared
+ * multi-row inserts sent as a JDBC batch. Writes from this process are
+ * serialized so the existence checks in save stay atomic; the version only
+ * tracks writes made through it. A staged load keeps one transaction open
+ * across its batches and commits it on publish, so other connections see
+ * the whole load at once.
+ */
+@Repository
+@ConditionalOnProperty(name = "management.repository.type", havingValue = "jdbc")
+public class JdbcEmployeeRepository implements EmployeeRepository {
+
+	// Rows per INSERT statement and ids per IN list
+	static final int ROWS_PER_STATEMENT = 100;
+
+	private static final String COLUMNS = "employee_id, name, title, manager_id";
+
+	private static final String INSERT = "INSERT INTO employee (" + COLUMNS + ") VALUES ";
+
+	private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?)";
+
+	private static final RowMapper<Employee> EMPLOYEE_MAPPER = (rs, rowNum) -> Employee
+			.builder()
+			.employeeId(rs.getInt("employee_id"))
+			.name(rs.getString("name"))
+			.title(rs.getString("title"))
+			.managerId(rs.getObject("manager_id", Integer.class))
+			.build();
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final PlatformTransactionManager transactionManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	// Multi-row insert for a full chunk, built once
+	private final String fullChunkInsert = insertFor(ROWS_PER_STATEMENT);
+
+	private volatile long version;
+
+	public JdbcEmployeeRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionManager = transactionManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+			createSchema(connection);
+			return null;
+		});
+	}
+
+	@Override
+	public boolean initialSave(Employee employee) {
+		return initialSaveAll(List.of(employee)) == 1;
+	}
+
+	@Override
+	public int initialSaveAll(List<Employee> employees) {
+		if (employees.isEmpty()) {
+			return 0;
+		}
+		writeLock.lock();
+		try {
+			Integer saved = transactionTemplate.execute(status -> {
+				List<Employee> rows = newRows(employees);
+				insertAll(rows);
+				return rows.size();
+			});
+			version += saved;
+			return saved;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int save(Employee employee) {
+		writeLock.lock();
+		try {
+			// Check if employee already exists
+			if (exists(employee.getEmployeeId())) {
+				return -1;
+			}
+			// Check if manager exists
+			if (employee.getManagerId() == null || !exists(employee.getManagerId())) {
+				return 0;
+			}
+			try {
+				insertAll(List.of(employee));
+			} catch (DuplicateKeyException e) {
+				// Another process inserted it between the check and the insert
+				return -1;
+			}
+			version++;
+			return 1;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean update(Employee employee) {
+		writeLock.lock();
+		try {
+			int rows = jdbcTemplate.update("UPDATE employee SET name = ?, title = ?, manager_id = ? WHERE employee_id = ?",
+					employee.getName(), employee.getTitle(), employee.getManagerId(), employee.getEmployeeId());
+			version += rows;
+			return rows == 1;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public int removeAll(List<Integer> employeeIds) {
+		List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+		ids.remove(null);
+		if (ids.isEmpty()) {
+			return 0;
+		}
+		writeLock.lock();
+		try {
+			// One transaction, so other connections never see part of a removal
+			Integer removed = transactionTemplate.execute(status -> {
+				int rows = 0;
+				for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+					List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + ROWS_PER_STATEMENT));
+					rows += jdbcTemplate.update("DELETE FROM employee WHERE employee_id IN ("
+							+ placeholders(chunk.size()) + ")", chunk.toArray());
+				}
+				return rows;
+			});
+			version += removed;
+			return removed;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public long getVersion() {
+		return version;
+	}
+
+	@Override
+	public StagedLoad stage() {
+		writeLock.lock();
+		TransactionStatus transaction;
+		try {
+			transaction = transactionManager.getTransaction(new DefaultTransactionDefinition());
+		} catch (RuntimeException e) {
+			writeLock.unlock();
+			throw e;
+		}
+		return new StagedLoad() {
+
+			private int count;
+
+			private boolean closed;
+
+			@Override
+			public List<Employee> saveAll(List<Employee> employees) {
+				// Runs on the transaction bound to this thread, so staged rows count as existing
+				List<Employee> rows = newRows(employees);
+				insertAll(rows);
+				count += rows.size();
+				return rows;
+			}
+
+			@Override
+			public boolean update(Employee employee) {
+				int rows = jdbcTemplate.update("UPDATE employee SET name = ?, title = ?, manager_id = ? WHERE employee_id = ?",
+						employee.getName(), employee.getTitle(), employee.getManagerId(), employee.getEmployeeId());
+				count += rows;
+				return rows == 1;
+			}
+
+			@Override
+			public boolean remove(Integer employeeId) {
+				int rows = jdbcTemplate.update("DELETE FROM employee WHERE employee_id = ?", employeeId);
+				count += rows;
+				return rows == 1;
+			}
+
+			@Override
+			public long publish() {
+				transactionManager.commit(transaction);
+				version += count;
+				count = 0;
+				return version;
+			}
+
+			@Override
+			public void close() {
+				if (closed) {
+					return;
+				}
+				closed = true;
+				try {
+					if (!transaction.isCompleted()) {
+						transactionManager.rollback(transaction);
+					}
+				} finally {
+					writeLock.unlock();
+				}
+			}
+		};
+	}
+
+	@Override
+	public List<Employee> getEmployees() {
+		return jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee ORDER BY employee_id", EMPLOYEE_MAPPER);
+	}
+
+	@Override
+	public List<Employee> getEmployees(Integer after, int limit) {
+		if (after == null) {
+			return jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee ORDER BY employee_id LIMIT ?",
+					EMPLOYEE_MAPPER, limit);
+		}
+		return jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee WHERE employee_id > ? ORDER BY employee_id LIMIT ?",
+				EMPLOYEE_MAPPER, after, limit);
+	}
+
+	@Override
+	public Employee getEmployee(Integer employeeId) {
+		if (employeeId == null) {
+			return null;
+		}
+		List<Employee> employees = jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee WHERE employee_id = ?",
+				EMPLOYEE_MAPPER, employeeId);
+		return employees.isEmpty() ? null : employees.get(0);
+	}
+
+	@Override
+	public List<Employee> getEmployees(List<Integer> employeeIds) {
+		// One IN query per chunk of ids, then back into the order asked for
+		List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(employeeIds));
+		ids.remove(null);
+		Map<Integer, Employee> found = new HashMap<>();
+		for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+			List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + ROWS_PER_STATEMENT));
+			for (Employee employee : jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee WHERE employee_id IN ("
+					+ placeholders(chunk.size()) + ")", EMPLOYEE_MAPPER, chunk.toArray())) {
+				found.put(employee.getEmployeeId(), employee);
+			}
+		}
+
+		List<Employee> employees = new ArrayList<>(employeeIds.size());
+		for (Integer employeeId : employeeIds) {
+			Employee employee = employeeId == null ? null : found.get(employeeId);
+			if (employee != null) {
+				employees.add(employee);
+			}
+		}
+		return employees;
+	}
+
+	@Override
+	public Employee getManager(Employee employee) {
+		return getEmployee(employee.getManagerId());
+	}
+
+	@Override
+	public List<Employee> getSubordinates(Employee employee) {
+		return jdbcTemplate.query("SELECT " + COLUMNS + " FROM employee WHERE manager_id = ? ORDER BY employee_id",
+				EMPLOYEE_MAPPER, employee.getEmployeeId());
+	}
+
+	@Override
+	public long count() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Long.class);
+	}
+
+	private static void createSchema(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		// Unquoted names are folded to the database's case before they are stored
+		String table = metaData.storesUpperCaseIdentifiers() ? "EMPLOYEE" : "employee";
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet tables = metaData.getTables(connection.getCatalog(), connection.getSchema(), table,
+					new String[] { "TABLE" })) {
+				if (!tables.next()) {
+					statement.execute("CREATE TABLE employee ("
+							+ "employee_id INT PRIMARY KEY, "
+							+ "name VARCHAR(1024), "
+							+ "title VARCHAR(1024), "
+							+ "manager_id INT)");
+				}
+			}
+			// Any index led by manager_id will do, whatever it is called
+			try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table,
+					false, false)) {
+				while (indexes.next()) {
+					if (indexes.getShort("ORDINAL_POSITION") == 1
+							&& "manager_id".equalsIgnoreCase(indexes.getString("COLUMN_NAME"))) {
+						return;
+					}
+				}
+			}
+			statement.execute("CREATE INDEX idx_employee_manager ON employee (manager_id)");
+		}
+	}
+
+	private boolean exists(int employeeId) {
+		return !jdbcTemplate.queryForList("SELECT 1 FROM employee WHERE employee_id = ?", Integer.class, employeeId)
+				.isEmpty();
+	}
+
+	// First copy of each id in the batch that is not in the table yet, in batch order
+	private List<Employee> newRows(List<Employee> employees) {
+		Map<Integer, Employee> unique = new LinkedHashMap<>();
+		for (Employee employee : employees) {
+			unique.putIfAbsent(employee.getEmployeeId(), employee);
+		}
+
+		List<Integer> ids = new ArrayList<>(unique.keySet());
+		Set<Integer> existing = new HashSet<>();
+		for (int from = 0; from < ids.size(); from += ROWS_PER_STATEMENT) {
+			List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + ROWS_PER_STATEMENT));
+			existing.addAll(jdbcTemplate.queryForList("SELECT employee_id FROM employee WHERE employee_id IN ("
+					+ placeholders(chunk.size()) + ")", Integer.class, chunk.toArray()));
+		}
+
+		List<Employee> rows = new ArrayList<>(unique.size() - existing.size());
+		for (Employee employee : unique.values()) {
+			if (!existing.contains(employee.getEmployeeId())) {
+				rows.add(employee);
+			}
+		}
+		return rows;
+	}
+
+	// Full chunks share one prepared statement sent as a JDBC batch; the remainder gets its own
+	private void insertAll(List<Employee> rows) {
+		int fullChunks = rows.size() / ROWS_PER_STATEMENT;
+		if (fullChunks > 0) {
+			jdbcTemplate.execute(fullChunkInsert, (PreparedStatement statement) -> {
+				for (int chunk = 0; chunk < fullChunks; chunk++) {
+					bind(statement, rows.subList(chunk * ROWS_PER_STATEMENT, (chunk + 1) * ROWS_PER_STATEMENT));
+					statement.addBatch();
+				}
+				return statement.executeBatch();
+			});
+		}
+		List<Employee> remainder = rows.subList(fullChunks * ROWS_PER_STATEMENT, rows.size());
+		if (!remainder.isEmpty()) {
+			jdbcTemplate.update(insertFor(remainder.size()), statement -> bind(statement, remainder));
+		}
+	}
+
+	private static void bind(PreparedStatement statement, List<Employee> rows) throws SQLException {
+		int parameter = 1;
+		for (Employee employee : rows) {
+			statement.setInt(parameter++, employee.getEmployeeId());
+			statement.setString(parameter++, employee.getName());
+			statement.setString(parameter++, employee.getTitle());
+			if (employee.getManagerId() == null) {
+				statement.setNull(parameter++, Types.INTEGER);
+			} else {
+				statement.setInt(parameter++, employee.getManagerId());
+			}
+		}
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+
+	private static String insertFor(int rows) {
+		return INSERT + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDERS));
+	}
+}
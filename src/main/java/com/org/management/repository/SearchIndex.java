@@ -0,0 +1,487 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+import com.org.management.model.Employee;
+
+/**
+ * Case-insensitive prefix search over employee names and titles.
+ *
+ * Every word of a lowercased name or title is one entry, packed as
+ * slot << 32 | offset and sorted by the text from that offset on. So "smi"
+ * finds "Jane Smith", and so does "jane sm". Each lookup is a binary search
+ * followed by a scan.
+ *
+ * Writes land in a small sorted pending run, which is merged into the main
+ * run in one linear pass once it grows past a 64th of it. A changed
+ * employee moves to a new slot, and the old slot stays dead until that
+ * merge drops it. Titles repeat across the org, so each distinct lowercased
+ * title is stored once. Matches come back as ids, for the caller to resolve
+ * through the store.
+ */
+public class SearchIndex {
+
+	private static final int NONE = -1;
+
+	private static final int MIN_PENDING = 1024;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final Map<String, String> titlePool = new HashMap<>();
+
+	private IntIntHashMap slots;
+
+	// Indexed by slot; a dead slot keeps its text so the runs stay sorted until the next merge
+	private int[] ids;
+	private String[] names;
+	private String[] titles;
+
+	private BitSet deadSlots;
+
+	private int size;
+
+	private int dead;
+
+	private Field nameField;
+
+	private Field titleField;
+
+	private long version;
+
+	private SearchIndex(long version, Collection<Employee> source) {
+		this.version = version;
+		reset(source);
+	}
+
+	public static SearchIndex build(long version, Collection<Employee> employees) {
+		return new SearchIndex(version, employees);
+	}
+
+	public long getVersion() {
+		lock.readLock().lock();
+		try {
+			return version;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Applies changed, new and removed employees as one step to the given version
+	public void apply(List<Employee> changed, List<Employee> inserted, List<Integer> removed, long newVersion) {
+		lock.writeLock().lock();
+		try {
+			for (Employee employee : changed) {
+				int slot = live(employee.getEmployeeId());
+				// A move keeps the name and title, so its entries stay where they are
+				if (slot != NONE && names[slot].equals(lower(employee.getName()))
+						&& titles[slot] == pooled(employee.getTitle())) {
+					continue;
+				}
+				kill(slot);
+				add(employee);
+			}
+			for (Employee employee : inserted) {
+				kill(live(employee.getEmployeeId()));
+				add(employee);
+			}
+			for (Integer employeeId : removed) {
+				kill(live(employeeId));
+			}
+			if (nameField.isFull() || titleField.isFull() || dead > size / 4) {
+				compact();
+			}
+			version = newVersion;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ids of the employees whose name and title each have a word starting
+	 * with the given prefix, skipping the first offset matches and returning
+	 * at most limit. Either prefix may be null. Matches come in order of the
+	 * matched name, or of the title when no name is given; filter, when set,
+	 * drops the ids it rejects before they are counted.
+	 */
+	public List<Integer> search(String name, String title, IntPredicate filter, int offset, int limit) {
+		String namePrefix = normalize(name);
+		String titlePrefix = normalize(title);
+		List<Integer> matches = new ArrayList<>(Math.min(limit, 64));
+		lock.readLock().lock();
+		try {
+			int[] skip = { offset };
+			IntPredicate visitor = slot -> {
+				if (namePrefix != null && titlePrefix != null && firstMatch(titles[slot], titlePrefix) == NONE) {
+					return true;
+				}
+				if (filter != null && !filter.test(ids[slot])) {
+					return true;
+				}
+				if (skip[0] > 0) {
+					skip[0]--;
+					return true;
+				}
+				matches.add(ids[slot]);
+				return matches.size() < limit;
+			};
+			if (namePrefix != null) {
+				nameField.scan(namePrefix, visitor);
+			} else if (titlePrefix != null) {
+				titleField.scan(titlePrefix, visitor);
+			}
+			return matches;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void reset(Collection<Employee> source) {
+		int capacity = Math.max(16, source.size());
+		slots = new IntIntHashMap();
+		ids = new int[capacity];
+		names = new String[capacity];
+		titles = new String[capacity];
+		deadSlots = new BitSet(capacity);
+		size = 0;
+		dead = 0;
+		titlePool.clear();
+		for (Employee employee : source) {
+			place(employee);
+		}
+		nameField = new Field(false);
+		titleField = new Field(true);
+	}
+
+	// Merges the pending runs and drops dead slots, renumbering the rest in order so the runs stay sorted
+	private void compact() {
+		int[] renumbered = new int[size];
+		int live = 0;
+		for (int s = 0; s < size; s++) {
+			renumbered[s] = deadSlots.get(s) ? NONE : live++;
+		}
+		nameField.merge(renumbered);
+		titleField.merge(renumbered);
+		slots = new IntIntHashMap();
+		for (int s = 0; s < size; s++) {
+			int slot = renumbered[s];
+			if (slot != NONE) {
+				ids[slot] = ids[s];
+				names[slot] = names[s];
+				titles[slot] = titles[s];
+				slots.put(ids[slot], slot);
+			}
+		}
+		Arrays.fill(names, live, size, null);
+		Arrays.fill(titles, live, size, null);
+		deadSlots.clear();
+		size = live;
+		dead = 0;
+	}
+
+	private int place(Employee employee) {
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, size * 2);
+			names = Arrays.copyOf(names, size * 2);
+			titles = Arrays.copyOf(titles, size * 2);
+		}
+		int slot = size++;
+		ids[slot] = employee.getEmployeeId();
+		names[slot] = lower(employee.getName());
+		titles[slot] = pooled(employee.getTitle());
+		slots.put(employee.getEmployeeId(), slot);
+		return slot;
+	}
+
+	private void add(Employee employee) {
+		int slot = place(employee);
+		nameField.add(slot);
+		titleField.add(slot);
+	}
+
+	private void kill(int slot) {
+		if (slot != NONE) {
+			deadSlots.set(slot);
+			dead++;
+		}
+	}
+
+	private int live(Integer employeeId) {
+		int slot = employeeId == null ? IntIntHashMap.MISSING : slots.get(employeeId);
+		return slot == IntIntHashMap.MISSING || deadSlots.get(slot) ? NONE : slot;
+	}
+
+	private String pooled(String title) {
+		return titlePool.computeIfAbsent(lower(title), t -> t);
+	}
+
+	private static String lower(String text) {
+		return text == null ? "" : text.toLowerCase(Locale.ROOT);
+	}
+
+	private static String normalize(String prefix) {
+		if (prefix == null || prefix.isBlank()) {
+			return null;
+		}
+		return prefix.strip().toLowerCase(Locale.ROOT);
+	}
+
+	private static boolean isWordStart(String text, int i) {
+		return Character.isLetterOrDigit(text.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)));
+	}
+
+	// Offset of the first word in text that starts with prefix, or NONE
+	private static int firstMatch(String text, String prefix) {
+		for (int i = 0; i < text.length(); i++) {
+			if (isWordStart(text, i) && text.startsWith(prefix, i)) {
+				return i;
+			}
+		}
+		return NONE;
+	}
+
+	// Up to eight characters from offset, a byte each, so unsigned order agrees with text order;
+	// the first character from 0xff up ends the key as 0xff followed by zeros, since the characters
+	// after it cannot be ordered by their bytes, and equal values fall back to comparing the text
+	private static long leading(String text, int offset) {
+		long leading = 0;
+		boolean clamped = false;
+		for (int k = 0; k < 8; k++) {
+			int c = clamped || offset + k >= text.length() ? 0 : text.charAt(offset + k);
+			if (c >= 0xff) {
+				c = 0xff;
+				clamped = true;
+			}
+			leading = leading << 8 | c;
+		}
+		return leading;
+	}
+
+	private static int slot(long entry) {
+		return (int) (entry >>> 32);
+	}
+
+	private static int offset(long entry) {
+		return (int) entry;
+	}
+
+	/**
+	 * The sorted word entries of one text column: a main run built in bulk
+	 * and a pending run that single writes are inserted into.
+	 */
+	private class Field {
+		private final boolean forTitles;
+
+		private long[] sorted;
+
+		private long[] pending = new long[16];
+
+		private int pendingSize;
+
+		private Field(boolean forTitles) {
+			this.forTitles = forTitles;
+			int count = 0;
+			for (int s = 0; s < size; s++) {
+				String text = text(s);
+				for (int i = 0; i < text.length(); i++) {
+					if (isWordStart(text, i)) {
+						count++;
+					}
+				}
+			}
+			// The first characters of each entry sit next to it, so most comparisons never touch the text
+			long[] leading = new long[count];
+			sorted = new long[count];
+			int e = 0;
+			for (int s = 0; s < size; s++) {
+				String text = text(s);
+				for (int i = 0; i < text.length(); i++) {
+					if (isWordStart(text, i)) {
+						leading[e] = leading(text, i);
+						sorted[e++] = (long) s << 32 | i;
+					}
+				}
+			}
+			sort(leading, sorted, 0, count);
+		}
+
+		// Quicksort over both arrays at once, since the JDK has no primitive sort with a comparator
+		private void sort(long[] leading, long[] entries, int from, int to) {
+			while (to - from > 16) {
+				int mid = (from + to) >>> 1;
+				long pivotLeading = leading[mid];
+				long pivot = entries[mid];
+				int i = from;
+				int j = to - 1;
+				while (i <= j) {
+					while (order(leading[i], entries[i], pivotLeading, pivot) < 0) {
+						i++;
+					}
+					while (order(leading[j], entries[j], pivotLeading, pivot) > 0) {
+						j--;
+					}
+					if (i <= j) {
+						long swap = leading[i];
+						leading[i] = leading[j];
+						leading[j] = swap;
+						swap = entries[i];
+						entries[i++] = entries[j];
+						entries[j--] = swap;
+					}
+				}
+				// Recurse into the smaller side and loop on the larger, so the stack stays O(log n)
+				if (j - from < to - i) {
+					sort(leading, entries, from, j + 1);
+					from = i;
+				} else {
+					sort(leading, entries, i, to);
+					to = j + 1;
+				}
+			}
+			for (int i = from + 1; i < to; i++) {
+				long insertLeading = leading[i];
+				long insert = entries[i];
+				int j = i - 1;
+				for (; j >= from && order(leading[j], entries[j], insertLeading, insert) > 0; j--) {
+					leading[j + 1] = leading[j];
+					entries[j + 1] = entries[j];
+				}
+				leading[j + 1] = insertLeading;
+				entries[j + 1] = insert;
+			}
+		}
+
+		private int order(long leadingA, long a, long leadingB, long b) {
+			return leadingA != leadingB ? Long.compareUnsigned(leadingA, leadingB) : compare(a, b);
+		}
+
+		private boolean isFull() {
+			return pendingSize > Math.max(MIN_PENDING, sorted.length / 64);
+		}
+
+		// One linear merge of both runs, keeping live entries under their renumbered slots
+		private void merge(int[] renumbered) {
+			long[] merged = new long[sorted.length + pendingSize];
+			int count = 0;
+			int i = 0;
+			int j = 0;
+			while (i < sorted.length || j < pendingSize) {
+				long entry = j == pendingSize || (i < sorted.length && compare(sorted[i], pending[j]) <= 0)
+						? sorted[i++] : pending[j++];
+				int slot = renumbered[slot(entry)];
+				if (slot != NONE) {
+					merged[count++] = (long) slot << 32 | offset(entry);
+				}
+			}
+			sorted = Arrays.copyOf(merged, count);
+			pendingSize = 0;
+		}
+
+		private void add(int slot) {
+			String text = text(slot);
+			for (int i = 0; i < text.length(); i++) {
+				if (!isWordStart(text, i)) {
+					continue;
+				}
+				long entry = (long) slot << 32 | i;
+				if (pendingSize == pending.length) {
+					pending = Arrays.copyOf(pending, pendingSize * 2);
+				}
+				int low = 0;
+				int high = pendingSize;
+				while (low < high) {
+					int mid = (low + high) >>> 1;
+					if (compare(pending[mid], entry) < 0) {
+						low = mid + 1;
+					} else {
+						high = mid;
+					}
+				}
+				int at = low;
+				System.arraycopy(pending, at, pending, at + 1, pendingSize - at);
+				pending[at] = entry;
+				pendingSize++;
+			}
+		}
+
+		// Feeds each live employee with a word starting with prefix to visitor once, in text order, until it returns false
+		private void scan(String prefix, IntPredicate visitor) {
+			int i = lowerBound(sorted, sorted.length, prefix);
+			int j = lowerBound(pending, pendingSize, prefix);
+			while (true) {
+				boolean inSorted = i < sorted.length && comparePrefix(sorted[i], prefix) == 0;
+				boolean inPending = j < pendingSize && comparePrefix(pending[j], prefix) == 0;
+				if (!inSorted && !inPending) {
+					return;
+				}
+				long entry = inSorted && (!inPending || compare(sorted[i], pending[j]) <= 0) ? sorted[i++] : pending[j++];
+				int slot = slot(entry);
+				// Only the first matching word of an employee counts, so no one is returned twice
+				if (!deadSlots.get(slot) && firstMatch(text(slot), prefix) == offset(entry)
+						&& !visitor.test(slot)) {
+					return;
+				}
+			}
+		}
+
+		private int lowerBound(long[] run, int length, String prefix) {
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (comparePrefix(run[mid], prefix) < 0) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		private String text(int slot) {
+			return forTitles ? titles[slot] : names[slot];
+		}
+
+		// Text order from each entry's offset; ties go to the older slot
+		private int compare(long a, long b) {
+			String x = text(slot(a));
+			String y = text(slot(b));
+			int i = offset(a);
+			int j = offset(b);
+			// Pooled titles make equal text the same string, which is common enough to skip the walk
+			if (x == y && i == j) {
+				return Long.compare(a, b);
+			}
+			while (i < x.length() && j < y.length()) {
+				int c = x.charAt(i++) - y.charAt(j++);
+				if (c != 0) {
+					return c;
+				}
+			}
+			int c = (x.length() - i) - (y.length() - j);
+			return c != 0 ? c : Long.compare(a, b);
+		}
+
+		// Zero when the entry's text starts with prefix, otherwise which side of the prefix range it sorts on
+		private int comparePrefix(long entry, String prefix) {
+			String text = text(slot(entry));
+			int offset = offset(entry);
+			int n = Math.min(text.length() - offset, prefix.length());
+			for (int k = 0; k < n; k++) {
+				int c = text.charAt(offset + k) - prefix.charAt(k);
+				if (c != 0) {
+					return c;
+				}
+			}
+			return text.length() - offset < prefix.length() ? -1 : 0;
+		}
+	}
+}
@@ -0,0 +1,512 @@
+package com.org.management.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.org.management.model.Employee;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.OrgSummary;
+
+/**
+ * Headcount, depth and span of control for every subtree, plus org-wide
+ * totals, each kept ready so a read is O(1).
+ *
+ * The build is one bottom-up pass. After that, a new employee only changes
+ * the counts along its manager chain, so addLeaf costs O(depth). A move
+ * takes the subtree's size off the old manager chain, adds it to the new
+ * one and relabels levels inside the moved subtree. A removal lifts all of
+ * the employee's reports to the top at once, as the store keeps them, and
+ * then takes the employee off its manager chain. Each manager counts the
+ * reports whose branch reaches its depth, so losing a branch only rescans
+ * a manager's reports once no other branch is as deep. Employees caught in
+ * a manager cycle, and anyone below them, are not indexed.
+ */
+public class StatsIndex {
+
+	private static final int NONE = -1;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private final IntIntHashMap slots = new IntIntHashMap();
+
+	// Top-level slots by the manager id they name but that is not stored, so they can be attached once it is
+	private final Map<Integer, List<Integer>> waiting = new HashMap<>();
+
+	// Indexed by slot; children as a doubly linked list so a move can unlink in O(1)
+	private int[] parent;
+	private int[] firstChild;
+	private int[] nextSibling;
+	private int[] previousSibling;
+	private int[] level;
+	private int[] depth;
+	// Direct reports whose branch reaches the slot's depth
+	private int[] deepest;
+	private int[] headcount;
+	private int[] span;
+
+	// Employees per level and per span, so the org-wide maxima only step down when their count empties
+	private int[] levelCount;
+	private int[] spanCount;
+
+	private int size;
+
+	private int employees;
+
+	private int managers;
+
+	private int roots;
+
+	private int maxLevel;
+
+	private int maxSpan;
+
+	private long version;
+
+	private StatsIndex(long version, Collection<Employee> source) {
+		this.version = version;
+		int n = source.size();
+		allocate(Math.max(16, n));
+
+		for (Employee employee : source) {
+			slots.put(employee.getEmployeeId(), size++);
+		}
+		int s = 0;
+		for (Employee employee : source) {
+			int manager = managerSlot(employee);
+			if (manager == NONE) {
+				wait(s, employee.getManagerId());
+			} else {
+				link(s, manager);
+			}
+			s++;
+		}
+
+		// Breadth-first from the top, so the queue holds every manager before its reports
+		int[] queue = new int[n];
+		int tail = 0;
+		for (s = 0; s < n; s++) {
+			if (parent[s] == NONE) {
+				level[s] = 0;
+				queue[tail++] = s;
+			}
+		}
+		roots = tail;
+		for (int head = 0; head < tail; head++) {
+			for (int child = firstChild[queue[head]]; child != NONE; child = nextSibling[child]) {
+				level[child] = level[queue[head]] + 1;
+				queue[tail++] = child;
+			}
+		}
+
+		// Reversed, it visits every report before its manager
+		for (int t = tail - 1; t >= 0; t--) {
+			int slot = queue[t];
+			int manager = parent[slot];
+			if (manager != NONE) {
+				span[manager]++;
+				headcount[manager] += headcount[slot] + 1;
+				deepen(manager, depth[slot] + 1);
+			}
+			levelCount[level[slot]]++;
+			spanCount[span[slot]]++;
+			maxLevel = Math.max(maxLevel, level[slot]);
+			maxSpan = Math.max(maxSpan, span[slot]);
+			if (span[slot] > 0) {
+				managers++;
+			}
+		}
+		employees = tail;
+	}
+
+	public static StatsIndex build(long version, Collection<Employee> employees) {
+		return new StatsIndex(version, employees);
+	}
+
+	public long getVersion() {
+		lock.readLock().lock();
+		try {
+			return version;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Adds a newly saved employee and moves to the given version; false leaves the index stale for a rebuild
+	public boolean addLeaf(Employee employee, long newVersion) {
+		return apply(List.of(employee), List.of(), List.of(), newVersion);
+	}
+
+	/**
+	 * Adds new employees, each after its manager, gives existing ones their
+	 * new manager and then removes the removed ones, as one step to the given
+	 * version. Returns false when a change reaches an employee outside the
+	 * numbering or closes a cycle; the index then keeps an unusable version
+	 * so the next read rebuilds it.
+	 */
+	public boolean apply(List<Employee> leaves, List<Employee> moved, List<Integer> removed, long newVersion) {
+		lock.writeLock().lock();
+		try {
+			for (Employee employee : leaves) {
+				if (!append(employee)) {
+					version = NONE;
+					return false;
+				}
+			}
+			for (Employee employee : moved) {
+				if (!move(employee)) {
+					version = NONE;
+					return false;
+				}
+			}
+			for (Integer employeeId : removed) {
+				if (!remove(employeeId)) {
+					version = NONE;
+					return false;
+				}
+			}
+			version = newVersion;
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Null when the employee is not stored or sits in a manager cycle
+	public EmployeeStats getStats(Integer employeeId) {
+		lock.readLock().lock();
+		try {
+			int slot = indexed(employeeId);
+			if (slot == NONE) {
+				return null;
+			}
+			return EmployeeStats
+					.builder()
+					.employeeId(employeeId)
+					.level(level[slot])
+					.directReports(span[slot])
+					.headcount(headcount[slot])
+					.depth(depth[slot])
+					.build();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public OrgSummary getSummary() {
+		lock.readLock().lock();
+		try {
+			return OrgSummary
+					.builder()
+					.employees(employees)
+					.managers(managers)
+					.depth(maxLevel)
+					.maxSpan(maxSpan)
+					.averageSpan(managers == 0 ? 0 : (double) (employees - roots) / managers)
+					.build();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private boolean append(Employee employee) {
+		int manager = managerSlot(employee);
+		if (manager != NONE && level[manager] == NONE) {
+			return false;
+		}
+		if (size == parent.length) {
+			grow(parent.length * 2);
+		}
+		int slot = size++;
+		slots.put(employee.getEmployeeId(), slot);
+
+		// Joins at the top, then is attached like any other move
+		level[slot] = 0;
+		levelCount[0]++;
+		spanCount[0]++;
+		employees++;
+		roots++;
+		if (manager == NONE) {
+			wait(slot, employee.getManagerId());
+		} else {
+			attach(slot, manager);
+		}
+
+		// Employees that named this one as their manager before it was stored now report to it
+		List<Integer> reports = waiting.remove(employee.getEmployeeId());
+		if (reports != null) {
+			for (int report : reports) {
+				if (isWithin(slot, report)) {
+					return false;
+				}
+				attach(report, slot);
+			}
+		}
+		return true;
+	}
+
+	private boolean move(Employee employee) {
+		int slot = indexed(employee.getEmployeeId());
+		int manager = managerSlot(employee);
+		if (slot == NONE || (manager != NONE && (level[manager] == NONE || isWithin(manager, slot)))) {
+			return false;
+		}
+		if (parent[slot] == NONE) {
+			unwait(slot);
+		} else {
+			detach(slot);
+		}
+		if (manager == NONE) {
+			wait(slot, employee.getManagerId());
+		} else {
+			attach(slot, manager);
+		}
+		return true;
+	}
+
+	private boolean remove(Integer employeeId) {
+		int slot = indexed(employeeId);
+		if (slot == NONE) {
+			return false;
+		}
+		// Reports lift to the top together and wait for the removed id; the slot's own counts still
+		// cover them, so detaching it below takes them off its manager chain in the same pass
+		for (int report = firstChild[slot], next; report != NONE; report = next) {
+			next = nextSibling[report];
+			parent[report] = NONE;
+			nextSibling[report] = NONE;
+			previousSibling[report] = NONE;
+			roots++;
+			relevel(report, 0);
+			wait(report, employeeId);
+		}
+		firstChild[slot] = NONE;
+		addSpan(slot, -span[slot]);
+		if (parent[slot] == NONE) {
+			unwait(slot);
+		} else {
+			detach(slot);
+		}
+		headcount[slot] = 0;
+		depth[slot] = 0;
+		deepest[slot] = 0;
+		levelCount[0]--;
+		spanCount[0]--;
+		employees--;
+		roots--;
+		level[slot] = NONE;
+		// The id reads as not stored, so an employee naming it waits for it again
+		slots.put(employeeId, IntIntHashMap.MISSING);
+		return true;
+	}
+
+	// Hangs a top-level slot and its subtree under manager
+	private void attach(int slot, int manager) {
+		link(slot, manager);
+		roots--;
+		addSpan(manager, 1);
+		for (int a = manager; a != NONE; a = parent[a]) {
+			headcount[a] += headcount[slot] + 1;
+		}
+		// Depth can only grow, and stops changing at the first manager already as deep
+		int d = depth[slot] + 1;
+		for (int a = manager; a != NONE && deepen(a, d); a = parent[a]) {
+			d++;
+		}
+		relevel(slot, level[manager] + 1);
+	}
+
+	// Cuts a slot and its subtree loose from its manager, leaving it at the top
+	private void detach(int slot) {
+		int manager = parent[slot];
+		unlink(slot);
+		roots++;
+		addSpan(manager, -1);
+		for (int a = manager; a != NONE; a = parent[a]) {
+			headcount[a] -= headcount[slot] + 1;
+		}
+		// Depth can only shrink, and stops changing at the first manager with another branch as deep
+		for (int a = manager, d = depth[slot] + 1; a != NONE && d == depth[a] && --deepest[a] == 0; a = parent[a]) {
+			d = depth[a] + 1;
+			redepth(a);
+		}
+		relevel(slot, 0);
+	}
+
+	// Counts a report whose branch reaches d below slot; true when that made the slot deeper
+	private boolean deepen(int slot, int d) {
+		if (d > depth[slot]) {
+			depth[slot] = d;
+			deepest[slot] = 1;
+			return true;
+		}
+		if (d == depth[slot]) {
+			deepest[slot]++;
+		}
+		return false;
+	}
+
+	// Recomputes depth from the reports, once none of them reaches the old depth any more
+	private void redepth(int slot) {
+		depth[slot] = 0;
+		deepest[slot] = 0;
+		for (int child = firstChild[slot]; child != NONE; child = nextSibling[child]) {
+			deepen(slot, depth[child] + 1);
+		}
+	}
+
+	// Shifts the level of every slot in the subtree; walks the sibling links so it allocates nothing
+	private void relevel(int slot, int newLevel) {
+		int shift = newLevel - level[slot];
+		if (shift == 0) {
+			return;
+		}
+		int current = slot;
+		while (true) {
+			levelCount[level[current]]--;
+			level[current] += shift;
+			levelCount[level[current]]++;
+			maxLevel = Math.max(maxLevel, level[current]);
+			if (firstChild[current] != NONE) {
+				current = firstChild[current];
+				continue;
+			}
+			while (current != slot && nextSibling[current] == NONE) {
+				current = parent[current];
+			}
+			if (current == slot) {
+				break;
+			}
+			current = nextSibling[current];
+		}
+		while (maxLevel > 0 && levelCount[maxLevel] == 0) {
+			maxLevel--;
+		}
+	}
+
+	private void addSpan(int slot, int change) {
+		spanCount[span[slot]]--;
+		if (span[slot] == 0) {
+			managers++;
+		}
+		span[slot] += change;
+		if (span[slot] == 0) {
+			managers--;
+		}
+		spanCount[span[slot]]++;
+		maxSpan = Math.max(maxSpan, span[slot]);
+		while (maxSpan > 0 && spanCount[maxSpan] == 0) {
+			maxSpan--;
+		}
+	}
+
+	// True when slot is top or sits anywhere under it
+	private boolean isWithin(int slot, int top) {
+		for (int a = slot; a != NONE; a = parent[a]) {
+			if (a == top) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void link(int slot, int manager) {
+		parent[slot] = manager;
+		previousSibling[slot] = NONE;
+		nextSibling[slot] = firstChild[manager];
+		if (firstChild[manager] != NONE) {
+			previousSibling[firstChild[manager]] = slot;
+		}
+		firstChild[manager] = slot;
+	}
+
+	private void unlink(int slot) {
+		if (previousSibling[slot] == NONE) {
+			firstChild[parent[slot]] = nextSibling[slot];
+		} else {
+			nextSibling[previousSibling[slot]] = nextSibling[slot];
+		}
+		if (nextSibling[slot] != NONE) {
+			previousSibling[nextSibling[slot]] = previousSibling[slot];
+		}
+		parent[slot] = NONE;
+		nextSibling[slot] = NONE;
+		previousSibling[slot] = NONE;
+	}
+
+	private void wait(int slot, Integer managerId) {
+		if (managerId != null) {
+			waiting.computeIfAbsent(managerId, k -> new ArrayList<>()).add(slot);
+		}
+	}
+
+	// Top-level slots only move when their manager changes, which is rare enough to scan for
+	private void unwait(int slot) {
+		Iterator<List<Integer>> lists = waiting.values().iterator();
+		while (lists.hasNext()) {
+			List<Integer> slotList = lists.next();
+			if (slotList.remove((Integer) slot) && slotList.isEmpty()) {
+				lists.remove();
+			}
+		}
+	}
+
+	private int managerSlot(Employee employee) {
+		Integer managerId = employee.getManagerId();
+		int slot = managerId == null ? IntIntHashMap.MISSING : slots.get(managerId);
+		return slot == IntIntHashMap.MISSING ? NONE : slot;
+	}
+
+	private int indexed(Integer employeeId) {
+		if (employeeId == null) {
+			return NONE;
+		}
+		int slot = slots.get(employeeId);
+		return slot == IntIntHashMap.MISSING || level[slot] == NONE ? NONE : slot;
+	}
+
+	private void allocate(int capacity) {
+		parent = filled(capacity);
+		firstChild = filled(capacity);
+		nextSibling = filled(capacity);
+		previousSibling = filled(capacity);
+		level = filled(capacity);
+		depth = new int[capacity];
+		deepest = new int[capacity];
+		headcount = new int[capacity];
+		span = new int[capacity];
+		levelCount = new int[capacity];
+		spanCount = new int[capacity];
+	}
+
+	private void grow(int capacity) {
+		parent = grown(parent, capacity);
+		firstChild = grown(firstChild, capacity);
+		nextSibling = grown(nextSibling, capacity);
+		previousSibling = grown(previousSibling, capacity);
+		level = grown(level, capacity);
+		depth = Arrays.copyOf(depth, capacity);
+		deepest = Arrays.copyOf(deepest, capacity);
+		headcount = Arrays.copyOf(headcount, capacity);
+		span = Arrays.copyOf(span, capacity);
+		levelCount = Arrays.copyOf(levelCount, capacity);
+		spanCount = Arrays.copyOf(spanCount, capacity);
+	}
+
+	private static int[] filled(int capacity) {
+		int[] array = new int[capacity];
+		Arrays.fill(array, NONE);
+		return array;
+	}
+
+	private static int[] grown(int[] array, int capacity) {
+		int[] copy = Arrays.copyOf(array, capacity);
+		Arrays.fill(copy, array.length, capacity, NONE);
+		return copy;
+	}
+}
@@ -0,0 +1,191 @@
+package com.org.management.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.org.management.model.ChangeEvent;
+import com.org.management.model.ChangePage;
+import com.org.management.model.Employee;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Inserts, updates, moves and deletes numbered in the order they became
+ * visible, so consumers can follow the org instead of re-reading it.
+ *
+ * Writers add events while they hold the service write lock and publish
+ * them once the store shows the change; an import that fails discards
+ * them. Published events live in one ring of management.changes.capacity
+ * shared by every consumer. Consumers pull at their own pace and nothing
+ * is queued per consumer, so a slow one only falls behind. Once the events
+ * after its position are overwritten, it is told to reload instead.
+ * Waiting consumers are woken management.changes.linger-ms after the first
+ * publish, so a burst of writes reaches them as one batch.
+ */
+@Component
+public class ChangeFeed {
+
+	static final int DEFAULT_CAPACITY = 100_000;
+
+	private final ChangeEvent[] ring;
+
+	// Events added by the current write, not yet numbered or visible
+	private final List<ChangeEvent> pending = new ArrayList<>();
+
+	// Pending events pushed out by later ones; publishing would overwrite them at once, so they are only counted
+	private long dropped;
+
+	// Position before the first event; the clock at startup, so positions from before a restart are never reused
+	private final long first;
+
+	// Sequence of the newest published event
+	private volatile long last;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// Callbacks of waiting consumers and the sequence each is waiting past
+	private final Map<Runnable, Long> waiters = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+
+	// Null when waiters are woken on the publishing thread
+	private final ScheduledExecutorService scheduler;
+
+	private final long lingerMillis;
+
+	public ChangeFeed(@Value("${management.changes.capacity:100000}") int capacity,
+			@Value("${management.changes.linger-ms:20}") long lingerMillis) {
+		this.ring = new ChangeEvent[capacity];
+		this.lingerMillis = lingerMillis;
+		this.first = System.currentTimeMillis() * 1000;
+		this.last = first;
+		this.scheduler = lingerMillis > 0 ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "change-feed");
+			thread.setDaemon(true);
+			return thread;
+		}) : null;
+	}
+
+	// Must hold the service write lock
+	void add(ChangeEvent.Type type, Employee employee) {
+		pending.add(new ChangeEvent(0, type, employee));
+		if (pending.size() == 2 * ring.length) {
+			pending.subList(0, ring.length).clear();
+			dropped += ring.length;
+		}
+	}
+
+	// Must hold the service write lock
+	void addAll(ChangeEvent.Type type, List<Employee> employees) {
+		for (Employee employee : employees) {
+			add(type, employee);
+		}
+	}
+
+	// Numbers the pending events and makes them visible; call once the store shows them
+	void publish() {
+		if (pending.isEmpty()) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			long sequence = last + dropped;
+			for (ChangeEvent event : pending) {
+				event.setSequence(++sequence);
+				ring[slot(sequence)] = event;
+			}
+			last = sequence;
+		} finally {
+			lock.writeLock().unlock();
+		}
+		discard();
+		wake();
+	}
+
+	// Drops the events added since the last publish; a no-op right after one
+	void discard() {
+		pending.clear();
+		dropped = 0;
+	}
+
+	public long getLast() {
+		return last;
+	}
+
+	// Up to limit events after since, or null when since is ahead of the feed or its events were overwritten
+	public ChangePage read(long since, int limit) {
+		lock.readLock().lock();
+		try {
+			long newest = last;
+			if (since > newest || since < Math.max(first, newest - ring.length)) {
+				return null;
+			}
+			int count = (int) Math.min(limit, newest - since);
+			List<ChangeEvent> events = new ArrayList<>(count);
+			for (long sequence = since + 1; sequence <= since + count; sequence++) {
+				events.add(ring[slot(sequence)]);
+			}
+			return new ChangePage(events, since + count);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Runs callback once, when an event after since is published; at once if one already is
+	public void await(long since, Runnable callback) {
+		waiters.put(callback, since);
+		// Covers a publish that landed between the caller's read and registering here
+		if (last > since) {
+			wakeNow();
+		}
+	}
+
+	public void cancel(Runnable callback) {
+		waiters.remove(callback);
+	}
+
+	@PreDestroy
+	public void close() {
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private int slot(long sequence) {
+		return (int) ((sequence - 1) % ring.length);
+	}
+
+	private void wake() {
+		if (waiters.isEmpty()) {
+			return;
+		}
+		if (scheduler == null) {
+			wakeNow();
+		} else if (wakeScheduled.compareAndSet(false, true)) {
+			scheduler.schedule(() -> {
+				wakeScheduled.set(false);
+				wakeNow();
+			}, lingerMillis, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	private void wakeNow() {
+		long newest = last;
+		for (Map.Entry<Runnable, Long> waiter : waiters.entrySet()) {
+			// Removal decides which of two racing wakers runs the callback
+			if (waiter.getValue() < newest && waiters.remove(waiter.getKey(), waiter.getValue())) {
+				waiter.getKey().run();
+			}
+		}
+	}
+}
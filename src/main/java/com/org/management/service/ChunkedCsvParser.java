@@ -0,0 +1,170 @@
+package com.org.management.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import com.opencsv.CSVParser;
+import com.org.management.model.Employee;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Parses an employee CSV file in parallel by splitting it into line-aligned
+ * byte ranges and mapping each range on a fork-join pool.
+ *
+ * A line belongs to the range its first byte falls in, so every line is parsed
+ * exactly once. Chunks are returned in file order, which lets callers merge
+ * them with the same first-wins duplicate handling as a sequential read.
+ * Quoted fields spanning multiple lines are not supported.
+ */
+public class ChunkedCsvParser {
+
+	// Lines longer than this cannot straddle a chunk boundary
+	static final int MAX_LINE_BYTES = 64 * 1024;
+
+	static final long MIN_CHUNK_BYTES = 1024 * 1024;
+
+	static final long MAX_CHUNK_BYTES = 256L * 1024 * 1024;
+
+	private final ForkJoinPool pool;
+
+	private final long minChunkBytes;
+
+	public ChunkedCsvParser(ForkJoinPool pool) {
+		this(pool, MIN_CHUNK_BYTES);
+	}
+
+	ChunkedCsvParser(ForkJoinPool pool, long minChunkBytes) {
+		this.pool = pool;
+		this.minChunkBytes = minChunkBytes;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Chunk {
+		private final List<Employee> employees;
+		private final long rejected;
+	}
+
+	public List<Chunk> parse(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size == 0) {
+				return new ArrayList<>();
+			}
+
+			// Aim for a few chunks per worker so uneven ranges still balance
+			long chunkBytes = Math.min(MAX_CHUNK_BYTES,
+					Math.max(minChunkBytes, size / (pool.getParallelism() * 4L)));
+			return pool.invoke(new ParseTask(channel, size, chunkBytes, 0, size));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	@RequiredArgsConstructor
+	private static class ParseTask extends RecursiveTask<List<Chunk>> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient FileChannel channel;
+		private final long size;
+		private final long chunkBytes;
+		private final long start;
+		private final long end;
+
+		@Override
+		protected List<Chunk> compute() {
+			if (end - start <= chunkBytes) {
+				List<Chunk> chunks = new ArrayList<>(1);
+				try {
+					chunks.add(parseRange());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return chunks;
+			}
+
+			long mid = start + (end - start) / 2;
+			ParseTask left = new ParseTask(channel, size, chunkBytes, start, mid);
+			ParseTask right = new ParseTask(channel, size, chunkBytes, mid, end);
+			left.fork();
+			List<Chunk> chunks = new ArrayList<>(right.compute());
+			chunks.addAll(0, left.join());
+			return chunks;
+		}
+
+		private Chunk parseRange() throws IOException {
+			// Map one byte before the range to tell whether it starts on a line boundary
+			long base = start == 0 ? 0 : start - 1;
+			long mapEnd = Math.min(size, end + MAX_LINE_BYTES);
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, base, mapEnd - base);
+			int limit = (int) (end - base);
+			int mapped = (int) (mapEnd - base);
+
+			int pos = 0;
+			if (start > 0) {
+				// The previous range owns any line that started before us
+				while (pos < mapped && buffer.get(pos) != '\n') {
+					pos++;
+				}
+				pos++;
+			}
+
+			CSVParser parser = new CSVParser();
+			List<Employee> employees = new ArrayList<>();
+			long rejected = 0;
+			byte[] lineBytes = new byte[256];
+
+			while (pos < limit) {
+				int newline = pos;
+				while (newline < mapped && buffer.get(newline) != '\n') {
+					newline++;
+				}
+				if (newline == mapped && mapEnd < size) {
+					throw new IOException("Invalid CSV format: line exceeds " + MAX_LINE_BYTES + " bytes");
+				}
+
+				int length = newline - pos;
+				if (length > 0 && buffer.get(newline - 1) == '\r') {
+					length--;
+				}
+				if (length > lineBytes.length) {
+					lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+				}
+				buffer.get(pos, lineBytes, 0, length);
+				pos = newline + 1;
+
+				String[] line;
+				try {
+					line = parser.parseLine(new String(lineBytes, 0, length, StandardCharsets.UTF_8));
+				} catch (IOException e) {
+					// Unterminated quote: reject the row rather than joining it with the next line
+					rejected++;
+					continue;
+				}
+				if (line == null || EmployeeRows.isIgnorable(line)) {
+					continue;
+				}
+
+				Employee employee = EmployeeRows.toEmployee(line);
+				if (employee == null) {
+					rejected++;
+				} else {
+					employees.add(employee);
+				}
+			}
+			return new Chunk(employees, rejected);
+		}
+	}
+}
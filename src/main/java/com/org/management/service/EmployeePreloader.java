@@ -0,0 +1,82 @@
+package com.org.management.service;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import com.org.management.metrics.EmployeeMetrics;
+import com.org.management.model.ImportResult;
+import com.org.management.persistence.EmployeeExportReader;
+
+/**
+ * Loads the hierarchy from management.preload.path at startup, so a new
+ * instance can serve without a POST /employees/startup first.
+ *
+ * A file written by GET /employees/export is recognised by its header;
+ * anything else is read as CSV. Both are memory-mapped. Spring Boot only
+ * reports the instance ready (/actuator/health/readiness, and the
+ * application.ready.time meter) after every ApplicationRunner returns, and
+ * this one returns once the load is published and every index is built.
+ * A file that cannot be loaded fails startup, so a broken instance never
+ * turns ready. A store that already holds employees, restored from the
+ * journal or kept in the database, is left as it is, since it is newer
+ * than any file.
+ */
+@Component
+public class EmployeePreloader implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(EmployeePreloader.class);
+
+	private final EmployeeService employeeService;
+
+	private final Path path;
+
+	private final ValidationMode mode;
+
+	@Autowired(required = false)
+	private EmployeeMetrics metrics = EmployeeMetrics.NOOP;
+
+	public EmployeePreloader(EmployeeService employeeService,
+			@Value("${management.preload.path:}") String path,
+			@Value("${management.preload.validation:lenient}") String validation) {
+		this.employeeService = employeeService;
+		this.path = path == null || path.isBlank() ? null : Path.of(path);
+		this.mode = "strict".equals(validation) ? ValidationMode.STRICT : ValidationMode.LENIENT;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) throws IOException {
+		if (path == null) {
+			return;
+		}
+		if (!employeeService.getEmployees(null, 1).getEmployees().isEmpty()) {
+			log.info("Skipping preload from {}: the store already holds employees", path);
+			return;
+		}
+
+		long start = System.nanoTime();
+		ImportResult result = EmployeeExportReader.isExport(path)
+				? employeeService.binarySave(path, mode)
+				: employeeService.parallelSave(path, mode);
+		long loaded = System.nanoTime();
+		employeeService.warmIndexes();
+		long ready = System.nanoTime();
+
+		metrics.recordPreload(ready - start);
+		log.info("Preloaded {} employees from {} in {} ms ({} skipped, {} rejected), indexes built in {} ms;"
+				+ " done {} ms after JVM start", result.getLoaded(), path, (loaded - start) / 1_000_000,
+				result.getSkipped(), result.getRejected(), (ready - loaded) / 1_000_000,
+				ManagementFactory.getRuntimeMXBean().getUptime());
+		if (!result.getValidation().isValid()) {
+			log.warn("Preloaded hierarchy has problems: {}", result.getValidation());
+		}
+	}
+}
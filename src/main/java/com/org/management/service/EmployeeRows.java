@@ -0,0 +1,43 @@
+package com.org.management.service;
+
+import com.org.management.model.Employee;
+
+/**
+ * Maps parsed CSV rows (EmployeeID, Name, Title, ManagerID) to employees.
+ */
+final class EmployeeRows {
+
+	private EmployeeRows() {
+	}
+
+	// Header rows and blank lines carry no employee and are not counted
+	static boolean isIgnorable(String[] line) {
+		return line[0].equalsIgnoreCase("EmployeeID") || (line.length == 1 && line[0].isBlank());
+	}
+
+	// Returns null when the row cannot be parsed into an employee
+	static Employee toEmployee(String[] line) {
+		if (line.length < 3) {
+			return null;
+		}
+
+		try {
+			Employee employee = Employee
+								.builder()
+								.employeeId(Integer.parseInt(line[0].trim()))
+								.name(line[1])
+								.title(line[2])
+								.build();
+
+			// Edge case: CEO does not report to anyone
+			if (line.length > 3 && !line[3].isBlank()) {
+				employee.setManagerId(Integer.parseInt(line[3].trim()));
+			} else {
+				employee.setManagerId(0);
+			}
+			return employee;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -1,9 +1,36 @@
 package com.org.management.service;
 
 import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -11,8 +38,27 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.opencsv.CSVReader;
 import com.opencsv.exceptions.CsvException;
+import com.org.management.metrics.EmployeeMetrics;
+import com.org.management.model.BatchItemResult;
+import com.org.management.model.ChangeEvent;
+import com.org.management.model.DeleteResult;
+import com.org.management.model.DeltaResult;
 import com.org.management.model.Employee;
+import com.org.management.model.EmployeePage;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.ImportResult;
+import com.org.management.model.LcaQuery;
+import com.org.management.model.LcaResult;
+import com.org.management.model.OrgSummary;
+import com.org.management.model.SearchPage;
+import com.org.management.persistence.EmployeeExportReader;
+import com.org.management.persistence.EmployeeExportWriter;
+import com.org.management.persistence.EmployeeJournal;
 import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.EulerTourTree;
+import com.org.management.repository.HierarchyValidator;
+import com.org.management.repository.SearchIndex;
+import com.org.management.repository.StatsIndex;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,53 +66,577 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class EmployeeService {
 
+	// Rows buffered before each write to the repository during streaming imports
+	static final int IMPORT_BATCH_SIZE = 1000;
+
 	private final EmployeeRepository employeeRepository;
 
+	private final EmployeeJournal employeeJournal;
+
+	private final ChunkedCsvParser chunkedCsvParser = new ChunkedCsvParser(ForkJoinPool.commonPool());
+
+	// Patched in place by every write except imports other than deltas, which leave it to be rebuilt lazily
+	private volatile EulerTourTree tree;
+
+	// Patched in place like the tree
+	private volatile StatsIndex statsIndex;
+
+	// Patched in place by saves, batches and every delta import, rebuilt lazily after any other import
+	private volatile SearchIndex searchIndex;
+
+	// Serializes service writes with their journal appends, so the journal replays in apply order
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	// Serializes index rebuilds, apart from writeLock so reads never wait behind an import; taken after writeLock, never before
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+
+	// Bumped after every write for the managers whose direct reports it changed
+	private final SubtreeVersions subtreeVersions = new SubtreeVersions();
+
+	@Autowired(required = false)
+	private EmployeeMetrics metrics = EmployeeMetrics.NOOP;
+
+	// Every write's changes, published once readers can see them
+	@Autowired(required = false)
+	private ChangeFeed changeFeed = new ChangeFeed(ChangeFeed.DEFAULT_CAPACITY, 0);
+
 	public boolean initialSave(MultipartFile file) throws IOException {
-		try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-			List<String[]> lines = reader.readAll();
-			for (String[] line : lines) {
-				if (line[0].equals("EmployeeID"))
-					continue;
-				
-	            if (line.length < 3) {
-	                throw new IOException("Invalid CSV format: Insufficient data");
-	            }
+		return initialSave(file, ValidationMode.LENIENT);
+	}
+
+	public boolean initialSave(MultipartFile file, ValidationMode mode) throws IOException {
+		HierarchyValidator validator = new HierarchyValidator(employeeRepository);
+		stagedImport("legacy", mode, validator, (load, touched) -> {
+			ImportResult result = new ImportResult();
+			List<Employee> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+			// Staged and journaled a batch at a time, like the streaming import, rather than row by row
+			try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
+				String[] line;
+				while ((line = reader.readNext()) != null) {
+					if (line[0].equals("EmployeeID"))
+						continue;
+					
+		            if (line.length < 3) {
+		                throw new IOException("Invalid CSV format: Insufficient data");
+		            }
+
+					Employee employee = Employee
+										.builder()
+										.employeeId(Integer.parseInt(line[0]))
+										.name(line[1])
+										.title(line[2])
+										.build();
+
+					// Edge case: CEO does not report to anyone
+					if (line.length > 3 && !line[3].isBlank()) {
+						employee.setManagerId(Integer.parseInt(line[3].trim()));
+					} else {
+						employee.setManagerId(0);
+					}
+
+					validator.add(employee);
+					batch.add(employee);
+					if (batch.size() == IMPORT_BATCH_SIZE) {
+						flushBatch(load, batch, result, touched);
+					}
+				}
+				flushBatch(load, batch, result, touched);
+			} catch (IOException | CsvException e) {
+				throw new IOException("Error saving employees to repository", e);
+			}
+			return result;
+		});
+		return true;
+	}
+
+	public ImportResult streamingSave(MultipartFile file) throws IOException {
+		return streamingSave(file, ValidationMode.LENIENT);
+	}
+
+	public ImportResult streamingSave(MultipartFile file, ValidationMode mode) throws IOException {
+		HierarchyValidator validator = new HierarchyValidator(employeeRepository);
+		return stagedImport("stream", mode, validator, (load, touched) -> {
+			ImportResult result = new ImportResult();
+			List<Employee> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+
+			try (CSVReader reader = new CSVReader(new BufferedReader(
+					new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+				String[] line;
+				while ((line = reader.readNext()) != null) {
+					if (EmployeeRows.isIgnorable(line))
+						continue;
+
+					Employee employee = EmployeeRows.toEmployee(line);
+					if (employee == null) {
+						result.setRejected(result.getRejected() + 1);
+						continue;
+					}
+
+					validator.add(employee);
+					batch.add(employee);
+					if (batch.size() == IMPORT_BATCH_SIZE) {
+						flushBatch(load, batch, result, touched);
+					}
+				}
+				flushBatch(load, batch, result, touched);
+			} catch (IOException | CsvException e) {
+				throw new IOException("Error saving employees to repository", e);
+			}
+			return result;
+		});
+	}
+
+	public ImportResult binarySave(MultipartFile file) throws IOException {
+		return binarySave(file, ValidationMode.LENIENT);
+	}
 
-				Employee employee = Employee
-									.builder()
-									.employeeId(Integer.parseInt(line[0]))
-									.name(line[1])
-									.title(line[2])
-									.build();
+	public ImportResult binarySave(MultipartFile file, ValidationMode mode) throws IOException {
+		try (InputStream in = file.getInputStream()) {
+			return binarySave(in, mode);
+		}
+	}
+
+	public ImportResult binarySave(InputStream in, ValidationMode mode) throws IOException {
+		return binarySave(new EmployeeExportReader(in), mode);
+	}
 
-				// Edge case: CEO does not report to anyone
-				if (line[3] != "") {
-					employee.setManagerId(Integer.parseInt(line[3]));
-				} else {
-					employee.setManagerId(0);
+	public ImportResult binarySave(Path export, ValidationMode mode) throws IOException {
+		try (FileChannel channel = FileChannel.open(export, StandardOpenOption.READ)) {
+			// Mapped when it fits one mapping, so an uncompressed file is decoded straight from the page cache
+			EmployeeExportReader reader = channel.size() <= Integer.MAX_VALUE
+					? new EmployeeExportReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()))
+					: new EmployeeExportReader(Channels.newInputStream(channel));
+			return binarySave(reader, mode);
+		}
+	}
+
+	// Loads a file written by export; blocks are staged as they are decoded
+	private ImportResult binarySave(EmployeeExportReader reader, ValidationMode mode) throws IOException {
+		HierarchyValidator validator = new HierarchyValidator(employeeRepository);
+		return stagedImport("binary", mode, validator, (load, touched) -> {
+			ImportResult result = new ImportResult();
+			try {
+				List<Employee> block;
+				while ((block = reader.read()) != null) {
+					validator.addAll(block);
+					flushBatch(load, block, result, touched);
 				}
+			} catch (IOException e) {
+				throw new IOException("Error saving employees to repository", e);
+			}
+			return result;
+		});
+	}
+
+	// Writes every employee in the binary export format, a page at a time
+	public void export(OutputStream out, boolean compress) throws IOException {
+		EmployeeExportWriter writer = new EmployeeExportWriter(out, compress);
+		List<Employee> page;
+		Integer after = null;
+		do {
+			page = employeeRepository.getEmployees(after, IMPORT_BATCH_SIZE);
+			writer.write(page);
+			after = page.isEmpty() ? null : page.get(page.size() - 1).getEmployeeId();
+		} while (page.size() == IMPORT_BATCH_SIZE);
+		writer.finish();
+	}
+
+	public ImportResult parallelSave(MultipartFile file) throws IOException {
+		return parallelSave(file, ValidationMode.LENIENT);
+	}
+
+	public ImportResult parallelSave(MultipartFile file, ValidationMode mode) throws IOException {
+		// Spool the upload to disk so the parser can map line-aligned ranges of it
+		Path csv = Files.createTempFile("employees", ".csv");
+		try {
+			file.transferTo(csv);
+			return parallelSave(csv, mode);
+		} finally {
+			Files.deleteIfExists(csv);
+		}
+	}
+
+	public ImportResult parallelSave(Path csv, ValidationMode mode) throws IOException {
+		HierarchyValidator validator = new HierarchyValidator(employeeRepository);
+		return stagedImport("parallel", mode, validator, (load, touched) -> {
+			ImportResult result = new ImportResult();
+			try {
+				// Chunks arrive in file order, so merging them keeps first-wins duplicate handling
+				for (ChunkedCsvParser.Chunk chunk : chunkedCsvParser.parse(csv)) {
+					validator.addAll(chunk.getEmployees());
+					int saved = stageBatch(load, chunk.getEmployees(), touched);
+					result.setLoaded(result.getLoaded() + saved);
+					result.setSkipped(result.getSkipped() + chunk.getEmployees().size() - saved);
+					result.setRejected(result.getRejected() + chunk.getRejected());
+				}
+			} catch (IOException e) {
+				throw new IOException("Error saving employees to repository", e);
+			}
+			return result;
+		});
+	}
+
+	public DeltaResult deltaSave(MultipartFile file) throws IOException {
+		return deltaSave(file, ValidationMode.LENIENT);
+	}
+
+	public DeltaResult deltaSave(MultipartFile file, ValidationMode mode) throws IOException {
+		DeltaResult result = new DeltaResult();
+		// The file replaces the org, so it is validated on its own rather than against the store
+		HierarchyValidator validator = new HierarchyValidator(null);
+
+		// The file is the full org; the first row for an id wins, as in the other modes
+		Map<Integer, Employee> incoming = new LinkedHashMap<>();
+		try (CSVReader reader = new CSVReader(new BufferedReader(
+				new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)))) {
+			String[] line;
+			while ((line = reader.readNext()) != null) {
+				if (EmployeeRows.isIgnorable(line))
+					continue;
 
-				employeeRepository.initialSave(employee);
+				Employee employee = EmployeeRows.toEmployee(line);
+				if (employee == null) {
+					result.setRejected(result.getRejected() + 1);
+					continue;
+				}
+				validator.add(employee);
+				if (incoming.putIfAbsent(employee.getEmployeeId(), employee) != null) {
+					result.setSkipped(result.getSkipped() + 1);
+				}
 			}
 		} catch (IOException | CsvException e) {
 			throw new IOException("Error saving employees to repository", e);
 		}
-		return true;
+
+		List<Employee> changed = new ArrayList<>();
+		List<Employee> moved = new ArrayList<>();
+		List<Integer> removed = new ArrayList<>();
+		List<Employee> gone = new ArrayList<>();
+		writeLock.lock();
+		try {
+			long before = employeeRepository.getVersion();
+			stagedImport("delta", mode, validator, (load, touched) -> {
+				// Walk the store in id order and diff each employee against its row
+				Integer after = null;
+				List<Employee> page;
+				do {
+					page = employeeRepository.getEmployees(after, IMPORT_BATCH_SIZE);
+					for (Employee stored : page) {
+						Employee row = incoming.remove(stored.getEmployeeId());
+						if (row == null) {
+							removed.add(stored.getEmployeeId());
+							gone.add(stored);
+							touch(touched, stored.getManagerId());
+							touch(touched, stored.getEmployeeId());
+						} else if (!row.equals(stored)) {
+							changed.add(row);
+							touch(touched, stored.getManagerId());
+							touch(touched, row.getManagerId());
+							if (Objects.equals(row.getManagerId(), stored.getManagerId())) {
+								changeFeed.add(ChangeEvent.Type.UPDATE, row);
+								result.setUpdated(result.getUpdated() + 1);
+							} else {
+								moved.add(row);
+								changeFeed.add(ChangeEvent.Type.MOVE, row);
+								result.setMoved(result.getMoved() + 1);
+							}
+						} else {
+							result.setUnchanged(result.getUnchanged() + 1);
+						}
+					}
+					after = page.isEmpty() ? null : page.get(page.size() - 1).getEmployeeId();
+				} while (page.size() == IMPORT_BATCH_SIZE);
+
+				for (Employee employee : changed) {
+					load.update(employee);
+				}
+				employeeJournal.appendUpdates(changed);
+				for (Integer employeeId : removed) {
+					load.remove(employeeId);
+				}
+				employeeJournal.appendRemovals(removed);
+				changeFeed.addAll(ChangeEvent.Type.DELETE, gone);
+				result.setRemoved(removed.size());
+
+				// Whatever is left in the file is new
+				List<Employee> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+				for (Employee employee : incoming.values()) {
+					batch.add(employee);
+					if (batch.size() == IMPORT_BATCH_SIZE) {
+						flushBatch(load, batch, result, touched);
+					}
+				}
+				flushBatch(load, batch, result, touched);
+				return result;
+			});
+
+			carryIndexes(before, result.getVersion(), changed, new ArrayList<>(incoming.values()), moved, removed);
+		} finally {
+			writeLock.unlock();
+		}
+		return result;
 	}
-	
+
 	public int save(Employee employee) {
-		return employeeRepository.save(employee);
+		writeLock.lock();
+		try {
+			int status = employeeRepository.save(employee);
+			metrics.recordSave(status);
+			if (status == 1) {
+				employeeJournal.append(employee);
+			}
+			// A save adds one leaf; extend the indexes if nothing else changed since they were built
+			long version = employeeRepository.getVersion();
+			if (status == 1) {
+				carryIndexes(version - 1, version, List.of(), List.of(employee), List.of(), List.of());
+				subtreeVersions.touch(Collections.singletonList(employee.getManagerId()), version);
+				changeFeed.add(ChangeEvent.Type.INSERT, employee);
+				changeFeed.publish();
+			}
+			return status;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Replaces the name, title and manager of a stored employee; a new
+	 * manager brings the employee's whole subtree along. Returns -1 if the
+	 * employee does not exist, 0 if the new manager does not exist, -2 if the
+	 * new manager reports to the employee, and 1 when updated.
+	 */
+	public int update(Employee employee) {
+		writeLock.lock();
+		try {
+			Employee stored = employeeRepository.getEmployee(employee.getEmployeeId());
+			if (stored == null) {
+				return -1;
+			}
+			boolean moved = !Objects.equals(stored.getManagerId(), employee.getManagerId());
+			if (moved) {
+				if (employee.getManagerId() == null || employeeRepository.getEmployee(employee.getManagerId()) == null) {
+					return 0;
+				}
+				if (employee.getManagerId().equals(employee.getEmployeeId())
+						|| getTree().isUnder(employee.getManagerId(), employee.getEmployeeId())) {
+					return -2;
+				}
+			}
+			employeeRepository.update(employee);
+			employeeJournal.appendUpdates(List.of(employee));
+			long version = employeeRepository.getVersion();
+			carryIndexes(version - 1, version, List.of(employee), List.of(), moved ? List.of(employee) : List.of(),
+					List.of());
+			subtreeVersions.touch(Arrays.asList(stored.getManagerId(), employee.getManagerId()), version);
+			changeFeed.add(moved ? ChangeEvent.Type.MOVE : ChangeEvent.Type.UPDATE, employee);
+			changeFeed.publish();
+			return 1;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	/**
+	 * Removes a stored employee, or null when it does not exist. With cascade
+	 * everyone under the employee goes too; otherwise the direct reports move
+	 * up to the employee's own manager, or to the top for a root.
+	 */
+	public DeleteResult delete(Integer employeeId, boolean cascade) {
+		writeLock.lock();
+		try {
+			Employee stored = employeeRepository.getEmployee(employeeId);
+			if (stored == null) {
+				return null;
+			}
+			List<Employee> reassigned = new ArrayList<>();
+			List<Integer> removed = new ArrayList<>();
+			List<Employee> gone = new ArrayList<>();
+			Set<Integer> touched = new HashSet<>();
+			touched.add(stored.getManagerId());
+			touched.add(employeeId);
+			if (cascade) {
+				// Reports before their managers, so the store never shows anyone whose manager is gone
+				List<Employee> reports = employeeRepository.getEmployees(getTree().getReports(employeeId, null));
+				for (int i = reports.size() - 1; i >= 0; i--) {
+					removed.add(reports.get(i).getEmployeeId());
+					gone.add(reports.get(i));
+					touch(touched, reports.get(i).getEmployeeId());
+				}
+			} else {
+				for (Employee report : employeeRepository.getSubordinates(stored)) {
+					Employee moved = Employee
+										.builder()
+										.employeeId(report.getEmployeeId())
+										.name(report.getName())
+										.title(report.getTitle())
+										.managerId(stored.getManagerId())
+										.build();
+					reassigned.add(moved);
+				}
+			}
+			removed.add(employeeId);
+			gone.add(stored);
+
+			long before = employeeRepository.getVersion();
+			long version;
+			if (reassigned.isEmpty()) {
+				employeeRepository.removeAll(removed);
+				employeeJournal.appendRemovals(removed);
+				version = employeeRepository.getVersion();
+			} else {
+				version = reassign(reassigned, removed);
+			}
+			carryIndexes(before, version, reassigned, List.of(), reassigned, removed);
+			subtreeVersions.touch(touched, version);
+			changeFeed.addAll(ChangeEvent.Type.MOVE, reassigned);
+			changeFeed.addAll(ChangeEvent.Type.DELETE, gone);
+			changeFeed.publish();
+
+			List<Integer> reassignedIds = new ArrayList<>(reassigned.size());
+			for (Employee employee : reassigned) {
+				reassignedIds.add(employee.getEmployeeId());
+			}
+			return new DeleteResult(removed, reassignedIds);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	// Moves the reports and removes their manager as one published version and one journaled load; must hold writeLock
+	private long reassign(List<Employee> reassigned, List<Integer> removed) {
+		try (EmployeeRepository.StagedLoad load = employeeRepository.stage()) {
+			employeeJournal.beginLoad();
+			try {
+				for (Employee employee : reassigned) {
+					load.update(employee);
+				}
+				employeeJournal.appendUpdates(reassigned);
+				for (Integer employeeId : removed) {
+					load.remove(employeeId);
+				}
+				employeeJournal.appendRemovals(removed);
+			} catch (RuntimeException e) {
+				employeeJournal.abortLoad();
+				throw e;
+			}
+			employeeJournal.commitLoad();
+			try {
+				return load.publish();
+			} finally {
+				employeeJournal.endLoad();
+			}
+		}
+	}
+
+	// Saves the new employees in one write; a manager may be stored already or arrive anywhere in the same batch
+	public List<BatchItemResult> saveBatch(List<Employee> employees) {
+		List<BatchItemResult> results = new ArrayList<>(employees.size());
+		writeLock.lock();
+		try {
+			// One lookup for every id and manager the batch mentions
+			List<Integer> mentioned = new ArrayList<>(employees.size() * 2);
+			for (Employee employee : employees) {
+				mentioned.add(employee.getEmployeeId());
+				mentioned.add(employee.getManagerId());
+			}
+			Set<Integer> stored = new HashSet<>();
+			for (Employee employee : employeeRepository.getEmployees(mentioned)) {
+				stored.add(employee.getEmployeeId());
+			}
+
+			Map<Integer, Employee> candidates = new HashMap<>();
+			for (Employee employee : employees) {
+				BatchItemResult.Status status = null;
+				if (employee.getEmployeeId() == null || isEmpty(employee.getName()) || isEmpty(employee.getTitle())) {
+					status = BatchItemResult.Status.INVALID;
+				} else if (stored.contains(employee.getEmployeeId())) {
+					status = BatchItemResult.Status.EXISTS;
+				} else if (candidates.putIfAbsent(employee.getEmployeeId(), employee) != null) {
+					status = BatchItemResult.Status.DUPLICATE;
+				}
+				results.add(new BatchItemResult(employee.getEmployeeId(), status));
+			}
+
+			// Accept from the stored managers downwards, so an item is only saved once its manager is
+			Map<Integer, List<Employee>> reportsByManager = new HashMap<>();
+			List<Employee> accepted = new ArrayList<>(candidates.size());
+			for (Employee employee : candidates.values()) {
+				if (stored.contains(employee.getManagerId())) {
+					accepted.add(employee);
+				} else if (candidates.containsKey(employee.getManagerId())) {
+					reportsByManager.computeIfAbsent(employee.getManagerId(), k -> new ArrayList<>()).add(employee);
+				}
+			}
+			for (int i = 0; i < accepted.size(); i++) {
+				List<Employee> reports = reportsByManager.get(accepted.get(i).getEmployeeId());
+				if (reports != null) {
+					accepted.addAll(reports);
+				}
+			}
+
+			Set<Integer> saved = new HashSet<>();
+			for (Employee employee : accepted) {
+				saved.add(employee.getEmployeeId());
+			}
+			for (int i = 0; i < results.size(); i++) {
+				BatchItemResult result = results.get(i);
+				if (result.getStatus() == null) {
+					// Items left over have no manager, or one that failed, or sit in a cycle
+					result.setStatus(saved.contains(result.getEmployeeId())
+							? BatchItemResult.Status.SAVED
+							: BatchItemResult.Status.MISSING_MANAGER);
+				}
+				if (result.getStatus() != BatchItemResult.Status.INVALID) {
+					metrics.recordSave(result.getStatus() == BatchItemResult.Status.SAVED ? 1
+							: result.getStatus() == BatchItemResult.Status.MISSING_MANAGER ? 0 : -1);
+				}
+			}
+
+			if (!accepted.isEmpty()) {
+				long before = employeeRepository.getVersion();
+				employeeRepository.initialSaveAll(accepted);
+				employeeJournal.appendAll(accepted);
+				carryIndexes(before, employeeRepository.getVersion(), List.of(), accepted, List.of(), List.of());
+				subtreeVersions.touch(managerIds(accepted), employeeRepository.getVersion());
+				changeFeed.addAll(ChangeEvent.Type.INSERT, accepted);
+				changeFeed.publish();
+			}
+			return results;
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	// Version of the hierarchy readers currently see; changes whenever a write or load is published
+	public long getVersion() {
+		return employeeRepository.getVersion();
+	}
+
+	// Version at which the manager's direct reports last changed; never ahead of getVersion
+	public long getSubtreeVersion(Integer managerId) {
+		return subtreeVersions.get(managerId);
 	}
 
 	public List<Employee> getEmployees() {
 		return employeeRepository.getEmployees();
 	}
 
+	public EmployeePage getEmployees(Integer after, int limit) {
+		List<Employee> employees = employeeRepository.getEmployees(after, limit);
+		// A short page means there is nothing after it
+		Integer next = employees.size() < limit ? null : employees.get(employees.size() - 1).getEmployeeId();
+		return new EmployeePage(employees, next);
+	}
+
 	public Employee getEmployee(Integer employeeId) {
 		return employeeRepository.getEmployee(employeeId);
 	}
 
+	public List<Employee> getEmployees(List<Integer> employeeIds) {
+		return employeeRepository.getEmployees(employeeIds);
+	}
+
 	public Employee getManager(Employee employee) throws IOException, IllegalStateException {
 		if (employee.getManagerId() == 0) {
 			throw new IOException();
@@ -83,4 +653,420 @@ public class EmployeeService {
 	public List<Employee> getSubordinates(Employee employee) {
 		return employeeRepository.getSubordinates(employee);
 	}
+
+	/**
+	 * Walks the employee's subtree depth first, reports in id order, handing
+	 * each employee to the visitor as it is reached. An explicit stack keeps
+	 * deep chains off the call stack, and only the reports of the managers
+	 * on the current path are held, so a large subtree is never built. Each
+	 * manager's reports are read when the walk reaches them, so a write
+	 * landing mid-walk may show in the parts not yet visited.
+	 */
+	public void walkTree(Employee employee, Integer depth, TreeVisitor visitor) throws IOException {
+		int depthLimit = depth == null ? Integer.MAX_VALUE : depth;
+		visitor.enter(employee, depthLimit > 0);
+		if (depthLimit == 0) {
+			return;
+		}
+
+		Deque<Employee> path = new ArrayDeque<>();
+		Deque<Iterator<Employee>> pending = new ArrayDeque<>();
+		path.push(employee);
+		pending.push(reports(employee));
+		while (!path.isEmpty()) {
+			Iterator<Employee> reports = pending.peek();
+			if (!reports.hasNext()) {
+				pending.pop();
+				visitor.exit(path.pop());
+				continue;
+			}
+			Employee report = reports.next();
+			// Only the starting employee can come round again, and only through a manager cycle
+			if (report.getEmployeeId().equals(employee.getEmployeeId())) {
+				continue;
+			}
+			boolean expanded = path.size() < depthLimit;
+			visitor.enter(report, expanded);
+			if (expanded) {
+				path.push(report);
+				pending.push(reports(report));
+			}
+		}
+	}
+
+	private Iterator<Employee> reports(Employee manager) {
+		List<Employee> reports = new ArrayList<>(employeeRepository.getSubordinates(manager));
+		reports.sort(Comparator.comparing(Employee::getEmployeeId));
+		return reports.iterator();
+	}
+
+	public List<Employee> getChain(Employee employee) {
+		long start = System.nanoTime();
+		List<Employee> chain = employeeRepository.getEmployees(getTree().getChain(employee.getEmployeeId()));
+		metrics.recordChain(System.nanoTime() - start);
+		return chain;
+	}
+
+	public List<Employee> getReports(Employee employee, Integer depth) {
+		long start = System.nanoTime();
+		List<Employee> reports = employeeRepository.getEmployees(getTree().getReports(employee.getEmployeeId(), depth));
+		metrics.recordReports(System.nanoTime() - start);
+		return reports;
+	}
+
+	// False when the employee sits in a manager cycle; asks the hierarchy, so no stats are built for it
+	public boolean isInHierarchy(Employee employee) {
+		return getTree().contains(employee.getEmployeeId());
+	}
+
+	public boolean isUnder(Integer employeeId, Integer managerId) {
+		long start = System.nanoTime();
+		boolean under = getTree().isUnder(employeeId, managerId);
+		metrics.recordIsUnder(System.nanoTime() - start);
+		return under;
+	}
+
+	public LcaResult getCommonManager(Integer a, Integer b) {
+		long start = System.nanoTime();
+		EulerTourTree index = getTree();
+		Integer managerId = index.getCommonManager(a, b);
+		LcaResult result = getCommonManager(index, a, b);
+		result.setManager(managerId == null ? null : employeeRepository.getEmployee(managerId));
+		metrics.recordCommonManager(System.nanoTime() - start);
+		return result;
+	}
+
+	public List<LcaResult> getCommonManagers(List<LcaQuery> queries) {
+		// Resolve the whole batch against one index, then fetch every shared manager in one read
+		EulerTourTree index = getTree();
+		List<LcaResult> results = new ArrayList<>(queries.size());
+		List<Integer> managerIds = new ArrayList<>(queries.size());
+		for (LcaQuery query : queries) {
+			long start = System.nanoTime();
+			managerIds.add(index.getCommonManager(query.getA(), query.getB()));
+			results.add(getCommonManager(index, query.getA(), query.getB()));
+			metrics.recordCommonManager(System.nanoTime() - start);
+		}
+		Map<Integer, Employee> managers = new HashMap<>();
+		for (Employee manager : employeeRepository.getEmployees(managerIds)) {
+			managers.put(manager.getEmployeeId(), manager);
+		}
+		for (int i = 0; i < results.size(); i++) {
+			results.get(i).setManager(managers.get(managerIds.get(i)));
+		}
+		return results;
+	}
+
+	// Null when the employee sits in a manager cycle
+	public EmployeeStats getStats(Employee employee) {
+		long start = System.nanoTime();
+		EmployeeStats stats = getStatsIndex().getStats(employee.getEmployeeId());
+		metrics.recordStats(System.nanoTime() - start);
+		return stats;
+	}
+
+	public OrgSummary getOrgSummary() {
+		return getStatsIndex().getSummary();
+	}
+
+	// Employees matching the name and title prefixes, optionally only those under a manager, a page at a time
+	public SearchPage search(String name, String title, Integer under, int offset, int limit) {
+		long start = System.nanoTime();
+		IntPredicate filter = null;
+		if (under != null) {
+			EulerTourTree hierarchy = getTree();
+			filter = employeeId -> hierarchy.isUnder(employeeId, under);
+		}
+		// One extra match tells whether there is another page
+		List<Integer> matches = getSearchIndex().search(name, title, filter, offset, limit + 1);
+		Integer next = null;
+		if (matches.size() > limit) {
+			matches = matches.subList(0, limit);
+			next = offset + limit;
+		}
+		List<Employee> employees = employeeRepository.getEmployees(matches);
+		metrics.recordSearch(System.nanoTime() - start);
+		return new SearchPage(employees, next);
+	}
+
+	// The manager is left for the caller to resolve through the store
+	private LcaResult getCommonManager(EulerTourTree index, Integer a, Integer b) {
+		return LcaResult
+				.builder()
+				.a(a)
+				.b(b)
+				.distance(index.getDistance(a, b))
+				.build();
+	}
+
+	// Builds every index that is behind the store side by side, so the first reads after a load do not pay for them
+	public void warmIndexes() {
+		rebuildLock.lock();
+		try {
+			fromStore((version, employees) -> {
+				CompletableFuture<Void> hierarchy = CompletableFuture.runAsync(() -> {
+					if (tree == null || tree.getVersion() < version) {
+						tree = buildTree(version, employees);
+					}
+				});
+				CompletableFuture<Void> stats = CompletableFuture.runAsync(() -> {
+					if (statsIndex == null || statsIndex.getVersion() < version) {
+						statsIndex = buildStatsIndex(version, employees);
+					}
+				});
+				if (searchIndex == null || searchIndex.getVersion() < version) {
+					searchIndex = buildSearchIndex(version, employees);
+				}
+				CompletableFuture.allOf(hierarchy, stats).join();
+				return null;
+			});
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	/**
+	 * Like the tree and search getters, returns an index at least as new as
+	 * the store version the caller saw on entry, so a read never misses what
+	 * was published before it started. Only one request rebuilds at a time;
+	 * the others wait for it and reuse its result. None of them waits on
+	 * writeLock, so reads never queue behind a running import.
+	 */
+	StatsIndex getStatsIndex() {
+		long observed = employeeRepository.getVersion();
+		StatsIndex index = statsIndex;
+		if (index != null && index.getVersion() >= observed) {
+			return index;
+		}
+		rebuildLock.lock();
+		try {
+			index = statsIndex;
+			if (index == null || index.getVersion() < observed) {
+				index = fromStore(this::buildStatsIndex);
+				statsIndex = index;
+			}
+			return index;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	SearchIndex getSearchIndex() {
+		long observed = employeeRepository.getVersion();
+		SearchIndex index = searchIndex;
+		if (index != null && index.getVersion() >= observed) {
+			return index;
+		}
+		rebuildLock.lock();
+		try {
+			index = searchIndex;
+			if (index == null || index.getVersion() < observed) {
+				index = fromStore(this::buildSearchIndex);
+				searchIndex = index;
+			}
+			return index;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	EulerTourTree getTree() {
+		long observed = employeeRepository.getVersion();
+		EulerTourTree index = tree;
+		if (index != null && index.getVersion() >= observed) {
+			return index;
+		}
+		rebuildLock.lock();
+		try {
+			index = tree;
+			if (index == null || index.getVersion() < observed) {
+				index = fromStore(this::buildTree);
+				tree = index;
+			}
+			return index;
+		} finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	// Builds from the published employees and the version they belong to, reading again if a write lands in between
+	private <T> T fromStore(IndexBuilder<T> builder) {
+		while (true) {
+			long version = employeeRepository.getVersion();
+			List<Employee> employees = employeeRepository.getEmployees();
+			if (employeeRepository.getVersion() == version) {
+				return builder.build(version, employees);
+			}
+		}
+	}
+
+	private EulerTourTree buildTree(long version, List<Employee> employees) {
+		long start = System.nanoTime();
+		EulerTourTree index = EulerTourTree.build(version, employees);
+		metrics.recordHierarchyRebuild(System.nanoTime() - start);
+		return index;
+	}
+
+	private StatsIndex buildStatsIndex(long version, List<Employee> employees) {
+		long start = System.nanoTime();
+		StatsIndex index = StatsIndex.build(version, employees);
+		metrics.recordStatsRebuild(System.nanoTime() - start);
+		return index;
+	}
+
+	private SearchIndex buildSearchIndex(long version, List<Employee> employees) {
+		long start = System.nanoTime();
+		SearchIndex index = SearchIndex.build(version, employees);
+		metrics.recordSearchRebuild(System.nanoTime() - start);
+		return index;
+	}
+
+	/**
+	 * Patches the indexes built at before so they describe after; any that
+	 * cannot follow the change are left to be rebuilt on their next read.
+	 * changed holds every updated employee, moved the subset whose manager
+	 * changed. Must hold writeLock.
+	 */
+	private void carryIndexes(long before, long after, List<Employee> changed, List<Employee> inserted,
+			List<Employee> moved, List<Integer> removed) {
+		SearchIndex search = searchIndex;
+		if (search != null && search.getVersion() == before) {
+			search.apply(changed, inserted, removed, after);
+		}
+		EulerTourTree hierarchy = tree;
+		if (hierarchy != null && hierarchy.getVersion() == before) {
+			hierarchy.apply(changed, inserted, removed, after);
+		}
+		List<Employee> leaves = managersFirst(inserted);
+		StatsIndex stats = statsIndex;
+		if (stats != null && stats.getVersion() == before && leaves != null) {
+			stats.apply(leaves, moved, removed, after);
+		}
+	}
+
+	// Stops collecting once the set is past what SubtreeVersions tracks; it then bumps every manager anyway
+	private static void touch(Set<Integer> touched, Integer managerId) {
+		if (touched.size() <= SubtreeVersions.MAX_MANAGERS) {
+			touched.add(managerId);
+		}
+	}
+
+	private static Set<Integer> managerIds(List<Employee> employees) {
+		Set<Integer> managerIds = new HashSet<>();
+		for (Employee employee : employees) {
+			managerIds.add(employee.getManagerId());
+		}
+		return managerIds;
+	}
+
+	private static boolean isEmpty(String value) {
+		return value == null || value.isEmpty();
+	}
+
+	// Orders new employees so that any manager among them comes before its reports, or null on a cycle
+	private static List<Employee> managersFirst(List<Employee> employees) {
+		Map<Integer, List<Employee>> reportsByManager = new HashMap<>();
+		Set<Integer> ids = new HashSet<>();
+		for (Employee employee : employees) {
+			ids.add(employee.getEmployeeId());
+		}
+		List<Employee> ordered = new ArrayList<>(employees.size());
+		for (Employee employee : employees) {
+			if (employee.getManagerId() != null && ids.contains(employee.getManagerId())) {
+				reportsByManager.computeIfAbsent(employee.getManagerId(), k -> new ArrayList<>()).add(employee);
+			} else {
+				ordered.add(employee);
+			}
+		}
+		for (int i = 0; i < ordered.size(); i++) {
+			List<Employee> reports = reportsByManager.get(ordered.get(i).getEmployeeId());
+			if (reports != null) {
+				ordered.addAll(reports);
+			}
+		}
+		return ordered.size() == employees.size() ? ordered : null;
+	}
+
+	private void flushBatch(EmployeeRepository.StagedLoad load, List<Employee> batch, ImportResult result,
+			Set<Integer> touched) {
+		if (batch.isEmpty()) {
+			return;
+		}
+		int saved = stageBatch(load, batch, touched);
+		result.setLoaded(result.getLoaded() + saved);
+		result.setSkipped(result.getSkipped() + batch.size() - saved);
+		batch.clear();
+	}
+
+	// Must be called from inside stagedImport
+	private int stageBatch(EmployeeRepository.StagedLoad load, List<Employee> batch, Set<Integer> touched) {
+		List<Employee> saved = load.saveAll(batch);
+		// Skipped duplicates are counted as touched too; an extra revalidation is harmless
+		for (Employee employee : batch) {
+			touch(touched, employee.getManagerId());
+		}
+		// Duplicates are journaled too; replay skips them exactly as the import did
+		if (!saved.isEmpty()) {
+			employeeJournal.appendAll(batch);
+		}
+		changeFeed.addAll(ChangeEvent.Type.INSERT, saved);
+		return saved.size();
+	}
+
+	// Runs an import against a staged copy and publishes it as one new version, or discards it on failure
+	private <T extends ImportResult> T stagedImport(String name, ValidationMode mode, HierarchyValidator validator,
+			StagedImport<T> body) throws IOException {
+		long start = System.nanoTime();
+		Set<Integer> touched = new HashSet<>();
+		writeLock.lock();
+		try (EmployeeRepository.StagedLoad load = employeeRepository.stage()) {
+			employeeJournal.beginLoad();
+			T result;
+			try {
+				result = body.load(load, touched);
+				result.setValidation(validator.validate());
+				if (mode == ValidationMode.STRICT && !result.getValidation().isValid()) {
+					metrics.recordStrictRejection(result.getValidation());
+					throw new InvalidHierarchyException(result.getValidation());
+				}
+			} catch (IOException | RuntimeException e) {
+				employeeJournal.abortLoad();
+				throw e;
+			}
+			// Durable before visible, so a crash can never lose a load that readers saw
+			employeeJournal.commitLoad();
+			try {
+				result.setVersion(load.publish());
+			} finally {
+				employeeJournal.endLoad();
+			}
+			subtreeVersions.touch(touched, result.getVersion());
+			changeFeed.publish();
+			metrics.recordImport(name, result, System.nanoTime() - start);
+			return result;
+		} finally {
+			// Events of a load that was not published never become visible
+			changeFeed.discard();
+			writeLock.unlock();
+		}
+	}
+
+	public interface TreeVisitor {
+		// Reports of an employee that is not expanded lie past the depth limit and are not walked
+		void enter(Employee employee, boolean expanded) throws IOException;
+
+		// Called for expanded employees only, once all their reports were entered
+		void exit(Employee employee) throws IOException;
+	}
+
+	@FunctionalInterface
+	private interface IndexBuilder<T> {
+		T build(long version, List<Employee> employees);
+	}
+
+	@FunctionalInterface
+	private interface StagedImport<T extends ImportResult> {
+		// Adds every manager whose direct reports the import may change to touched
+		T load(EmployeeRepository.StagedLoad load, Set<Integer> touched) throws IOException;
+	}
 }
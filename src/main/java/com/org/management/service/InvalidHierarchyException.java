@@ -0,0 +1,24 @@
+package com.org.management.service;
+
+import java.io.IOException;
+
+import com.org.management.model.ValidationReport;
+
+/**
+ * Thrown by a strict load whose rows do not form a valid hierarchy; the load is discarded.
+ */
+public class InvalidHierarchyException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient ValidationReport report;
+
+	public InvalidHierarchyException(ValidationReport report) {
+		super("Hierarchy is invalid");
+		this.report = report;
+	}
+
+	public ValidationReport getReport() {
+		return report;
+	}
+}
@@ -0,0 +1,45 @@
+package com.org.management.service;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store version at which each manager's direct reports last changed, so a
+ * subordinates response can be revalidated without reading the store.
+ *
+ * Managers never touched since startup report the floor version. A write
+ * that touches more managers than are tracked raises the floor instead,
+ * which treats every manager as changed at that version.
+ */
+class SubtreeVersions {
+
+	static final int MAX_MANAGERS = 100_000;
+
+	private final ConcurrentHashMap<Integer, Long> versions = new ConcurrentHashMap<>();
+
+	private volatile long floor;
+
+	long get(Integer managerId) {
+		Long version = versions.get(managerId);
+		return version == null ? floor : Math.max(floor, version);
+	}
+
+	// Called after the write is published, so a version never runs ahead of what readers can see
+	void touch(Collection<Integer> managerIds, long version) {
+		if (versions.size() + managerIds.size() > MAX_MANAGERS) {
+			touchAll(version);
+			return;
+		}
+		for (Integer managerId : managerIds) {
+			if (managerId != null) {
+				versions.put(managerId, version);
+			}
+		}
+	}
+
+	void touchAll(long version) {
+		// Floor first, so a reader that misses a cleared entry already sees the new floor
+		floor = version;
+		versions.clear();
+	}
+}
@@ -0,0 +1,11 @@
+package com.org.management.service;
+
+/**
+ * What a load does when its rows fail hierarchy validation.
+ */
+public enum ValidationMode {
+	// Discard the whole load
+	STRICT,
+	// Publish the load and return the problems alongside its counts
+	LENIENT
+}
@@ -0,0 +1,201 @@
+package com.org.management.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.catalina.core.ApplicationPart;
+import org.apache.tomcat.util.http.fileupload.FileItem;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.FileUploadException;
+import org.apache.tomcat.util.http.fileupload.disk.DiskFileItemFactory;
+import org.apache.tomcat.util.http.fileupload.impl.SizeException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.Part;
+
+/**
+ * A multipart request whose body was already read to a file by
+ * UploadBufferingFilter. Parts are parsed from that file with the
+ * container's own parser and limits, and form fields are merged into the
+ * query-string parameters the way the container would.
+ */
+class BufferedMultipartRequest extends HttpServletRequestWrapper {
+
+	private final Path body;
+
+	private final MultipartConfigElement multipartConfig;
+
+	private final File location;
+
+	private List<FileItem> items;
+
+	private List<Part> parts;
+
+	private Map<String, String[]> parameters;
+
+	BufferedMultipartRequest(HttpServletRequest request, Path body, MultipartConfigElement multipartConfig,
+			File location) {
+		super(request);
+		this.body = body;
+		this.multipartConfig = multipartConfig;
+		this.location = location;
+	}
+
+	@Override
+	public ServletInputStream getInputStream() throws IOException {
+		InputStream in = Files.newInputStream(body);
+		return new ServletInputStream() {
+			private boolean finished;
+
+			@Override
+			public int read() throws IOException {
+				int b = in.read();
+				finished = b == -1;
+				return b;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				int read = in.read(b, off, len);
+				finished = read == -1;
+				return read;
+			}
+
+			@Override
+			public boolean isFinished() {
+				return finished;
+			}
+
+			@Override
+			public boolean isReady() {
+				return true;
+			}
+
+			@Override
+			public void setReadListener(ReadListener readListener) {
+				throw new IllegalStateException("Body is already buffered");
+			}
+
+			@Override
+			public void close() throws IOException {
+				in.close();
+			}
+		};
+	}
+
+	@Override
+	public Collection<Part> getParts() throws IOException, ServletException {
+		parse();
+		return parts;
+	}
+
+	@Override
+	public Part getPart(String name) throws IOException, ServletException {
+		for (Part part : getParts()) {
+			if (part.getName().equals(name)) {
+				return part;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getParameter(String name) {
+		String[] values = getParameterMap().get(name);
+		return values == null ? null : values[0];
+	}
+
+	@Override
+	public String[] getParameterValues(String name) {
+		return getParameterMap().get(name);
+	}
+
+	@Override
+	public Enumeration<String> getParameterNames() {
+		return Collections.enumeration(getParameterMap().keySet());
+	}
+
+	@Override
+	public Map<String, String[]> getParameterMap() {
+		if (parameters == null) {
+			try {
+				parse();
+			} catch (IOException | ServletException e) {
+				// Reported again when the parts are read
+				return super.getParameterMap();
+			}
+			Map<String, List<String>> merged = new LinkedHashMap<>();
+			super.getParameterMap().forEach((name, values) -> merged.computeIfAbsent(name, n -> new ArrayList<>())
+					.addAll(List.of(values)));
+			for (FileItem item : items) {
+				if (item.isFormField()) {
+					merged.computeIfAbsent(item.getFieldName(), n -> new ArrayList<>()).add(fieldValue(item));
+				}
+			}
+			Map<String, String[]> result = new LinkedHashMap<>();
+			merged.forEach((name, values) -> result.put(name, values.toArray(new String[0])));
+			parameters = Collections.unmodifiableMap(result);
+		}
+		return parameters;
+	}
+
+	private String fieldValue(FileItem item) {
+		try {
+			String encoding = getCharacterEncoding();
+			return item.getString(encoding != null ? encoding : StandardCharsets.UTF_8.name());
+		} catch (IOException e) {
+			return item.getString();
+		}
+	}
+
+	private void parse() throws IOException, ServletException {
+		if (items != null) {
+			return;
+		}
+		DiskFileItemFactory factory = new DiskFileItemFactory();
+		factory.setRepository(location);
+		factory.setSizeThreshold(multipartConfig.getFileSizeThreshold());
+		FileUpload upload = new FileUpload();
+		upload.setFileItemFactory(factory);
+		upload.setFileSizeMax(multipartConfig.getMaxFileSize());
+		upload.setSizeMax(multipartConfig.getMaxRequestSize());
+		try {
+			items = upload.parseRequest(new ServletRequestContext(this));
+		} catch (SizeException e) {
+			// Same exception the container throws, which Spring maps to 413
+			throw new IllegalStateException(e);
+		} catch (FileUploadException e) {
+			throw new ServletException(e);
+		}
+		parts = new ArrayList<>(items.size());
+		for (FileItem item : items) {
+			parts.add(new ApplicationPart(item, location));
+		}
+	}
+
+	void cleanUp() throws IOException {
+		if (items != null) {
+			for (FileItem item : items) {
+				item.delete();
+			}
+		}
+		Files.deleteIfExists(body);
+	}
+}
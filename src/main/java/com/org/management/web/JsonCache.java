@@ -0,0 +1,75 @@
+package com.org.management.web;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialized JSON of recent read responses, keyed by resource and tagged
+ * with the ETag it was built for. An entry is only returned while its tag
+ * still matches, so a write that bumps the version invalidates it without
+ * any explicit eviction. The least recently used entries are dropped once
+ * the cache holds more than management.cache.max-bytes.
+ */
+@Component
+public class JsonCache {
+
+	private final ObjectMapper objectMapper;
+
+	private final long maxBytes;
+
+	// Access-ordered, so iteration starts at the least recently used entry
+	private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	// ReentrantLock rather than synchronized so waiting readers never pin a carrier thread
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private long bytes;
+
+	public JsonCache(ObjectMapper objectMapper, @Value("${management.cache.max-bytes:67108864}") long maxBytes) {
+		this.objectMapper = objectMapper;
+		this.maxBytes = maxBytes;
+	}
+
+	private record Entry(String etag, byte[] json) {
+	}
+
+	// The cached JSON for key if it was built for etag, otherwise null
+	public byte[] get(String key, String etag) {
+		lock.lock();
+		try {
+			Entry entry = entries.get(key);
+			return entry != null && entry.etag().equals(etag) ? entry.json() : null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	// Serializes value outside the lock and caches it under etag, replacing any older entry for key
+	public byte[] put(String key, String etag, Object value) throws JsonProcessingException {
+		byte[] json = objectMapper.writeValueAsBytes(value);
+		if (json.length > maxBytes) {
+			return json;
+		}
+		lock.lock();
+		try {
+			Entry previous = entries.put(key, new Entry(etag, json));
+			bytes += json.length - (previous == null ? 0 : previous.json().length);
+			Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+			while (bytes > maxBytes && eldest.hasNext()) {
+				bytes -= eldest.next().getValue().json().length;
+				eldest.remove();
+			}
+		} finally {
+			lock.unlock();
+		}
+		return json;
+	}
+}
@@ -0,0 +1,166 @@
+package com.org.management.web;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Reads multipart uploads into a temp file with a non-blocking ReadListener
+ * and only then dispatches them to the controller, so no request thread
+ * waits on a client while its body trickles in.
+ *
+ * Tomcat's NIO connector waits for body bytes inside a monitor. On Java 21
+ * that pins a virtual thread's carrier, so without this filter a few slow
+ * uploads would stall every other request in virtual-thread mode.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class UploadBufferingFilter extends OncePerRequestFilter {
+
+	static final String BODY = UploadBufferingFilter.class.getName() + ".BODY";
+
+	private static final int BUFFER_BYTES = 64 * 1024;
+
+	private final MultipartConfigElement multipartConfig;
+
+	public UploadBufferingFilter(MultipartConfigElement multipartConfig) {
+		this.multipartConfig = multipartConfig;
+	}
+
+	// The second pass arrives as an async dispatch
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Path body = (Path) request.getAttribute(BODY);
+		if (body != null) {
+			BufferedMultipartRequest buffered = new BufferedMultipartRequest(request, body, multipartConfig,
+					location(request));
+			try {
+				chain.doFilter(buffered, response);
+			} finally {
+				buffered.cleanUp();
+			}
+			return;
+		}
+
+		long maxRequestSize = multipartConfig.getMaxRequestSize();
+		if (request.getDispatcherType() != DispatcherType.REQUEST || !isMultipart(request)
+				|| (maxRequestSize >= 0 && request.getContentLengthLong() > maxRequestSize)) {
+			// Oversized uploads are rejected by the normal multipart handling without reading them
+			chain.doFilter(request, response);
+			return;
+		}
+
+		// Idle clients are still closed by the connector's read timeout
+		AsyncContext async = request.startAsync();
+		async.setTimeout(0);
+		Path file = Files.createTempFile(location(request).toPath(), "upload-", ".tmp");
+		ServletInputStream in = request.getInputStream();
+		in.setReadListener(new BodyReader(async, in, file, maxRequestSize));
+	}
+
+	private static boolean isMultipart(HttpServletRequest request) {
+		String contentType = request.getContentType();
+		return contentType != null && contentType.toLowerCase().startsWith("multipart/form-data");
+	}
+
+	// Same directory the container would spool parts to
+	private File location(HttpServletRequest request) {
+		File tempDir = (File) request.getServletContext().getAttribute(ServletContext.TEMPDIR);
+		String location = multipartConfig.getLocation();
+		if (location == null || location.isEmpty()) {
+			return tempDir;
+		}
+		File configured = new File(location);
+		return configured.isAbsolute() ? configured : new File(tempDir, location);
+	}
+
+	private static class BodyReader implements ReadListener {
+		private final AsyncContext async;
+
+		private final ServletInputStream in;
+
+		private final Path file;
+
+		private final FileChannel channel;
+
+		private final long maxRequestSize;
+
+		private final byte[] buffer = new byte[BUFFER_BYTES];
+
+		private long received;
+
+		private BodyReader(AsyncContext async, ServletInputStream in, Path file, long maxRequestSize)
+				throws IOException {
+			this.async = async;
+			this.in = in;
+			this.file = file;
+			this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+			this.maxRequestSize = maxRequestSize;
+		}
+
+		// Called by the container whenever bytes arrive; never blocks
+		@Override
+		public void onDataAvailable() throws IOException {
+			int read;
+			while (in.isReady() && (read = in.read(buffer)) != -1) {
+				received += read;
+				if (maxRequestSize >= 0 && received > maxRequestSize) {
+					discard();
+					((HttpServletResponse) async.getResponse()).setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+					async.complete();
+					return;
+				}
+				channel.write(ByteBuffer.wrap(buffer, 0, read));
+			}
+		}
+
+		@Override
+		public void onAllDataRead() throws IOException {
+			channel.close();
+			async.getRequest().setAttribute(BODY, file);
+			async.dispatch();
+		}
+
+		@Override
+		public void onError(Throwable t) {
+			discard();
+			async.complete();
+		}
+
+		private void discard() {
+			try {
+				channel.close();
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				file.toFile().deleteOnExit();
+			}
+		}
+	}
+}
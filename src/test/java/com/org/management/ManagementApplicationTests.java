@@ -1,13 +1,52 @@
 package com.org.management;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import javax.sql.DataSource;
+
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.management.metrics.TimedEmployeeRepository;
+import com.org.management.model.Employee;
+import com.org.management.repository.EmployeeRepository;
 
 @SpringBootTest
 class ManagementApplicationTests {
 
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private ApplicationContext context;
+
 	@Test
 	void contextLoads() {
+		// Every repository call goes through the timers
+		assertInstanceOf(TimedEmployeeRepository.class, employeeRepository);
+	}
+
+	@Test
+	void noDatabaseForTheMemoryStore() {
+		assertEquals(0, context.getBeanNamesForType(DataSource.class).length);
+	}
+
+	@Test
+	void jdbcStoreGetsItsDatabase() {
+		try (ConfigurableApplicationContext jdbc = new SpringApplicationBuilder(ManagementApplication.class)
+				.run("--server.port=0", "--management.repository.type=jdbc",
+						"--spring.datasource.url=jdbc:h2:mem:management-jdbc")) {
+			EmployeeRepository repository = jdbc.getBean(EmployeeRepository.class);
+			repository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+
+			assertEquals(1, jdbc.getBeanNamesForType(DataSource.class).length);
+			assertEquals("John Doe", repository.getEmployee(1).getName());
+		}
 	}
 
 }
@@ -0,0 +1,79 @@
+package com.org.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.org.management.service.InvalidHierarchyException;
+
+@DisplayName("Preload Startup Tests")
+public class PreloadStartupTest {
+
+	private static final String CSV = "EmployeeID,Name,Title,ManagerID\n"
+			+ "1,John Doe,CEO,\n"
+			+ "2,Jane Smith,CTO,1\n"
+			+ "3,Andy Rivera,Engineer,2\n";
+
+	@TempDir
+	Path directory;
+
+	private ConfigurableApplicationContext start(Path preload) {
+		return new SpringApplicationBuilder(ManagementApplication.class)
+				.run("--server.port=0", "--management.preload.path=" + preload,
+						"--management.preload.validation=strict");
+	}
+
+	@Test
+	@DisplayName("The instance serves the preloaded org once it reports ready")
+	public void testPreload_Ready() throws Exception {
+		// Arrange
+		Path csv = Files.writeString(directory.resolve("employees.csv"), CSV);
+
+		// Act
+		try (ConfigurableApplicationContext context = start(csv)) {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			HttpClient client = HttpClient.newHttpClient();
+			HttpResponse<String> readiness = client.send(HttpRequest
+					.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build(),
+					HttpResponse.BodyHandlers.ofString());
+			HttpResponse<String> chain = client.send(HttpRequest
+					.newBuilder(URI.create("http://localhost:" + port + "/employees/3/chain")).build(),
+					HttpResponse.BodyHandlers.ofString());
+
+			// Assert
+			assertEquals(ReadinessState.ACCEPTING_TRAFFIC,
+					context.getBean(ApplicationAvailability.class).getReadinessState());
+			assertEquals(200, readiness.statusCode());
+			assertTrue(readiness.body().contains("\"UP\""));
+			assertEquals(200, chain.statusCode());
+			assertTrue(chain.body().contains("Jane Smith") && chain.body().contains("John Doe"));
+		}
+	}
+
+	@Test
+	@DisplayName("A file that cannot be loaded stops the instance from starting")
+	public void testPreload_Invalid() throws Exception {
+		// Arrange
+		Path invalid = Files.writeString(directory.resolve("employees.csv"), CSV + "4,Kim Park,Engineer,9\n");
+
+		// Act & Assert
+		Exception e = assertThrows(IllegalStateException.class, () -> start(invalid).close());
+		assertTrue(e.getCause() instanceof InvalidHierarchyException);
+	}
+}
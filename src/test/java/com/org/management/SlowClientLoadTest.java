@@ -0,0 +1,174 @@
+package com.org.management;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Many clients trickle CSV uploads to /employees/startup while a probe sends
+ * GET /employees/1 at a fixed rate, once on the platform-thread pool and
+ * once on virtual threads. On the pool each upload holds a thread until its
+ * body has arrived, so the probe queues behind them; on virtual threads the
+ * bodies are buffered without a thread and the probe is answered at once.
+ * Needs Java 21 and is opt-in:
+ *
+ * mvn test -Dtest=SlowClientLoadTest -Dloadtest=true [-Dloadtest.clients=1000] [-Dloadtest.threads=200]
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@DisplayName("Slow Client Load Tests")
+public class SlowClientLoadTest {
+
+	// Comfortably past the platform pool, which defaults to Tomcat's 200 threads
+	private static final int SLOW_CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+
+	private static final int POOL_THREADS = Integer.getInteger("loadtest.threads", 200);
+
+	private static final int BODY_PIECES = 20;
+
+	private static final long PIECE_DELAY_MS = 250;
+
+	private static final long PROBE_INTERVAL_MS = 20;
+
+	private static final String BOUNDARY = "load-test-boundary";
+
+	private static final byte[] BODY = ("--" + BOUNDARY + "\r\n"
+			+ "Content-Disposition: form-data; name=\"employees\"; filename=\"employees.csv\"\r\n"
+			+ "Content-Type: text/csv\r\n\r\n"
+			+ "1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,Engineer,2\n"
+			+ "\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+
+	@Test
+	@DisplayName("Virtual threads keep the probe fast while slow uploads are in flight")
+	public void testSlowUploads() throws Exception {
+		// Act
+		Run platform = run(false);
+		Run virtual = run(true);
+
+		// Assert
+		System.out.printf("%-9s %8s %8s %10s %10s %10s %10s%n",
+				"threads", "uploads", "failed", "probe p50", "probe p99", "probe max", "wall");
+		platform.print("platform");
+		virtual.print("virtual");
+		assertEquals(0, platform.failedUploads);
+		assertEquals(0, virtual.failedUploads);
+		assertTrue(virtual.percentile(99) < platform.percentile(99));
+	}
+
+	private Run run(boolean virtualThreads) throws Exception {
+		// Arguments rather than default properties, so they win over application.properties
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(ManagementApplication.class)
+				.run("--server.port=0",
+						"--spring.threads.virtual.enabled=" + virtualThreads,
+						"--server.tomcat.threads.max=" + POOL_THREADS,
+						"--logging.level.root=warn");
+		List<Socket> uploads = new ArrayList<>();
+		try {
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			for (int i = 0; i < SLOW_CLIENTS; i++) {
+				uploads.add(startUpload(port));
+			}
+
+			// One thread feeds every upload a piece at a time and probes in between, so the client never queues
+			HttpClient probe = HttpClient.newHttpClient();
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/1")).build();
+			List<CompletableFuture<Long>> probes = new ArrayList<>();
+			int piece = (BODY.length + BODY_PIECES - 1) / BODY_PIECES;
+			long start = System.nanoTime();
+			long nextPiece = start;
+			for (int from = 0; from < BODY.length;) {
+				if (System.nanoTime() >= nextPiece) {
+					for (Socket upload : uploads) {
+						upload.getOutputStream().write(BODY, from, Math.min(piece, BODY.length - from));
+					}
+					from += piece;
+					nextPiece += TimeUnit.MILLISECONDS.toNanos(PIECE_DELAY_MS);
+				}
+				long sent = System.nanoTime();
+				probes.add(probe.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+						.thenApply(response -> System.nanoTime() - sent));
+				Thread.sleep(PROBE_INTERVAL_MS);
+			}
+
+			Run run = new Run();
+			for (Socket upload : uploads) {
+				if (!readStatus(upload).startsWith("HTTP/1.1 200")) {
+					run.failedUploads++;
+				}
+			}
+			run.wallNanos = System.nanoTime() - start;
+			run.latencies = new long[probes.size()];
+			for (int i = 0; i < probes.size(); i++) {
+				run.latencies[i] = probes.get(i).get();
+			}
+			Arrays.sort(run.latencies);
+			return run;
+		} finally {
+			for (Socket upload : uploads) {
+				upload.close();
+			}
+			context.close();
+		}
+	}
+
+	// Sends the request line and headers; the body follows in pieces
+	private static Socket startUpload(int port) throws IOException {
+		Socket socket = new Socket("localhost", port);
+		socket.setSoTimeout(60_000);
+		socket.getOutputStream().write(("POST /employees/startup?mode=stream HTTP/1.1\r\n"
+				+ "Host: localhost\r\n"
+				+ "Content-Type: multipart/form-data; boundary=" + BOUNDARY + "\r\n"
+				+ "Content-Length: " + BODY.length + "\r\n"
+				+ "Connection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		return socket;
+	}
+
+	private static String readStatus(Socket socket) throws IOException {
+		InputStream in = socket.getInputStream();
+		StringBuilder status = new StringBuilder();
+		for (int b = in.read(); b != -1 && b != '\r'; b = in.read()) {
+			status.append((char) b);
+		}
+		return status.toString();
+	}
+
+	private static class Run {
+		private int failedUploads;
+
+		private long[] latencies;
+
+		private long wallNanos;
+
+		private long percentile(int percent) {
+			return latencies[Math.min(latencies.length - 1, latencies.length * percent / 100)];
+		}
+
+		private void print(String threads) {
+			System.out.printf("%-9s %8d %8d %8d ms %8d ms %8d ms %8d ms%n", threads, SLOW_CLIENTS, failedUploads,
+					TimeUnit.NANOSECONDS.toMillis(percentile(50)), TimeUnit.NANOSECONDS.toMillis(percentile(99)),
+					TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length - 1]), TimeUnit.NANOSECONDS.toMillis(wallNanos));
+		}
+	}
+}
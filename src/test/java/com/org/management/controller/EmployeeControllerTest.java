@@ -7,33 +7,66 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.org.management.model.BatchItemResult;
+import com.org.management.model.ChangeEvent;
+import com.org.management.model.ChangePage;
+import com.org.management.model.DeleteResult;
+import com.org.management.model.DeltaResult;
 import com.org.management.model.Employee;
+import com.org.management.model.EmployeePage;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.ImportResult;
+import com.org.management.model.LcaQuery;
+import com.org.management.model.LcaResult;
+import com.org.management.model.OrgSummary;
+import com.org.management.model.SearchPage;
+import com.org.management.model.ValidationReport;
+import com.org.management.service.ChangeFeed;
 import com.org.management.service.EmployeeService;
+import com.org.management.service.InvalidHierarchyException;
+import com.org.management.service.ValidationMode;
+import com.org.management.web.JsonCache;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 
 @WebMvcTest(EmployeeController.class)
+@Import(JsonCache.class)
 @DisplayName("Employee Controller Tests")
 public class EmployeeControllerTest {
 
@@ -42,14 +75,24 @@ public class EmployeeControllerTest {
 
 	@MockBean
 	private EmployeeService employeeService;
+
+	@MockBean
+	private ChangeFeed changeFeed;
 	
     @Autowired
     private ObjectMapper objectMapper;
 
 	private Employee employee;
 
+	// The cache outlives each test, so every test starts at a version nothing was cached for
+	private static long version;
+
 	@BeforeEach
 	public void setUp() {
+		version++;
+		given(employeeService.getVersion()).willReturn(version);
+		given(employeeService.getSubtreeVersion(any())).willReturn(version);
+
 		employee = Employee
 					.builder()
 					.employeeId(77)
@@ -74,7 +117,7 @@ public class EmployeeControllerTest {
 								        );
 	    	
 	    	// Stub
-	        when(employeeService.initialSave((MultipartFile) any(MultipartFile.class))).thenReturn(true);
+	        when(employeeService.initialSave(any(MultipartFile.class), eq(ValidationMode.LENIENT))).thenReturn(true);
 
 	        // Act & Assert
 	        mockMvc.perform(multipart("/employees/startup")
@@ -115,7 +158,7 @@ public class EmployeeControllerTest {
 		        );
 	    	
 	    	// Stub
-			when(employeeService.initialSave((MultipartFile) any(MultipartFile.class)))
+			when(employeeService.initialSave(any(MultipartFile.class), eq(ValidationMode.LENIENT)))
 				.thenThrow(new IOException("Invalid CSV format: Insufficient data"));
 			
 			// Act & Assert
@@ -125,8 +168,222 @@ public class EmployeeControllerTest {
 					.andExpect(status().isInternalServerError())
 					.andExpect(content().string("Error processing file: Invalid CSV format: Insufficient data"));
 		}
+
+		@Test
+		@DisplayName("Stream employees from csv and report counts")
+		public void testLoadData_Stream() throws Exception {
+			// Arrange
+			MockMultipartFile mockFile = new MockMultipartFile(
+					"employees",
+					"test.csv",
+					MediaType.TEXT_PLAIN_VALUE,
+					"EmployeeId,Name,Title,ManagerId\n1,John Doe,CEO,\n2,Jane Smith,CTO,1".getBytes()
+				);
+			ImportResult result = new ImportResult(2, 0, 0, 2, new ValidationReport());
+
+			// Stub
+			when(employeeService.streamingSave(any(MultipartFile.class), eq(ValidationMode.LENIENT))).thenReturn(result);
+
+			// Act & Assert
+			mockMvc.perform(multipart("/employees/startup")
+					.file(mockFile)
+					.param("mode", "stream")
+					.contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.loaded", is(2)))
+					.andExpect(jsonPath("$.skipped", is(0)))
+					.andExpect(jsonPath("$.rejected", is(0)))
+					.andExpect(jsonPath("$.version", is(2)))
+					.andExpect(jsonPath("$.validation.valid", is(true)));
+		}
+
+		@Test
+		@DisplayName("Strict import of an invalid hierarchy is rejected with its report")
+		public void testLoadData_StrictInvalid() throws Exception {
+			// Arrange
+			MockMultipartFile mockFile = new MockMultipartFile(
+					"employees",
+					"test.csv",
+					MediaType.TEXT_PLAIN_VALUE,
+					"1,John Doe,CEO,\n2,Jane Smith,CTO,3\n3,Andy Rivera,CFO,2".getBytes()
+				);
+			ValidationReport report = ValidationReport.builder().cycles(2).cycleIds(List.of(3, 2)).build();
+
+			// Stub
+			when(employeeService.streamingSave(any(MultipartFile.class), eq(ValidationMode.STRICT)))
+				.thenThrow(new InvalidHierarchyException(report));
+
+			// Act & Assert
+			mockMvc.perform(multipart("/employees/startup")
+					.file(mockFile)
+					.param("mode", "stream")
+					.param("validation", "strict")
+					.contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isUnprocessableEntity())
+					.andExpect(jsonPath("$.cycles", is(2)))
+					.andExpect(jsonPath("$.cycleIds[1]", is(2)))
+					.andExpect(jsonPath("$.valid", is(false)));
+		}
+
+		@Test
+		@DisplayName("Delta import reports the change set")
+		public void testLoadData_Delta() throws Exception {
+			// Arrange
+			MockMultipartFile mockFile = new MockMultipartFile(
+					"employees",
+					"test.csv",
+					MediaType.TEXT_PLAIN_VALUE,
+					"1,John Doe,CEO,\n2,Jane Smith,COO,1".getBytes()
+				);
+			DeltaResult result = new DeltaResult();
+			result.setUpdated(1);
+			result.setRemoved(3);
+
+			// Stub
+			when(employeeService.deltaSave(any(MultipartFile.class), eq(ValidationMode.LENIENT))).thenReturn(result);
+
+			// Act & Assert
+			mockMvc.perform(multipart("/employees/startup")
+					.file(mockFile)
+					.param("mode", "delta")
+					.contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.updated", is(1)))
+					.andExpect(jsonPath("$.removed", is(3)))
+					.andExpect(jsonPath("$.loaded", is(0)));
+		}
 	}
 	
+	@Nested
+	@DisplayName("Binary Export And Import Endpoint Tests")
+	public class BinaryTests {
+		@Test
+		@DisplayName("Import an export and report counts")
+		public void testImportData_Success() throws Exception {
+			// Arrange
+			MockMultipartFile mockFile = new MockMultipartFile("employees", "employees.bin",
+					MediaType.APPLICATION_OCTET_STREAM_VALUE, new byte[] { 'E', 'M', 'P', 'X', 1, 0, 0 });
+			ImportResult result = new ImportResult(2, 0, 0, 3, new ValidationReport());
+
+			// Stub
+			when(employeeService.binarySave(any(MultipartFile.class), eq(ValidationMode.STRICT))).thenReturn(result);
+
+			// Act & Assert
+			mockMvc.perform(multipart("/employees/import")
+					.file(mockFile)
+					.param("validation", "strict")
+					.contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.loaded", is(2)))
+					.andExpect(jsonPath("$.version", is(3)));
+		}
+
+		@Test
+		@DisplayName("Import of an empty or unreadable file fails")
+		public void testImportData_Errors() throws Exception {
+			// Arrange
+			MockMultipartFile empty = new MockMultipartFile("employees", "employees.bin",
+					MediaType.APPLICATION_OCTET_STREAM_VALUE, new byte[0]);
+			MockMultipartFile csv = new MockMultipartFile("employees", "employees.csv",
+					MediaType.TEXT_PLAIN_VALUE, "1,John Doe,CEO,".getBytes());
+
+			// Stub
+			when(employeeService.binarySave(any(MultipartFile.class), eq(ValidationMode.LENIENT)))
+				.thenThrow(new IOException("Error saving employees to repository"));
+
+			// Act & Assert
+			mockMvc.perform(multipart("/employees/import").file(empty).contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("File is empty"));
+			mockMvc.perform(multipart("/employees/import").file(csv).contentType(MediaType.MULTIPART_FORM_DATA))
+					.andExpect(status().isInternalServerError())
+					.andExpect(content().string("Error processing file: Error saving employees to repository"));
+		}
+
+		@Test
+		@DisplayName("Export streams the binary format as a download")
+		public void testExportEmployees() throws Exception {
+			// Stub
+			doAnswer(invocation -> {
+				OutputStream out = invocation.getArgument(0);
+				out.write(new byte[] { 'E', 'M', 'P', 'X' });
+				return null;
+			}).when(employeeService).export(any(OutputStream.class), eq(true));
+
+			// Act
+			MvcResult started = mockMvc.perform(get("/employees/export").param("compress", "gzip"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			// Assert
+			mockMvc.perform(asyncDispatch(started))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+					.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.bin\""))
+					.andExpect(content().bytes(new byte[] { 'E', 'M', 'P', 'X' }));
+		}
+	}
+
+	@Nested
+	@DisplayName("Get Tree Endpoint Tests")
+	public class GetTreeTests {
+		@Test
+		@DisplayName("Stream the walk as nested JSON")
+		public void testGetTree_Success() throws Exception {
+			// Arrange
+			Employee report = new Employee(78, "Jane Smith", "Engineer", 77);
+			Employee limit = new Employee(79, "Andy Rivera", "Engineer", 78);
+
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.isInHierarchy(employee)).willReturn(true);
+			doAnswer(invocation -> {
+				EmployeeService.TreeVisitor visitor = invocation.getArgument(2);
+				visitor.enter(employee, true);
+				visitor.enter(report, true);
+				visitor.enter(limit, false);
+				visitor.exit(report);
+				visitor.exit(employee);
+				return null;
+			}).when(employeeService).walkTree(eq(employee), eq(2), any());
+
+			// Act
+			MvcResult started = mockMvc.perform(get("/employees/77/tree").param("depth", "2"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			// Assert
+			mockMvc.perform(asyncDispatch(started))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+					.andExpect(jsonPath("$.employeeId", is(77)))
+					.andExpect(jsonPath("$.managerId", is(4)))
+					.andExpect(jsonPath("$.reports[0].name", is("Jane Smith")))
+					.andExpect(jsonPath("$.reports[0].reports[0].employeeId", is(79)))
+					.andExpect(jsonPath("$.reports[0].reports[0].reports").doesNotExist());
+		}
+
+		@Test
+		@DisplayName("Refuse a bad depth, an unknown employee and one in a manager cycle")
+		public void testGetTree_Errors() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.isInHierarchy(employee)).willReturn(false);
+
+			// Act & Assert
+			mockMvc.perform(asyncDispatch(mockMvc.perform(get("/employees/77/tree").param("depth", "0")).andReturn()))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Depth must be positive"));
+			mockMvc.perform(asyncDispatch(mockMvc.perform(get("/employees/5/tree")).andReturn()))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("EmployeeID does not exist"));
+			mockMvc.perform(asyncDispatch(mockMvc.perform(get("/employees/77/tree")).andReturn()))
+					.andExpect(status().isConflict())
+					.andExpect(content().string("Employee is in a manager cycle"));
+			verify(employeeService, never()).getStats(any());
+		}
+	}
+
 	@Nested
 	@DisplayName("Get Employees Endpoint Tests")
 	public class GetEmployeesTests {
@@ -164,6 +421,120 @@ public class EmployeeControllerTest {
 					.andExpect(status().isBadRequest())
 					.andExpect(content().string("No employees exist"));
 		}
+
+		@Test
+		@DisplayName("Get current hierarchy version")
+		public void testGetVersion() throws Exception {
+			// Stub
+			given(employeeService.getVersion()).willReturn(42L);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/version"))
+					.andExpect(status().isOk())
+					.andExpect(content().string("42"));
+		}
+
+		@Test
+		@DisplayName("Get first page of employees with default limit")
+		public void testGetEmployees_FirstPage() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(new Employee(1, "John Doe", "CEO", 0));
+
+			// Stub
+			given(employeeService.getEmployees(null, 1)).willReturn(new EmployeePage(employees, 1));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees")
+					.param("limit", "1")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.employees[0].employeeId", is(1)))
+					.andExpect(jsonPath("$.next", is(1)));
+		}
+
+		@Test
+		@DisplayName("Get page of employees after a cursor")
+		public void testGetEmployees_AfterCursor() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(new Employee(2, "Jane Smith", "CTO", 1));
+
+			// Stub
+			given(employeeService.getEmployees(1, 100)).willReturn(new EmployeePage(employees, null));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees")
+					.param("after", "1")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.employees[0].employeeId", is(2)))
+					.andExpect(jsonPath("$.next").doesNotExist());
+		}
+
+		@Test
+		@DisplayName("Get page of employees with limit out of range")
+		public void testGetEmployees_InvalidLimit() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees")
+					.param("limit", "1001")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Limit must be between 1 and 1000"));
+		}
+
+		@Test
+		@DisplayName("Get several employees by id in one request")
+		public void testGetEmployees_ByIds() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(new Employee(2, "Jane Smith", "CTO", 1),
+					new Employee(1, "John Doe", "CEO", 0));
+
+			// Stub
+			given(employeeService.getEmployees(List.of(2, 1, 9))).willReturn(employees);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees")
+					.param("ids", "2,1,9")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(content().json(objectMapper.writeValueAsString(employees)));
+		}
+
+		@Test
+		@DisplayName("Get employees by ids that do not exist")
+		public void testGetEmployees_ByIdsMissing() throws Exception {
+			// Stub
+			given(employeeService.getEmployees(List.of(9))).willReturn(List.of());
+
+			// Act & Assert
+			mockMvc.perform(get("/employees")
+					.param("ids", "9")
+					.contentType(MediaType.APPLICATION_JSON))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Stream employees as newline-delimited json")
+		public void testStreamEmployees() throws Exception {
+			// Arrange
+			Employee ceo = new Employee(1, "John Doe", "CEO", 0);
+			Employee cto = new Employee(2, "Jane Smith", "CTO", 1);
+
+			// Stub
+			given(employeeService.getEmployees(null, 1000)).willReturn(new EmployeePage(List.of(ceo, cto), null));
+
+			// Act
+			MvcResult result = mockMvc.perform(get("/employees/stream"))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			// Assert
+			mockMvc.perform(asyncDispatch(result))
+					.andExpect(status().isOk())
+					.andExpect(content().contentType("application/x-ndjson"))
+					.andExpect(content().string(objectMapper.writeValueAsString(ceo) + "\n"
+							+ objectMapper.writeValueAsString(cto) + "\n"));
+		}
 	}
 
 	@Nested
@@ -316,6 +687,458 @@ public class EmployeeControllerTest {
 		}
 	}
 	
+	@Nested
+	@DisplayName("Conditional Get Tests")
+	public class ConditionalGetTests {
+		@Test
+		@DisplayName("Employee list carries an ETag and is served from cache while it matches")
+		public void testGetEmployees_ETagAndCache() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(new Employee(1, "John Doe", "CEO", null));
+
+			// Stub
+			given(employeeService.getEmployees()).willReturn(employees);
+
+			// Act
+			String etag = mockMvc.perform(get("/employees"))
+					.andExpect(status().isOk())
+					.andExpect(header().exists(HttpHeaders.ETAG))
+					.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+			mockMvc.perform(get("/employees"))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.ETAG, etag))
+					.andExpect(content().json(objectMapper.writeValueAsString(employees)));
+
+			// Assert
+			verify(employeeService).getEmployees();
+		}
+
+		@Test
+		@DisplayName("Matching If-None-Match returns 304 without building the page")
+		public void testGetEmployees_NotModified() throws Exception {
+			// Stub
+			given(employeeService.getEmployees(null, 1))
+					.willReturn(new EmployeePage(List.of(new Employee(1, "John Doe", "CEO", null)), 1));
+
+			// Arrange
+			String etag = mockMvc.perform(get("/employees").param("limit", "1"))
+					.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees").param("limit", "1").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, etag))
+					.andExpect(content().string(""));
+			verify(employeeService).getEmployees(null, 1);
+		}
+
+		@Test
+		@DisplayName("Changed version returns the new list")
+		public void testGetEmployees_Modified() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(new Employee(1, "John Doe", "CEO", null));
+			given(employeeService.getEmployees()).willReturn(employees);
+			String etag = mockMvc.perform(get("/employees")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+			// Stub
+			given(employeeService.getVersion()).willReturn(version + 1000);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isOk())
+					.andExpect(content().json(objectMapper.writeValueAsString(employees)));
+		}
+
+		@Test
+		@DisplayName("Subordinates are revalidated against the manager's subtree version")
+		public void testGetSubordinates_NotModified() throws Exception {
+			// Arrange
+			List<Employee> subordinates = List.of(new Employee(1, "Jane Smith", "CTO", 77));
+
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getSubordinates(employee)).willReturn(subordinates);
+
+			// Act
+			String etag = mockMvc.perform(get("/employees/77/subordinates"))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+			// Assert
+			given(employeeService.getVersion()).willReturn(version + 1000);
+			mockMvc.perform(get("/employees/77/subordinates").header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified());
+			given(employeeService.getSubtreeVersion(77)).willReturn(version + 1000);
+			mockMvc.perform(get("/employees/77/subordinates").header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isOk())
+					.andExpect(content().json(objectMapper.writeValueAsString(subordinates)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Get Chain Endpoint Tests")
+	public class GetChainTests {
+
+		@Test
+		@DisplayName("Get chain for non-existing employee id")
+		public void testGetChain_EmployeeNotFound() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/76/chain")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Get chain for employee without managers")
+		public void testGetChain_Empty() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getChain(employee)).willReturn(new ArrayList<>());
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/chain")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isNotFound())
+			.andExpect(content().string("Employee has no managers"));
+		}
+
+		@Test
+		@DisplayName("Get chain for employee id")
+		public void testGetChain_Success() throws Exception {
+			// Arrange
+			List<Employee> chain = new ArrayList<>();
+			chain.add(new Employee(4, "Andy Rivera", "Senior Engineer", 1));
+			chain.add(new Employee(1, "Jane Smith", "CEO", 0));
+
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getChain(employee)).willReturn(chain);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/chain")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(content().json(objectMapper.writeValueAsString(chain)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Get Stats Endpoint Tests")
+	public class GetStatsTests {
+
+		@Test
+		@DisplayName("Get stats for non-existing employee id")
+		public void testGetStats_EmployeeNotFound() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/76/stats")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Get stats for employee in a manager cycle")
+		public void testGetStats_Cycle() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/stats")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isConflict())
+			.andExpect(content().string("Employee is in a manager cycle"));
+		}
+
+		@Test
+		@DisplayName("Get stats for employee id")
+		public void testGetStats_Success() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getStats(employee)).willReturn(new EmployeeStats(77, 2, 3, 10, 4));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/stats")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.level", is(2)))
+			.andExpect(jsonPath("$.directReports", is(3)))
+			.andExpect(jsonPath("$.headcount", is(10)))
+			.andExpect(jsonPath("$.depth", is(4)));
+		}
+
+		@Test
+		@DisplayName("Get org summary")
+		public void testGetOrgSummary() throws Exception {
+			// Stub
+			given(employeeService.getOrgSummary()).willReturn(new OrgSummary(6, 4, 3, 2, 1.25));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/summary"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.employees", is(6)))
+			.andExpect(jsonPath("$.maxSpan", is(2)))
+			.andExpect(jsonPath("$.averageSpan", is(1.25)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Search Endpoint Tests")
+	public class SearchTests {
+
+		@Test
+		@DisplayName("Search without a name or title")
+		public void testSearch_NoQuery() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/search").param("name", " "))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("Name or title is required"));
+		}
+
+		@Test
+		@DisplayName("Search under non-existing employee id")
+		public void testSearch_ManagerNotFound() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/search").param("name", "jo").param("under", "76"))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Search with negative offset")
+		public void testSearch_InvalidOffset() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/search").param("title", "eng").param("offset", "-1"))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("Offset must not be negative"));
+		}
+
+		@Test
+		@DisplayName("Search by name and title under a manager")
+		public void testSearch_Success() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(4)).willReturn(new Employee(4, "Sam Lee", "CTO", 1));
+			given(employeeService.search("jo", "soft", 4, 20, 10))
+					.willReturn(new SearchPage(List.of(employee), 30));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/search")
+					.param("name", "jo")
+					.param("title", "soft")
+					.param("under", "4")
+					.param("offset", "20")
+					.param("limit", "10"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.employees[0].employeeId", is(77)))
+			.andExpect(jsonPath("$.next", is(30)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Get Reports Endpoint Tests")
+	public class GetReportsTests {
+
+		@Test
+		@DisplayName("Get reports with non-positive depth")
+		public void testGetReports_InvalidDepth() throws Exception {
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/reports")
+					.param("depth", "0")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("Depth must be positive"));
+		}
+
+		@Test
+		@DisplayName("Get reports for employee without reports")
+		public void testGetReports_Empty() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getReports(employee, null)).willReturn(new ArrayList<>());
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/reports")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isNotFound())
+			.andExpect(content().string("Employee has no reports"));
+		}
+
+		@Test
+		@DisplayName("Get depth-limited reports for employee id")
+		public void testGetReports_Success() throws Exception {
+			// Arrange
+			List<Employee> reports = new ArrayList<>();
+			reports.add(new Employee(1, "John Doe", "Engineering", 77));
+			reports.add(new Employee(2, "Andy Rivera", "Marketing", 1));
+
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+			given(employeeService.getReports(employee, 2)).willReturn(reports);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/77/reports")
+					.param("depth", "2")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(content().json(objectMapper.writeValueAsString(reports)));
+		}
+	}
+
+	@Nested
+	@DisplayName("Change Feed Endpoint Tests")
+	public class ChangeFeedTests {
+
+		private final ChangePage page = new ChangePage(List.of(
+				new ChangeEvent(41, ChangeEvent.Type.INSERT, new Employee(78, "Jane Smith", "CTO", 77)),
+				new ChangeEvent(42, ChangeEvent.Type.MOVE, new Employee(77, "John Doe", "Software Engineer", 78))), 42);
+
+		private ResultActions changes(String query) throws Exception {
+			MvcResult result = mockMvc.perform(get("/employees/changes" + query))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+			return mockMvc.perform(asyncDispatch(result));
+		}
+
+		@Test
+		@DisplayName("Get changes without a position starts after the newest one")
+		public void testGetChanges_NoPosition() throws Exception {
+			// Stub
+			given(changeFeed.getLast()).willReturn(40L);
+
+			// Act & Assert
+			changes("")
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.events.length()", is(0)))
+					.andExpect(jsonPath("$.next", is(40)));
+		}
+
+		@Test
+		@DisplayName("Get changes since a position returns the batch after it")
+		public void testGetChanges_Batch() throws Exception {
+			// Stub
+			given(changeFeed.read(40, 100)).willReturn(page);
+
+			// Act & Assert
+			changes("?since=40")
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.events[0].type", is("INSERT")))
+					.andExpect(jsonPath("$.events[1].employee.employeeId", is(77)))
+					.andExpect(jsonPath("$.next", is(42)));
+		}
+
+		@Test
+		@DisplayName("Get changes from a position that is no longer kept")
+		public void testGetChanges_Gone() throws Exception {
+			// Act & Assert
+			changes("?since=3")
+					.andExpect(status().isGone())
+					.andExpect(content().string("Changes since 3 are no longer available; reload /employees"));
+		}
+
+		@Test
+		@DisplayName("Get changes with a wait that is out of range")
+		public void testGetChanges_InvalidWait() throws Exception {
+			// Act & Assert
+			changes("?since=40&wait=61")
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Wait must be between 0 and 60 seconds"));
+		}
+
+		@Test
+		@DisplayName("Long poll answers once a change is published")
+		public void testGetChanges_LongPoll() throws Exception {
+			// Stub
+			given(changeFeed.read(40, 100)).willReturn(new ChangePage(List.of(), 40), page);
+			doAnswer(invocation -> {
+				invocation.getArgument(1, Runnable.class).run();
+				return null;
+			}).when(changeFeed).await(anyLong(), any());
+
+			// Act & Assert
+			changes("?since=40&wait=30")
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.events.length()", is(2)));
+			verify(changeFeed).await(eq(40L), any());
+			verify(changeFeed).cancel(any());
+		}
+	}
+
+	@Nested
+	@DisplayName("Common Manager Endpoint Tests")
+	public class CommonManagerTests {
+
+		@Test
+		@DisplayName("Get common manager for non-existing employee id")
+		public void testGetCommonManager_EmployeeNotFound() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(77)).willReturn(employee);
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/lca")
+					.param("a", "77")
+					.param("b", "76")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isBadRequest())
+			.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Get common manager for employees in separate trees")
+		public void testGetCommonManager_NotFound() throws Exception {
+			// Stub
+			given(employeeService.getEmployee(any(Integer.class))).willReturn(employee);
+			given(employeeService.getCommonManager(77, 78)).willReturn(new LcaResult(77, 78, null, null));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/lca")
+					.param("a", "77")
+					.param("b", "78")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isNotFound())
+			.andExpect(content().string("Employees do not share a manager"));
+		}
+
+		@Test
+		@DisplayName("Get common manager for two employees")
+		public void testGetCommonManager_Success() throws Exception {
+			// Arrange
+			Employee manager = new Employee(4, "Andy Rivera", "Senior Engineer", 0);
+
+			// Stub
+			given(employeeService.getEmployee(any(Integer.class))).willReturn(employee);
+			given(employeeService.getCommonManager(77, 78)).willReturn(new LcaResult(77, 78, manager, 2));
+
+			// Act & Assert
+			mockMvc.perform(get("/employees/lca")
+					.param("a", "77")
+					.param("b", "78")
+					.contentType(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.manager.employeeId", is(4)))
+			.andExpect(jsonPath("$.distance", is(2)));
+		}
+
+		@Test
+		@DisplayName("Get common managers for a batch of pairs")
+		public void testGetCommonManagers_Batch() throws Exception {
+			// Arrange
+			List<LcaQuery> queries = List.of(new LcaQuery(77, 78), new LcaQuery(77, 99));
+			List<LcaResult> results = List.of(
+					new LcaResult(77, 78, new Employee(4, "Andy Rivera", "Senior Engineer", 0), 2),
+					new LcaResult(77, 99, null, null));
+
+			// Stub
+			given(employeeService.getCommonManagers(queries)).willReturn(results);
+
+			// Act & Assert
+			mockMvc.perform(post("/employees/lca")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(queries)))
+			.andExpect(status().isOk())
+			.andExpect(content().json(objectMapper.writeValueAsString(results)));
+		}
+	}
+
 	@Nested
 	@DisplayName("Add Employee Endpoint Tests")
 	public class AddEmployeeTests {
@@ -370,5 +1193,147 @@ public class EmployeeControllerTest {
 			.andExpect(status().isOk())
 			.andExpect(content().json(employeeJson));
 		}
+
+		@Test
+		@DisplayName("Add batch of employees and report each item")
+		public void testAddEmployees_Batch() throws Exception {
+			// Arrange
+			List<Employee> employees = List.of(employee, new Employee(78, "Jane Smith", "Software Engineer", 77));
+			List<BatchItemResult> results = List.of(
+					new BatchItemResult(77, BatchItemResult.Status.SAVED),
+					new BatchItemResult(78, BatchItemResult.Status.SAVED));
+
+			// Stub
+			given(employeeService.saveBatch(employees)).willReturn(results);
+
+			// Act & Assert
+			mockMvc.perform(post("/employees/batch")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employees)))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$[1].employeeId", is(78)))
+					.andExpect(jsonPath("$[1].status", is("SAVED")));
+		}
+
+		@Test
+		@DisplayName("Add empty batch of employees")
+		public void testAddEmployees_EmptyBatch() throws Exception {
+			// Act & Assert
+			mockMvc.perform(post("/employees/batch")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("[]"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Between 1 and 1000 employees are required"));
+		}
+	}
+
+	@Nested
+	@DisplayName("Update Employee Endpoint Tests")
+	public class UpdateEmployeeTests {
+
+		@Test
+		@DisplayName("Update employee whose id does not match the path")
+		public void testUpdateEmployee_PathMismatch() throws Exception {
+			// Act & Assert
+			mockMvc.perform(put("/employees/78")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employee)))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("EmployeeID does not match the path"));
+		}
+
+		@Test
+		@DisplayName("Update employee under one of its own reports")
+		public void testUpdateEmployee_Cycle() throws Exception {
+			// Stub
+			given(employeeService.update(employee)).willReturn(-2);
+
+			// Act & Assert
+			mockMvc.perform(put("/employees/77")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employee)))
+					.andExpect(status().isConflict())
+					.andExpect(content().string("Manager reports to the employee"));
+		}
+
+		@Test
+		@DisplayName("Update employee that does not exist")
+		public void testUpdateEmployee_NotFound() throws Exception {
+			// Stub
+			given(employeeService.update(employee)).willReturn(-1);
+
+			// Act & Assert
+			mockMvc.perform(put("/employees/77")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(employee)))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Update employee and move it to a new manager")
+		public void testUpdateEmployee_Success() throws Exception {
+			// Arrange
+			String employeeJson = objectMapper.writeValueAsString(employee);
+
+			// Stub
+			given(employeeService.update(employee)).willReturn(1);
+
+			// Act & Assert
+			mockMvc.perform(put("/employees/77")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(employeeJson))
+					.andExpect(status().isOk())
+					.andExpect(content().json(employeeJson));
+		}
+	}
+
+	@Nested
+	@DisplayName("Delete Employee Endpoint Tests")
+	public class DeleteEmployeeTests {
+
+		@Test
+		@DisplayName("Delete employee that does not exist")
+		public void testDeleteEmployee_NotFound() throws Exception {
+			// Act & Assert
+			mockMvc.perform(delete("/employees/76"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("EmployeeID does not exist"));
+		}
+
+		@Test
+		@DisplayName("Delete employee with an unknown reports mode")
+		public void testDeleteEmployee_InvalidMode() throws Exception {
+			// Act & Assert
+			mockMvc.perform(delete("/employees/77").param("reports", "orphan"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().string("Reports must be reassign or cascade"));
+		}
+
+		@Test
+		@DisplayName("Delete employee and reassign its reports by default")
+		public void testDeleteEmployee_Reassign() throws Exception {
+			// Stub
+			given(employeeService.delete(77, false)).willReturn(new DeleteResult(List.of(77), List.of(78, 79)));
+
+			// Act & Assert
+			mockMvc.perform(delete("/employees/77"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.removed[0]", is(77)))
+					.andExpect(jsonPath("$.reassigned[1]", is(79)));
+		}
+
+		@Test
+		@DisplayName("Delete employee together with its reports")
+		public void testDeleteEmployee_Cascade() throws Exception {
+			// Stub
+			given(employeeService.delete(77, true)).willReturn(new DeleteResult(List.of(79, 78, 77), List.of()));
+
+			// Act & Assert
+			mockMvc.perform(delete("/employees/77").param("reports", "cascade"))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.removed[2]", is(77)))
+					.andExpect(jsonPath("$.reassigned.length()", is(0)));
+		}
 	}
 }
@@ -0,0 +1,84 @@
+package com.org.management.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.org.management.model.Employee;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Timed Employee Repository Tests")
+public class TimedEmployeeRepositoryTest {
+
+	private SimpleMeterRegistry registry;
+
+	private EmployeeRepository employeeRepository;
+
+	@BeforeEach
+	public void setUp() {
+		registry = new SimpleMeterRegistry();
+		employeeRepository = new TimedEmployeeRepository(new InMemoryEmployeeRepository(), registry);
+	}
+
+	private long count(String operation) {
+		return registry.get(TimedEmployeeRepository.TIMER).tag("operation", operation).timer().count();
+	}
+
+	@Test
+	@DisplayName("Each store operation is timed under its own tag")
+	public void testOperationsTimed() {
+		// Act
+		employeeRepository.initialSaveAll(List.of(new Employee(1, "John Doe", "CEO", 0)));
+		employeeRepository.save(new Employee(2, "Jane Smith", "CTO", 1));
+		employeeRepository.getEmployee(1);
+		employeeRepository.getEmployee(2);
+		employeeRepository.getSubordinates(employeeRepository.getEmployee(1));
+		employeeRepository.getEmployees(null, 10);
+
+		// Assert
+		assertEquals(1, count("initialSaveAll"));
+		assertEquals(1, count("save"));
+		assertEquals(3, count("getEmployee"));
+		assertEquals(1, count("getSubordinates"));
+		assertEquals(1, count("getEmployeesPage"));
+		assertEquals(0, count("getEmployees"));
+	}
+
+	@Test
+	@DisplayName("Store size is exposed as a gauge")
+	public void testStoreSizeGauge() {
+		// Act
+		employeeRepository.initialSaveAll(List.of(new Employee(1, "John Doe", "CEO", 0),
+				new Employee(2, "Jane Smith", "CTO", 1)));
+
+		// Assert
+		assertEquals(2.0, registry.get("employee.store.size").gauge().value());
+	}
+
+	@Test
+	@DisplayName("The post processor wraps repositories once")
+	public void testPostProcessorWraps() {
+		// Arrange
+		RepositoryMetricsPostProcessor processor = new RepositoryMetricsPostProcessor(
+				new StaticListableBeanFactory(Map.of("registry", registry)).getBeanProvider(MeterRegistry.class));
+
+		// Act
+		Object wrapped = processor.postProcessAfterInitialization(new InMemoryEmployeeRepository(), "repository");
+		Object again = processor.postProcessAfterInitialization(wrapped, "repository");
+
+		// Assert
+		assertInstanceOf(TimedEmployeeRepository.class, wrapped);
+		assertEquals(wrapped, again);
+	}
+}
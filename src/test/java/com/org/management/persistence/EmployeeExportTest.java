@@ -0,0 +1,161 @@
+package com.org.management.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+
+@DisplayName("Employee Export Tests")
+public class EmployeeExportTest {
+
+	private byte[] export(boolean compress, List<List<Employee>> blocks) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		EmployeeExportWriter writer = new EmployeeExportWriter(out, compress);
+		for (List<Employee> block : blocks) {
+			writer.write(block);
+		}
+		writer.finish();
+		return out.toByteArray();
+	}
+
+	private List<Employee> read(byte[] bytes) throws IOException {
+		EmployeeExportReader reader = new EmployeeExportReader(new ByteArrayInputStream(bytes));
+		List<Employee> employees = new ArrayList<>();
+		List<Employee> block;
+		while ((block = reader.read()) != null) {
+			employees.addAll(block);
+		}
+		return employees;
+	}
+
+	private List<Employee> org(int size) {
+		List<Employee> employees = new ArrayList<>();
+		employees.add(new Employee(1, "John Doe", "CEO", null));
+		for (int id = 2; id <= size; id++) {
+			employees.add(new Employee(id, "Employee " + id, id % 10 == 0 ? "Manager" : "Engineer", id / 10));
+		}
+		return employees;
+	}
+
+	@Test
+	@DisplayName("Employees round-trip with nulls, unordered ids and extreme values")
+	public void testRoundTrip() throws Exception {
+		// Arrange
+		String longName = "x".repeat(EmployeeExportWriter.BUFFER_BYTES * 2 + 3);
+		List<Employee> first = List.of(
+				new Employee(5, "John Doe", "CEO", null),
+				new Employee(3, null, null, 0),
+				new Employee(Integer.MAX_VALUE, "Jane Smith", "CTO", Integer.MIN_VALUE));
+		List<Employee> second = List.of(
+				new Employee(Integer.MIN_VALUE, longName, "CTO", Integer.MAX_VALUE),
+				new Employee(7, "Zoë Ångström", "CTO", 5));
+
+		// Act
+		List<Employee> plain = read(export(false, List.of(first, second)));
+		List<Employee> gzipped = read(export(true, List.of(first, List.of(), second)));
+
+		// Assert
+		List<Employee> expected = new ArrayList<>(first);
+		expected.addAll(second);
+		assertEquals(expected, plain);
+		assertEquals(expected, gzipped);
+	}
+
+	@Test
+	@DisplayName("An export held in memory reads the same as one streamed, compressed or not")
+	public void testRead_Buffer() throws Exception {
+		// Arrange
+		List<Employee> employees = org(5_000);
+		employees.set(7, new Employee(8, null, "x".repeat(EmployeeExportWriter.BUFFER_BYTES + 1), 0));
+
+		// Act & Assert
+		for (boolean compress : new boolean[] { false, true }) {
+			byte[] bytes = export(compress, List.of(employees.subList(0, 1_000), employees.subList(1_000, 5_000)));
+			// Direct, like a mapped file, so strings are copied out rather than read from a backing array
+			ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+			EmployeeExportReader reader = new EmployeeExportReader(direct);
+			List<Employee> read = new ArrayList<>();
+			List<Employee> block;
+			while ((block = reader.read()) != null) {
+				read.addAll(block);
+			}
+			assertEquals(employees, read);
+			byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+			assertThrows(IOException.class, () -> {
+				EmployeeExportReader cut = new EmployeeExportReader(ByteBuffer.wrap(truncated));
+				while (cut.read() != null) {
+				}
+			});
+		}
+	}
+
+	@Test
+	@DisplayName("Repeated titles are written once, and compression shrinks the rest")
+	public void testSize() throws Exception {
+		// Arrange
+		List<Employee> employees = org(10_000);
+
+		// Act
+		byte[] plain = export(false, List.of(employees));
+		byte[] gzipped = export(true, List.of(employees));
+
+		// Assert
+		// A header, the block count, and per employee a one-byte id, at most three bytes of manager, a name and a title reference
+		assertTrue(plain.length < 10_000 * (1 + 3 + 1 + 1 + "Employee 10000".length() + 1) + 16);
+		assertTrue(gzipped.length < plain.length / 2);
+		assertEquals(employees, read(gzipped));
+	}
+
+	@Test
+	@DisplayName("An export whose body is cut short fails instead of ending early")
+	public void testRead_Truncated() throws Exception {
+		// Arrange
+		byte[] complete = export(false, List.of(org(100)));
+		byte[] truncated = Arrays.copyOf(complete, complete.length - 1);
+		byte[] gzipped = export(true, List.of(org(100)));
+		byte[] truncatedGzip = Arrays.copyOf(gzipped, gzipped.length / 2);
+
+		// Act & Assert
+		assertEquals(100, read(complete).size());
+		assertThrows(IOException.class, () -> read(truncated));
+		assertThrows(IOException.class, () -> read(truncatedGzip));
+	}
+
+	@Test
+	@DisplayName("Anything but an export is refused by its header")
+	public void testRead_NotAnExport() throws Exception {
+		// Arrange
+		byte[] csv = "EmployeeID,Name,Title,ManagerID\n1,John Doe,CEO,\n".getBytes();
+		byte[] future = export(false, List.of(org(2)));
+		future[EmployeeExportWriter.MAGIC.length] = EmployeeExportWriter.VERSION + 1;
+
+		// Act & Assert
+		assertThrows(IOException.class, () -> new EmployeeExportReader(new ByteArrayInputStream(csv)));
+		assertThrows(IOException.class, () -> new EmployeeExportReader(new ByteArrayInputStream(new byte[2])));
+		assertThrows(IOException.class, () -> new EmployeeExportReader(new ByteArrayInputStream(future)));
+	}
+
+	@Test
+	@DisplayName("An empty export reads as no blocks")
+	public void testRead_Empty() throws Exception {
+		// Act
+		EmployeeExportReader reader = new EmployeeExportReader(new ByteArrayInputStream(export(true, List.of())));
+
+		// Assert
+		assertNull(reader.read());
+		assertNull(reader.read());
+	}
+}
@@ -0,0 +1,236 @@
+package com.org.management.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.org.management.model.Employee;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+
+@DisplayName("Employee Journal Tests")
+public class EmployeeJournalTest {
+
+	@TempDir
+	Path directory;
+
+	private EmployeeJournal open(EmployeeRepository repository) throws Exception {
+		EmployeeJournal journal = new EmployeeJournal(repository, directory.toString(), false);
+		journal.restore();
+		return journal;
+	}
+
+	@Test
+	@DisplayName("Restart restores employees from snapshot and journal")
+	public void testRestore_SnapshotAndJournal() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		List<Employee> employees = new ArrayList<>();
+		employees.add(new Employee(1, "John Doe", "CEO", 0));
+		for (int id = 2; id <= 25_000; id++) {
+			employees.add(new Employee(id, "Employee " + id, "Engineer", id / 2));
+		}
+		first.initialSaveAll(employees);
+		journal.appendAll(employees);
+		journal.snapshot();
+
+		Employee late = new Employee(25_001, "Jane Smith", null, 1);
+		first.save(late);
+		journal.append(late);
+
+		// Act
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		open(second);
+
+		// Assert
+		assertEquals(25_001, second.getEmployees().size());
+		assertEquals(late, second.getEmployee(25_001));
+		assertEquals(12, second.getEmployee(25).getManagerId());
+		assertTrue(Files.exists(directory.resolve("snapshot-1.bin")));
+		assertFalse(Files.exists(directory.resolve("journal-0.log")));
+	}
+
+	@Test
+	@DisplayName("A torn record at the end of the journal is dropped")
+	public void testRestore_TornTail() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		journal.append(new Employee(1, "John Doe", "CEO", 0));
+		journal.append(new Employee(2, "Jane Smith", "CTO", 1));
+		Path log = directory.resolve("journal-0.log");
+		long intact = Files.size(log);
+		Files.write(log, new byte[] { 0, 0, 0, 40, 1, 2, 3 }, StandardOpenOption.APPEND);
+
+		// Act
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		EmployeeJournal reopened = open(second);
+		reopened.append(new Employee(3, "Andy Rivera", "Engineer", 2));
+		EmployeeRepository third = new InMemoryEmployeeRepository();
+		open(third);
+
+		// Assert
+		assertEquals(2, second.getEmployees().size());
+		assertTrue(Files.size(log) > intact);
+		assertEquals(3, third.getEmployees().size());
+	}
+
+	@Test
+	@DisplayName("Aborted loads are cut from the journal and open loads are dropped on restore")
+	public void testRestore_Loads() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		journal.append(new Employee(1, "John Doe", "CEO", 0));
+		journal.beginLoad();
+		journal.appendAll(List.of(new Employee(2, "Jane Smith", "CTO", 1)));
+		journal.commitLoad();
+		journal.beginLoad();
+		journal.appendAll(List.of(new Employee(3, "Andy Rivera", "Engineer", 2)));
+		journal.abortLoad();
+		journal.append(new Employee(4, "Sam Lee", "Engineer", 2));
+		// A crash in the middle of a load leaves it open
+		journal.beginLoad();
+		journal.appendAll(List.of(new Employee(5, "Kim Park", "Engineer", 2)));
+
+		// Act
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		EmployeeJournal reopened = open(second);
+		reopened.append(new Employee(6, "Lee Chen", "Engineer", 2));
+		EmployeeRepository third = new InMemoryEmployeeRepository();
+		open(third);
+
+		// Assert
+		assertEquals(List.of(1, 2, 4), ids(second));
+		assertEquals(List.of(1, 2, 4, 6), ids(third));
+	}
+
+	@Test
+	@DisplayName("Updates and removals recorded by a load replay in order")
+	public void testRestore_DeltaLoad() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		journal.appendAll(List.of(
+				new Employee(1, "John Doe", "CEO", 0),
+				new Employee(2, "Jane Smith", "CTO", 1),
+				new Employee(3, "Andy Rivera", "CFO", 1)));
+		journal.beginLoad();
+		journal.appendUpdates(List.of(new Employee(2, "Jane Smith", "COO", 3)));
+		journal.appendRemovals(List.of(1));
+		journal.appendAll(List.of(new Employee(4, "Sam Lee", "Engineer", 2)));
+		journal.commitLoad();
+
+		// Act
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		open(second);
+
+		// Assert
+		assertEquals(List.of(2, 3, 4), ids(second));
+		assertEquals(new Employee(2, "Jane Smith", "COO", 3), second.getEmployee(2));
+		assertEquals(List.of(second.getEmployee(2)), second.getSubordinates(second.getEmployee(3)));
+	}
+
+	@Test
+	@DisplayName("A snapshot taken between commit and publish waits for the load to be visible")
+	public void testSnapshot_DuringPublish() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		Employee ceo = new Employee(1, "John Doe", "CEO", 0);
+		first.initialSaveAll(List.of(ceo));
+		journal.append(ceo);
+		EmployeeRepository.StagedLoad load = first.stage();
+		journal.beginLoad();
+		List<Employee> batch = List.of(new Employee(2, "Jane Smith", "CTO", 1));
+		load.saveAll(batch);
+		journal.appendAll(batch);
+		journal.commitLoad();
+
+		// Act
+		CompletableFuture<Void> snapshot = CompletableFuture.runAsync(() -> {
+			try {
+				journal.snapshot();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		Thread.sleep(200);
+		boolean doneBeforePublish = snapshot.isDone();
+		load.publish();
+		journal.endLoad();
+		load.close();
+		snapshot.get(10, TimeUnit.SECONDS);
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		open(second);
+
+		// Assert
+		assertFalse(doneBeforePublish);
+		assertTrue(Files.exists(directory.resolve("snapshot-1.bin")));
+		assertEquals(List.of(1, 2), ids(second));
+	}
+
+	@Test
+	@DisplayName("Edits and deletes outside a load replay on their own")
+	public void testRestore_EditsAndDeletes() throws Exception {
+		// Arrange
+		EmployeeRepository first = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = open(first);
+		journal.appendAll(List.of(
+				new Employee(1, "John Doe", "CEO", 0),
+				new Employee(2, "Jane Smith", "CTO", 1),
+				new Employee(3, "Andy Rivera", "CFO", 1)));
+		journal.appendUpdates(List.of(new Employee(3, "Andy Rivera", "CFO", 2)));
+		journal.append(new Employee(4, "Sam Lee", "Engineer", 3));
+		journal.appendRemovals(List.of(4, 3));
+
+		// Act
+		EmployeeRepository second = new InMemoryEmployeeRepository();
+		open(second);
+
+		// Assert
+		assertEquals(List.of(1, 2), ids(second));
+		assertTrue(second.getSubordinates(second.getEmployee(2)).isEmpty());
+	}
+
+	private List<Integer> ids(EmployeeRepository repository) {
+		List<Integer> ids = new ArrayList<>();
+		for (Employee employee : repository.getEmployees(null, 100)) {
+			ids.add(employee.getEmployeeId());
+		}
+		return ids;
+	}
+
+	@Test
+	@DisplayName("Journal is a no-op without a directory")
+	public void testDisabled() throws Exception {
+		// Arrange
+		EmployeeRepository repository = new InMemoryEmployeeRepository();
+		EmployeeJournal journal = new EmployeeJournal(repository, "", false);
+
+		// Act
+		journal.restore();
+		journal.append(new Employee(1, "John Doe", "CEO", 0));
+		journal.close();
+
+		// Assert
+		assertFalse(journal.isEnabled());
+		assertNull(repository.getEmployee(1));
+	}
+}
@@ -0,0 +1,147 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.management.model.Employee;
+
+@DisplayName("Compact Employee Repository Tests")
+public class CompactEmployeeRepositoryTest extends EmployeeRepositoryTest {
+
+	@Override
+	protected EmployeeRepository createRepository() {
+		return new CompactEmployeeRepository();
+	}
+
+	@Test
+	@DisplayName("Reports loaded before their manager are linked once it arrives")
+	public void testInitialSave_ReportBeforeManager() {
+		// Arrange
+		employeeRepository.initialSave(new Employee(3000, "Andy Rivera", "Engineer", 2000));
+		employeeRepository.initialSave(new Employee(2000, "Jane Smith", "CTO", 1000));
+
+		// Act
+		List<Employee> subordinates = employeeRepository.getSubordinates(employeeRepository.getEmployee(2000));
+
+		// Assert
+		assertEquals(List.of(new Employee(3000, "Andy Rivera", "Engineer", 2000)), subordinates);
+		assertEquals(3, employeeRepository.getEmployees().size());
+		assertNull(employeeRepository.getEmployee(0));
+	}
+
+	@Test
+	@DisplayName("Employees with Integer.MIN_VALUE ids round-trip")
+	public void testInitialSave_MinValueId() {
+		// Act
+		employeeRepository.initialSave(new Employee(Integer.MIN_VALUE, "Min Value", "Engineer", 1000));
+
+		// Assert
+		assertEquals("Min Value", employeeRepository.getEmployee(Integer.MIN_VALUE).getName());
+	}
+
+	@Test
+	@DisplayName("Reads finish while a writer waits for the lock, and see its write once it is done")
+	public void testRead_NotBlockedByWriter() throws Exception {
+		// Arrange
+		employeeRepository.initialSave(new Employee(1000, "John Doe", "CEO", null));
+		StampedLock lock = (StampedLock) ReflectionTestUtils.getField(employeeRepository, "lock");
+		long longRead = lock.readLock();
+		CompletableFuture<Integer> write = new CompletableFuture<>();
+		Thread writer = new Thread(
+				() -> write.complete(employeeRepository.save(new Employee(2000, "Jane Smith", "CTO", 1000))));
+		writer.start();
+		while (writer.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+
+		// Act
+		List<Employee> during = CompletableFuture.supplyAsync(() -> employeeRepository.getEmployees())
+				.get(10, TimeUnit.SECONDS);
+		long countDuring = CompletableFuture.supplyAsync(() -> employeeRepository.count()).get(10, TimeUnit.SECONDS);
+		boolean writtenEarly = write.isDone();
+		lock.unlockRead(longRead);
+
+		// Assert
+		assertFalse(writtenEarly);
+		assertEquals(1, during.size());
+		assertEquals(1, countDuring);
+		assertEquals(1, write.get(10, TimeUnit.SECONDS));
+		assertEquals(2, employeeRepository.getEmployees().size());
+	}
+
+	@Test
+	@DisplayName("Reads racing a stream of writes return whole results")
+	public void testRead_DuringWrites() throws Exception {
+		// Arrange
+		CompletableFuture<Void> writes = CompletableFuture.runAsync(() -> {
+			for (int id = 1001; id <= 21_000; id++) {
+				employeeRepository.save(new Employee(id, "Employee " + id, "Engineer", 500 + id / 2));
+			}
+		});
+
+		// Act & Assert
+		while (!writes.isDone()) {
+			List<Employee> employees = employeeRepository.getEmployees();
+			for (Employee employee : employees) {
+				assertEquals(employee.getEmployeeId() == 1000 ? "John Doe" : "Employee " + employee.getEmployeeId(),
+						employee.getName());
+			}
+			List<Employee> page = employeeRepository.getEmployees(null, 100);
+			for (int i = 1; i < page.size(); i++) {
+				assertTrue(page.get(i - 1).getEmployeeId() < page.get(i).getEmployeeId());
+			}
+			for (Employee report : employeeRepository.getSubordinates(employeeRepository.getEmployee(1000))) {
+				assertEquals(1000, report.getManagerId());
+			}
+		}
+		writes.get();
+		assertEquals(20_001, employeeRepository.getEmployees().size());
+	}
+
+	@Test
+	@DisplayName("Reports leave a wide manager from the front, middle and end of its list")
+	public void testUpdate_WideSpan() {
+		// Arrange
+		List<Employee> reports = new ArrayList<>();
+		for (int id = 2000; id < 7000; id++) {
+			reports.add(new Employee(id, "Employee " + id, "Engineer", 1000));
+		}
+		employeeRepository.initialSaveAll(reports);
+		employeeRepository.initialSave(new Employee(9000, "Jane Smith", "CTO", 1000));
+
+		// Act
+		for (int id = 2000; id < 7000; id += 2) {
+			employeeRepository.update(new Employee(id, "Employee " + id, "Engineer", 9000));
+		}
+		employeeRepository.removeAll(List.of(2001, 6999, 4001));
+
+		// Assert
+		List<Integer> stayed = new ArrayList<>();
+		for (int id = 2003; id < 6999; id += 2) {
+			if (id != 4001) {
+				stayed.add(id);
+			}
+		}
+		stayed.add(9000);
+		assertEquals(stayed, ids(employeeRepository.getSubordinates(employeeRepository.getEmployee(1000))));
+		assertEquals(2500, employeeRepository.getSubordinates(employeeRepository.getEmployee(9000)).size());
+		employeeRepository.update(new Employee(2003, "Employee 2003", "Engineer", 9000));
+		assertEquals(2003, employeeRepository.getSubordinates(employeeRepository.getEmployee(9000)).get(2500).getEmployeeId());
+	}
+
+	private static List<Integer> ids(List<Employee> employees) {
+		return employees.stream().map(Employee::getEmployeeId).toList();
+	}
+}
@@ -0,0 +1,391 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+
+/**
+ * Contract tests shared by every EmployeeRepository implementation.
+ */
+public abstract class EmployeeRepositoryTest {
+
+	protected EmployeeRepository employeeRepository;
+
+	protected abstract EmployeeRepository createRepository();
+
+	// Employees each concurrent writer adds; stores with a round trip per write can use fewer
+	protected int employeesPerWriter() {
+		return 5000;
+	}
+
+	@BeforeEach
+	public void setUp() {
+		employeeRepository = createRepository();
+		employeeRepository.initialSave(new Employee(1000, "John Doe", "CEO", 0));
+	}
+
+	@Nested
+	@DisplayName("Subordinate Index Tests")
+	public class SubordinateIndexTests {
+		@Test
+		@DisplayName("Get subordinates for manager with large employee ids")
+		public void testGetSubordinates_LargeIds() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(2000, "Jane Smith", "CTO", 1000));
+			employeeRepository.save(new Employee(3000, "Andy Rivera", "CFO", 1000));
+
+			// Act
+			List<Employee> subordinates = employeeRepository.getSubordinates(employeeRepository.getEmployee(1000));
+
+			// Assert
+			assertEquals(2, subordinates.size());
+			assertEquals(2000, subordinates.get(0).getEmployeeId());
+			assertEquals(3000, subordinates.get(1).getEmployeeId());
+		}
+
+		@Test
+		@DisplayName("Get subordinates for employee without reports")
+		public void testGetSubordinates_Empty() {
+			// Act
+			List<Employee> subordinates = employeeRepository.getSubordinates(employeeRepository.getEmployee(1000));
+
+			// Assert
+			assertTrue(subordinates.isEmpty());
+		}
+
+		@Test
+		@DisplayName("Duplicate and rejected saves do not change the index")
+		public void testGetSubordinates_RejectedSaves() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(2000, "Jane Smith", "CTO", 1000));
+			employeeRepository.initialSave(new Employee(2000, "Jane Smith", "CTO", 1000));
+			employeeRepository.save(new Employee(3000, "Andy Rivera", "CFO", 9999));
+
+			// Act
+			List<Employee> subordinates = employeeRepository.getSubordinates(employeeRepository.getEmployee(1000));
+
+			// Assert
+			assertEquals(1, subordinates.size());
+			assertEquals(2, employeeRepository.count());
+		}
+	}
+
+	@Nested
+	@DisplayName("Batch Lookup Tests")
+	public class BatchLookupTests {
+		@Test
+		@DisplayName("Batch lookup keeps the requested order and skips missing ids")
+		public void testGetEmployees_ByIds() {
+			// Arrange
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(2000, "Jane Smith", "CTO", 1000),
+					new Employee(3000, "Andy Rivera", "CFO", 1000)));
+			List<Integer> ids = new ArrayList<>(List.of(3000, 9999, 1000, 3000));
+			ids.add(null);
+
+			// Act
+			List<Employee> employees = employeeRepository.getEmployees(ids);
+
+			// Assert
+			assertEquals(List.of(3000, 1000, 3000), employees.stream().map(Employee::getEmployeeId).toList());
+			assertEquals("Andy Rivera", employees.get(0).getName());
+		}
+	}
+
+	@Nested
+	@DisplayName("Pagination Tests")
+	public class PaginationTests {
+		@Test
+		@DisplayName("Pages walk every employee once in ascending id order")
+		public void testGetEmployees_Pages() {
+			// Arrange
+			for (int id = 999; id >= -5; id -= 7) {
+				employeeRepository.initialSave(new Employee(id, "Employee " + id, "Engineer", 1000));
+			}
+			List<Integer> expected = new ArrayList<>();
+			for (Employee employee : employeeRepository.getEmployees()) {
+				expected.add(employee.getEmployeeId());
+			}
+			expected.sort(null);
+
+			// Act
+			List<Integer> walked = new ArrayList<>();
+			Integer after = null;
+			List<Employee> page;
+			do {
+				page = employeeRepository.getEmployees(after, 10);
+				for (Employee employee : page) {
+					walked.add(employee.getEmployeeId());
+				}
+				after = page.isEmpty() ? null : page.get(page.size() - 1).getEmployeeId();
+			} while (page.size() == 10);
+
+			// Assert
+			assertEquals(expected, walked);
+		}
+
+		@Test
+		@DisplayName("Pages reflect employees saved between requests")
+		public void testGetEmployees_AfterWrite() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "Engineer", 1000));
+			List<Employee> first = employeeRepository.getEmployees(null, 1);
+
+			// Act
+			employeeRepository.initialSave(new Employee(2, "Jane Smith", "Engineer", 1000));
+			List<Employee> second = employeeRepository.getEmployees(first.get(0).getEmployeeId(), 5);
+
+			// Assert
+			assertEquals(1, first.get(0).getEmployeeId());
+			assertEquals(2, second.size());
+			assertEquals(2, second.get(0).getEmployeeId());
+			assertEquals(1000, second.get(1).getEmployeeId());
+		}
+	}
+
+	@Nested
+	@DisplayName("Staged Load Tests")
+	public class StagedLoadTests {
+		@Test
+		@DisplayName("Staged employees are invisible until publish and then appear at once")
+		public void testStage_Publish() throws Exception {
+			// Arrange
+			long before = employeeRepository.getVersion();
+			AtomicInteger visibleDuringLoad = new AtomicInteger(-1);
+
+			// Act
+			try (EmployeeRepository.StagedLoad load = employeeRepository.stage()) {
+				assertEquals(2, load.saveAll(List.of(
+						new Employee(2000, "Jane Smith", "CTO", 1000),
+						new Employee(3000, "Andy Rivera", "CFO", 1000),
+						new Employee(1000, "Second CEO", "CEO", 0))).size());
+				// Readers run on other threads and only see the published version
+				Thread reader = new Thread(() -> visibleDuringLoad.set(
+						employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)).size()));
+				reader.start();
+				reader.join();
+				load.publish();
+			}
+
+			// Assert
+			assertEquals(0, visibleDuringLoad.get());
+			assertEquals(before + 2, employeeRepository.getVersion());
+			assertEquals(2, employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)).size());
+			assertEquals("John Doe", employeeRepository.getEmployee(1000).getName());
+			assertEquals(3, employeeRepository.getEmployees(null, 10).size());
+		}
+
+		@Test
+		@DisplayName("Staged updates and removals relink reports")
+		public void testStage_UpdateAndRemove() {
+			// Arrange
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(2000, "Jane Smith", "CTO", 1000),
+					new Employee(3000, "Andy Rivera", "CFO", 1000),
+					new Employee(4000, "Sam Lee", "Engineer", 3000),
+					new Employee(5000, "Kim Park", "Engineer", 3000)));
+			long before = employeeRepository.getVersion();
+
+			// Act
+			try (EmployeeRepository.StagedLoad load = employeeRepository.stage()) {
+				assertTrue(load.update(new Employee(2000, "Jane Smith", "COO", 1000)));
+				assertTrue(load.update(new Employee(4000, "Sam Lee", "Engineer", 2000)));
+				assertTrue(load.remove(3000));
+				assertFalse(load.remove(9999));
+				assertFalse(load.update(new Employee(9999, "Nobody", "Engineer", 1000)));
+				load.publish();
+			}
+
+			// Assert
+			assertEquals(before + 3, employeeRepository.getVersion());
+			assertEquals("COO", employeeRepository.getEmployee(2000).getTitle());
+			assertNull(employeeRepository.getEmployee(3000));
+			assertEquals(List.of(new Employee(2000, "Jane Smith", "COO", 1000)),
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)));
+			assertEquals(List.of(new Employee(4000, "Sam Lee", "Engineer", 2000)),
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(2000)));
+			assertEquals(4, employeeRepository.getEmployees().size());
+			assertEquals(4, employeeRepository.getEmployees(null, 10).size());
+			// Reports of a removed manager are kept and reconnect if it returns
+			assertTrue(employeeRepository.initialSave(new Employee(3000, "Andy Rivera", "CFO", 1000)));
+			assertEquals(List.of(new Employee(5000, "Kim Park", "Engineer", 3000)),
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(3000)));
+		}
+
+		@Test
+		@DisplayName("Closing an unpublished load discards it and lets writers continue")
+		public void testStage_Discard() {
+			// Arrange
+			long before = employeeRepository.getVersion();
+
+			// Act
+			try (EmployeeRepository.StagedLoad load = employeeRepository.stage()) {
+				load.saveAll(List.of(new Employee(2000, "Jane Smith", "CTO", 1000)));
+			}
+			int status = employeeRepository.save(new Employee(3000, "Andy Rivera", "CFO", 1000));
+
+			// Assert
+			assertNull(employeeRepository.getEmployee(2000));
+			assertEquals(1, status);
+			assertEquals(before + 1, employeeRepository.getVersion());
+		}
+	}
+
+	@Nested
+	@DisplayName("Update and Removal Tests")
+	public class UpdateAndRemovalTests {
+		@Test
+		@DisplayName("Update moves an employee between managers' reports")
+		public void testUpdate() {
+			// Arrange
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(2000, "Jane Smith", "CTO", 1000),
+					new Employee(3000, "Andy Rivera", "CFO", 1000),
+					new Employee(4000, "Sam Lee", "Engineer", 2000)));
+			long before = employeeRepository.getVersion();
+
+			// Act
+			boolean updated = employeeRepository.update(new Employee(4000, "Sam Lee", "Lead", 3000));
+			boolean missing = employeeRepository.update(new Employee(9999, "Nobody", "Engineer", 1000));
+
+			// Assert
+			assertTrue(updated);
+			assertFalse(missing);
+			assertEquals(before + 1, employeeRepository.getVersion());
+			assertEquals("Lead", employeeRepository.getEmployee(4000).getTitle());
+			assertTrue(employeeRepository.getSubordinates(employeeRepository.getEmployee(2000)).isEmpty());
+			assertEquals(List.of(new Employee(4000, "Sam Lee", "Lead", 3000)),
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(3000)));
+		}
+
+		@Test
+		@DisplayName("Remove all drops the stored ids and counts them")
+		public void testRemoveAll() {
+			// Arrange
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(2000, "Jane Smith", "CTO", 1000),
+					new Employee(3000, "Andy Rivera", "CFO", 1000),
+					new Employee(4000, "Sam Lee", "Engineer", 2000)));
+			long before = employeeRepository.getVersion();
+
+			// Act
+			int removed = employeeRepository.removeAll(List.of(4000, 2000, 9999));
+
+			// Assert
+			assertEquals(2, removed);
+			assertTrue(employeeRepository.getVersion() > before);
+			assertNull(employeeRepository.getEmployee(2000));
+			assertNull(employeeRepository.getEmployee(4000));
+			assertEquals(List.of(new Employee(3000, "Andy Rivera", "CFO", 1000)),
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)));
+			assertEquals(2, employeeRepository.getEmployees(null, 10).size());
+			assertEquals(0, employeeRepository.removeAll(List.of()));
+		}
+	}
+
+	@Nested
+	@DisplayName("Concurrency Tests")
+	public class ConcurrencyTests {
+
+		private static final int WRITERS = 8;
+
+		private static final int READERS = 4;
+
+		@Test
+		@DisplayName("Concurrent writers lose no updates and readers never see torn state")
+		public void testConcurrentSaves_NoLostUpdatesOrTornReads() throws Exception {
+			// Arrange
+			int employeesPerWriter = employeesPerWriter();
+			ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+			CountDownLatch start = new CountDownLatch(1);
+			AtomicBoolean writing = new AtomicBoolean(true);
+			AtomicInteger duplicateWins = new AtomicInteger();
+			List<Future<?>> writers = new ArrayList<>();
+			List<Future<?>> readers = new ArrayList<>();
+
+			for (int w = 0; w < WRITERS; w++) {
+				int writer = w;
+				writers.add(executor.submit((Callable<Void>) () -> {
+					start.await();
+					for (int i = 0; i < employeesPerWriter; i++) {
+						// Every writer races for the same contested id, and then adds its own employee
+						int contested = 10_000 + i;
+						if (employeeRepository.save(new Employee(contested, "Contested", "Engineer", 1000)) == 1) {
+							duplicateWins.incrementAndGet();
+						}
+						int id = 100_000 + writer * employeesPerWriter + i;
+						int managerId = i == 0 ? 1000 : id - 1;
+						assertEquals(1, employeeRepository.save(new Employee(id, "Employee", "Engineer", managerId)));
+					}
+					return null;
+				}));
+			}
+
+			for (int r = 0; r < READERS; r++) {
+				readers.add(executor.submit((Callable<Void>) () -> {
+					start.await();
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					while (writing.get()) {
+						// A visible employee is always listed under its manager
+						int id = 100_000 + random.nextInt(WRITERS * employeesPerWriter);
+						Employee employee = employeeRepository.getEmployee(id);
+						if (employee != null) {
+							Employee manager = employeeRepository.getManager(employee);
+							assertNotNull(manager);
+							assertTrue(employeeRepository.getSubordinates(manager).contains(employee));
+						}
+						for (Employee subordinate : employeeRepository.getSubordinates(employeeRepository.getEmployee(1000))) {
+							assertNotNull(subordinate);
+							assertEquals(1000, subordinate.getManagerId());
+						}
+					}
+					return null;
+				}));
+			}
+
+			// Act
+			start.countDown();
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			for (Future<?> reader : readers) {
+				reader.get(60, TimeUnit.SECONDS);
+			}
+			executor.shutdown();
+
+			// Assert
+			assertEquals(employeesPerWriter, duplicateWins.get());
+			assertEquals(1 + employeesPerWriter + WRITERS * employeesPerWriter,
+					employeeRepository.getEmployees().size());
+			assertEquals(employeesPerWriter + WRITERS,
+					employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)).size());
+			for (Employee employee : employeeRepository.getEmployees()) {
+				if (employee.getEmployeeId() >= 100_000) {
+					assertTrue(employeeRepository.getSubordinates(employeeRepository.getManager(employee)).contains(employee));
+				}
+			}
+		}
+	}
+}
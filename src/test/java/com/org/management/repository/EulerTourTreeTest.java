@@ -0,0 +1,257 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+
+@DisplayName("Euler Tour Tree Tests")
+public class EulerTourTreeTest {
+
+	private EulerTourTree tree;
+
+	@BeforeEach
+	public void setUp() {
+		// 1 -> (2 -> (5 -> 7, 4), 3 -> 6), a separate root 10, plus a 8 <-> 9 cycle
+		List<Employee> employees = List.of(
+				new Employee(5, "E5", "Lead", 2),
+				new Employee(1, "E1", "CEO", 0),
+				new Employee(2, "E2", "CTO", 1),
+				new Employee(3, "E3", "CFO", 1),
+				new Employee(4, "E4", "Engineer", 2),
+				new Employee(6, "E6", "Accountant", 3),
+				new Employee(7, "E7", "Engineer", 5),
+				new Employee(8, "E8", "Engineer", 9),
+				new Employee(9, "E9", "Engineer", 8),
+				new Employee(10, "E10", "Founder", 0));
+		tree = EulerTourTree.build(7, employees);
+	}
+
+	private List<Integer> sorted(List<Integer> ids) {
+		return ids.stream().sorted().collect(Collectors.toList());
+	}
+
+	@Test
+	@DisplayName("Answer is-under queries from the tour")
+	public void testIsUnder() {
+		assertTrue(tree.isUnder(7, 1));
+		assertTrue(tree.isUnder(7, 2));
+		assertFalse(tree.isUnder(7, 3));
+		assertFalse(tree.isUnder(1, 1));
+		assertFalse(tree.isUnder(2, 7));
+		assertFalse(tree.isUnder(8, 9));
+		assertFalse(tree.isUnder(7, 10));
+	}
+
+	@Test
+	@DisplayName("Contain every stored employee outside a manager cycle")
+	public void testContains() {
+		assertTrue(tree.contains(7));
+		assertTrue(tree.contains(10));
+		assertFalse(tree.contains(8));
+		assertFalse(tree.contains(99));
+		assertFalse(tree.contains(null));
+	}
+
+	@Test
+	@DisplayName("Get chain of managers nearest first")
+	public void testGetChain() {
+		assertEquals(List.of(5, 2, 1), tree.getChain(7));
+		assertTrue(tree.getChain(1).isEmpty());
+		assertTrue(tree.getChain(8).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Get reports as a contiguous subtree, optionally depth limited")
+	public void testGetReports() {
+		assertEquals(List.of(5, 7, 4), tree.getReports(2, null));
+		assertEquals(List.of(2, 3), tree.getReports(1, 1));
+		assertEquals(List.of(2, 5, 4, 3, 6), tree.getReports(1, 2));
+		assertEquals(6, tree.getReports(1, null).size());
+		assertTrue(tree.getReports(7, null).isEmpty());
+		assertEquals(7, tree.getVersion());
+	}
+
+	@Test
+	@DisplayName("Find lowest common manager and distance")
+	public void testGetCommonManager() {
+		assertEquals(2, tree.getCommonManager(7, 4));
+		assertEquals(3, tree.getDistance(7, 4));
+		assertEquals(1, tree.getCommonManager(6, 7));
+		assertEquals(5, tree.getDistance(7, 6));
+		assertEquals(2, tree.getCommonManager(2, 7));
+		assertEquals(2, tree.getDistance(7, 2));
+		assertEquals(4, tree.getCommonManager(4, 4));
+		assertEquals(0, tree.getDistance(4, 4));
+	}
+
+	@Test
+	@DisplayName("Employees in separate trees, cycles or missing share no manager")
+	public void testGetCommonManager_None() {
+		assertNull(tree.getCommonManager(7, 10));
+		assertNull(tree.getDistance(10, 1));
+		assertNull(tree.getCommonManager(8, 9));
+		assertNull(tree.getCommonManager(1, 99));
+	}
+
+	@Test
+	@DisplayName("New leaves join under their manager, or wait at the top for it")
+	public void testApply_Insert() {
+		// Act
+		tree.apply(List.of(), List.of(new Employee(12, "E12", "Intern", 11), new Employee(11, "E11", "Intern", 7)),
+				List.of(), 8);
+
+		// Assert
+		assertEquals(8, tree.getVersion());
+		assertEquals(List.of(11, 7, 5, 2, 1), tree.getChain(12));
+		assertEquals(2, tree.getCommonManager(12, 4));
+		assertEquals(5, tree.getDistance(12, 4));
+		assertEquals(List.of(5, 7, 11, 12, 4), tree.getReports(2, null));
+	}
+
+	@Test
+	@DisplayName("A move takes the whole subtree to the new manager")
+	public void testApply_Move() {
+		// Act
+		assertTrue(tree.apply(List.of(new Employee(2, "E2", "CTO", 6)), List.of(), List.of(), 8));
+
+		// Assert
+		assertEquals(List.of(5, 2, 6, 3, 1), tree.getChain(7));
+		assertTrue(tree.isUnder(4, 3));
+		assertEquals(List.of(6, 2, 5, 7, 4), tree.getReports(3, null));
+		assertEquals(3, tree.getCommonManager(4, 3));
+		assertEquals(4, tree.getDistance(7, 3));
+	}
+
+	@Test
+	@DisplayName("A move under the employee's own report is refused and leaves the tree stale")
+	public void testApply_Cycle() {
+		// Act
+		boolean applied = tree.apply(List.of(new Employee(2, "E2", "CTO", 7)), List.of(), List.of(), 8);
+
+		// Assert
+		assertFalse(applied);
+		assertTrue(tree.getVersion() < 7);
+	}
+
+	@Test
+	@DisplayName("Removing a manager lifts its reports to the top until the id returns")
+	public void testApply_Remove() {
+		// Act
+		tree.apply(List.of(), List.of(), List.of(2), 8);
+		List<Integer> chain = tree.getChain(7);
+		List<Integer> reports = tree.getReports(1, null);
+		tree.apply(List.of(), List.of(new Employee(2, "E2", "COO", 3)), List.of(), 9);
+
+		// Assert
+		assertEquals(List.of(5), chain);
+		assertEquals(List.of(3, 6), reports);
+		assertEquals(List.of(5, 2, 3, 1), tree.getChain(7));
+		assertEquals(2, tree.getCommonManager(7, 4));
+	}
+
+	@Test
+	@DisplayName("Index and restructure very deep chains without recursion")
+	public void testDeepChain() {
+		// Arrange
+		int n = 200_000;
+		List<Employee> employees = new ArrayList<>(n);
+		for (int id = 1; id <= n; id++) {
+			employees.add(new Employee(id, "E" + id, "Engineer", id - 1));
+		}
+
+		// Act
+		EulerTourTree deep = EulerTourTree.build(1, employees);
+		deep.apply(List.of(new Employee(n / 2, "E", "Engineer", 1)), List.of(), List.of(), 2);
+
+		// Assert
+		assertTrue(deep.isUnder(n, 1));
+		assertEquals(n / 2 + 1, deep.getChain(n).size());
+		assertEquals(n - 1, deep.getReports(1, null).size());
+		assertEquals(1, deep.getCommonManager(n, 3));
+		assertEquals(n / 2 + 3, deep.getDistance(n, 3));
+	}
+
+	@Test
+	@DisplayName("Random inserts, moves and removals match a fresh build")
+	public void testApply_MatchesBuild() {
+		// Arrange
+		Random random = new Random(42);
+		Map<Integer, Employee> org = new LinkedHashMap<>();
+		org.put(1, new Employee(1, "E1", "CEO", 0));
+		for (int id = 2; id <= 300; id++) {
+			org.put(id, new Employee(id, "E" + id, "Engineer", 1 + random.nextInt(id - 1)));
+		}
+		EulerTourTree incremental = EulerTourTree.build(1, org.values());
+		int nextId = 301;
+
+		// Act
+		for (int step = 0; step < 1000; step++) {
+			List<Integer> ids = new ArrayList<>(org.keySet());
+			int id = ids.get(random.nextInt(ids.size()));
+			int choice = random.nextInt(3);
+			if (choice == 0) {
+				Employee leaf = new Employee(nextId, "E" + nextId, "Engineer", id);
+				org.put(nextId++, leaf);
+				assertTrue(incremental.apply(List.of(), List.of(leaf), List.of(), step + 2));
+			} else if (choice == 1 && id != 1) {
+				int managerId = ids.get(random.nextInt(ids.size()));
+				if (isWithin(org, managerId, id)) {
+					continue;
+				}
+				Employee moved = new Employee(id, "E" + id, "Engineer", managerId);
+				org.put(id, moved);
+				assertTrue(incremental.apply(List.of(moved), List.of(), List.of(), step + 2));
+			} else if (choice == 2 && id != 1) {
+				// Reports move up to the removed employee's manager, as a delete does
+				List<Employee> reassigned = new ArrayList<>();
+				for (Employee employee : org.values()) {
+					if (employee.getManagerId() == id) {
+						reassigned.add(new Employee(employee.getEmployeeId(), employee.getName(), employee.getTitle(),
+								org.get(id).getManagerId()));
+					}
+				}
+				for (Employee employee : reassigned) {
+					org.put(employee.getEmployeeId(), employee);
+				}
+				org.remove(id);
+				assertTrue(incremental.apply(reassigned, List.of(), List.of(id), step + 2));
+			}
+		}
+
+		// Assert
+		EulerTourTree rebuilt = EulerTourTree.build(1, org.values());
+		List<Integer> ids = new ArrayList<>(org.keySet());
+		for (Integer id : ids) {
+			assertEquals(rebuilt.getChain(id), incremental.getChain(id));
+			assertEquals(sorted(rebuilt.getReports(id, null)), sorted(incremental.getReports(id, null)));
+			assertEquals(sorted(rebuilt.getReports(id, 2)), sorted(incremental.getReports(id, 2)));
+			Integer other = ids.get(random.nextInt(ids.size()));
+			assertEquals(rebuilt.getCommonManager(id, other), incremental.getCommonManager(id, other));
+			assertEquals(rebuilt.getDistance(id, other), incremental.getDistance(id, other));
+			assertEquals(rebuilt.isUnder(id, other), incremental.isUnder(id, other));
+		}
+	}
+
+	private static boolean isWithin(Map<Integer, Employee> org, Integer employeeId, Integer top) {
+		for (Employee e = org.get(employeeId); e != null; e = org.get(e.getManagerId())) {
+			if (e.getEmployeeId().equals(top)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,94 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+import com.org.management.model.ValidationReport;
+
+@DisplayName("Hierarchy Validator Tests")
+public class HierarchyValidatorTest {
+
+	@Test
+	@DisplayName("Report duplicates, orphans, cycles and extra roots")
+	public void testValidate_AllProblems() {
+		// Arrange
+		HierarchyValidator validator = new HierarchyValidator(null);
+		validator.addAll(List.of(
+				new Employee(5, "E5", "Lead", 2),
+				new Employee(1, "E1", "CEO", 0),
+				new Employee(2, "E2", "CTO", 1),
+				new Employee(2, "E2", "CTO", 1),
+				new Employee(3, "E3", "CFO", 99),
+				new Employee(4, "E4", "CEO", null),
+				new Employee(6, "E6", "Engineer", 8),
+				new Employee(7, "E7", "Engineer", 6),
+				new Employee(8, "E8", "Engineer", 7),
+				new Employee(9, "E9", "Engineer", 6)));
+
+		// Act
+		ValidationReport report = validator.validate();
+
+		// Assert
+		assertFalse(report.isValid());
+		assertEquals(1, report.getDuplicates());
+		assertEquals(List.of(2), report.getDuplicateIds());
+		assertEquals(1, report.getOrphans());
+		assertEquals(List.of(3), report.getOrphanIds());
+		assertEquals(3, report.getCycles());
+		assertEquals(List.of(6, 7, 8), report.getCycleIds().stream().sorted().toList());
+		assertEquals(1, report.getExtraRoots());
+		assertEquals(List.of(4), report.getExtraRootIds());
+	}
+
+	@Test
+	@DisplayName("Managers and the CEO already in the store satisfy the checks")
+	public void testValidate_AgainstStore() {
+		// Arrange
+		EmployeeRepository store = new InMemoryEmployeeRepository();
+		store.initialSaveAll(List.of(new Employee(1, "E1", "CEO", 0), new Employee(2, "E2", "CTO", 1)));
+		HierarchyValidator validator = new HierarchyValidator(store);
+		validator.addAll(List.of(
+				new Employee(3, "E3", "Engineer", 2),
+				new Employee(4, "E4", "Engineer", 3),
+				new Employee(5, "E5", "CEO", 0)));
+
+		// Act
+		ValidationReport report = validator.validate();
+
+		// Assert
+		assertEquals(0, report.getOrphans());
+		assertEquals(1, report.getExtraRoots());
+		assertEquals(List.of(5), report.getExtraRootIds());
+	}
+
+	@Test
+	@DisplayName("A long chain is walked without recursion and samples stay bounded")
+	public void testValidate_LargeFile() {
+		// Arrange
+		int rows = 1_000_000;
+		HierarchyValidator validator = new HierarchyValidator(null);
+		validator.add(new Employee(1, "E1", "CEO", 0));
+		for (int id = 2; id <= rows; id++) {
+			validator.add(new Employee(id, "E", "Engineer", id - 1));
+		}
+		for (int id = 1; id <= 50; id++) {
+			validator.add(new Employee(id, "E", "Engineer", 1));
+		}
+
+		// Act
+		ValidationReport report = validator.validate();
+
+		// Assert
+		assertEquals(50, report.getDuplicates());
+		assertEquals(HierarchyValidator.SAMPLE_SIZE, report.getDuplicateIds().size());
+		assertEquals(0, report.getCycles());
+		assertTrue(report.getOrphanIds().isEmpty());
+	}
+}
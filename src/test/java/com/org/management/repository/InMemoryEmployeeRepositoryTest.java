@@ -0,0 +1,12 @@
+package com.org.management.repository;
+
+import org.junit.jupiter.api.DisplayName;
+
+@DisplayName("In-Memory Employee Repository Tests")
+public class InMemoryEmployeeRepositoryTest extends EmployeeRepositoryTest {
+
+	@Override
+	protected EmployeeRepository createRepository() {
+		return new InMemoryEmployeeRepository();
+	}
+}
@@ -0,0 +1,96 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import com.org.management.model.Employee;
+import com.zaxxer.hikari.HikariDataSource;
+
+@DisplayName("JDBC Employee Repository Tests")
+public class JdbcEmployeeRepositoryTest extends EmployeeRepositoryTest {
+
+	private final List<HikariDataSource> databases = new ArrayList<>();
+
+	@Override
+	protected EmployeeRepository createRepository() {
+		// Pooled like the application's datasource, on a fresh in-memory database per test
+		HikariDataSource database = new HikariDataSource();
+		database.setJdbcUrl("jdbc:h2:mem:" + UUID.randomUUID());
+		databases.add(database);
+		return new JdbcEmployeeRepository(new JdbcTemplate(database), new DataSourceTransactionManager(database));
+	}
+
+	@Override
+	protected int employeesPerWriter() {
+		return 1000;
+	}
+
+	@AfterEach
+	public void tearDown() {
+		for (HikariDataSource database : databases) {
+			database.close();
+		}
+		databases.clear();
+	}
+
+	@Test
+	@DisplayName("Batched load spanning several statements keeps the first copy of each id")
+	public void testInitialSaveAll_Batched() {
+		// Arrange
+		List<Employee> batch = new ArrayList<>();
+		for (int id = 1; id <= 2 * JdbcEmployeeRepository.ROWS_PER_STATEMENT + 50; id++) {
+			batch.add(new Employee(id, "Employee " + id, "Engineer", 1000));
+		}
+		batch.add(new Employee(7, "Second Copy", "Engineer", 1000));
+		batch.add(new Employee(1000, "Second CEO", "CEO", 0));
+
+		// Act
+		int saved = employeeRepository.initialSaveAll(batch);
+
+		// Assert
+		assertEquals(2 * JdbcEmployeeRepository.ROWS_PER_STATEMENT + 50, saved);
+		assertEquals("Employee 7", employeeRepository.getEmployee(7).getName());
+		assertEquals("John Doe", employeeRepository.getEmployee(1000).getName());
+		assertEquals(saved, employeeRepository.getSubordinates(employeeRepository.getEmployee(1000)).size());
+	}
+
+	@Test
+	@DisplayName("Opening an existing database keeps its rows and adds no second manager index")
+	public void testSchema_Existing() {
+		// Arrange
+		HikariDataSource database = databases.get(0);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("DROP INDEX idx_employee_manager");
+		jdbcTemplate.execute("CREATE INDEX by_manager ON employee (manager_id)");
+
+		// Act
+		EmployeeRepository reopened = new JdbcEmployeeRepository(jdbcTemplate,
+				new DataSourceTransactionManager(database));
+
+		// Assert
+		assertEquals("John Doe", reopened.getEmployee(1000).getName());
+		assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEX_COLUMNS "
+				+ "WHERE TABLE_NAME = 'EMPLOYEE' AND COLUMN_NAME = 'MANAGER_ID'", Integer.class));
+	}
+
+	@Test
+	@DisplayName("Employees saved without a manager round-trip with a null managerId")
+	public void testInitialSave_NullManager() {
+		// Act
+		employeeRepository.initialSave(new Employee(1, "No Manager", "Contractor", null));
+
+		// Assert
+		assertNull(employeeRepository.getEmployee(1).getManagerId());
+		assertNull(employeeRepository.getEmployee(2));
+	}
+}
@@ -0,0 +1,154 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+
+@DisplayName("Search Index Tests")
+public class SearchIndexTest {
+
+	private SearchIndex searchIndex;
+
+	@BeforeEach
+	public void setUp() {
+		List<Employee> employees = List.of(
+				new Employee(1, "John Doe", "CEO", 0),
+				new Employee(2, "Jane Smith", "CTO", 1),
+				new Employee(3, "Andy Rivera", "Software Engineer", 2),
+				new Employee(4, "Ann Annabel", "Engineering Manager", 2),
+				new Employee(5, "Sam Janeway", "Software Engineer", 4));
+		searchIndex = SearchIndex.build(3, employees);
+	}
+
+	// Equal names are ordered by when they were indexed, which differs between the two
+	private List<Integer> sorted(List<Integer> ids) {
+		List<Integer> sorted = new ArrayList<>(ids);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	@Test
+	@DisplayName("Any word of the name matches a case-insensitive prefix, in name order")
+	public void testSearch_Name() {
+		assertEquals(List.of(2), searchIndex.search("SMI", null, null, 0, 10));
+		assertEquals(List.of(2), searchIndex.search(" jane s ", null, null, 0, 10));
+		assertEquals(List.of(2, 5), searchIndex.search("jane", null, null, 0, 10));
+		assertEquals(List.of(4), searchIndex.search("ann", null, null, 0, 10));
+		assertEquals(List.of(), searchIndex.search("mith", null, null, 0, 10));
+	}
+
+	@Test
+	@DisplayName("Title prefix narrows a name search, or searches on its own")
+	public void testSearch_Title() {
+		assertEquals(List.of(3, 5), searchIndex.search(null, "software", null, 0, 10));
+		assertEquals(List.of(3, 5, 4), searchIndex.search(null, "eng", null, 0, 10));
+		assertEquals(List.of(4), searchIndex.search("a", "manager", null, 0, 10));
+	}
+
+	@Test
+	@DisplayName("Offset, limit and filter page through the matches")
+	public void testSearch_Paging() {
+		assertEquals(List.of(5, 4), searchIndex.search(null, "eng", null, 1, 2));
+		assertEquals(List.of(5), searchIndex.search(null, "eng", id -> id == 5, 0, 10));
+	}
+
+	@Test
+	@DisplayName("Renames, moves, inserts and removals are searchable at once")
+	public void testApply() {
+		// Arrange
+		Employee moved = new Employee(3, "Andy Rivera", "Software Engineer", 4);
+
+		// Act
+		searchIndex.apply(List.of(new Employee(2, "Jane Doe", "CTO", 1), moved),
+				List.of(new Employee(6, "Lee Smithers", "Engineer", 3)), List.of(5), 4);
+
+		// Assert
+		assertEquals(4, searchIndex.getVersion());
+		assertEquals(List.of(6), searchIndex.search("smith", null, null, 0, 10));
+		assertEquals(List.of(1, 2), searchIndex.search("doe", null, null, 0, 10));
+		assertEquals(List.of(2), searchIndex.search("jane", null, null, 0, 10));
+		assertEquals(List.of(3), searchIndex.search("andy", null, null, 0, 10));
+	}
+
+	@Test
+	@DisplayName("Many writes past the pending limit match a fresh build")
+	public void testApply_MatchesBuild() {
+		// Arrange
+		Random random = new Random(42);
+		String[] words = { "ann", "anna", "bob", "bo", "cara", "dan", "dana", "eve" };
+		Map<Integer, Employee> org = new LinkedHashMap<>();
+		long version = 4;
+		searchIndex.apply(List.of(), List.of(), List.of(1, 2, 3, 4, 5), version);
+
+		// Act
+		for (int step = 0; step < 5000; step++) {
+			int id = 1 + random.nextInt(3000);
+			Employee employee = new Employee(id, words[random.nextInt(words.length)] + " "
+					+ words[random.nextInt(words.length)], words[random.nextInt(4)], 0);
+			boolean stored = org.containsKey(id);
+			if (stored && random.nextInt(4) == 0) {
+				org.remove(id);
+				searchIndex.apply(List.of(), List.of(), List.of(id), ++version);
+			} else {
+				org.put(id, employee);
+				searchIndex.apply(stored ? List.of(employee) : List.of(), stored ? List.of() : List.of(employee),
+						List.of(), ++version);
+			}
+		}
+
+		// Assert
+		SearchIndex rebuilt = SearchIndex.build(version, org.values());
+		for (String word : words) {
+			for (String prefix : List.of(word, word.substring(0, 1), word + " a")) {
+				assertEquals(sorted(rebuilt.search(prefix, null, null, 0, 5000)),
+						sorted(searchIndex.search(prefix, null, null, 0, 5000)), prefix);
+				assertEquals(sorted(rebuilt.search(null, prefix, null, 0, 5000)),
+						sorted(searchIndex.search(null, prefix, null, 0, 5000)), prefix);
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("Names beyond Latin-1 sort and match like any other")
+	public void testSearch_NonLatin() {
+		// Arrange
+		Random random = new Random(7);
+		String[] syllables = { "ив", "иг", "ил", "ия", "ан", "ÿa", "ÿ", "ол", "ga", "ёж" };
+		List<Employee> employees = new ArrayList<>();
+		for (int id = 1; id <= 3000; id++) {
+			String first = syllables[random.nextInt(syllables.length)] + syllables[random.nextInt(syllables.length)]
+					+ syllables[random.nextInt(syllables.length)];
+			String last = syllables[random.nextInt(syllables.length)] + syllables[random.nextInt(syllables.length)];
+			employees.add(new Employee(id, first + " " + last, "Инженер", 0));
+		}
+
+		// Act
+		SearchIndex index = SearchIndex.build(1, employees);
+
+		// Assert
+		for (String prefix : List.of("ив", "иг", "ил", "ия", "ÿ", "ÿa", "ё", "анил", "g", "Ив")) {
+			List<Integer> expected = new ArrayList<>();
+			for (Employee employee : employees) {
+				for (String word : employee.getName().split(" ")) {
+					if (word.startsWith(prefix.toLowerCase())) {
+						expected.add(employee.getEmployeeId());
+						break;
+					}
+				}
+			}
+			assertEquals(expected, sorted(index.search(prefix, null, null, 0, 3000)), prefix);
+		}
+		assertEquals(3000, index.search(null, "инж", null, 0, 3000).size());
+	}
+}
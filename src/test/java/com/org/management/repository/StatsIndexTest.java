@@ -0,0 +1,229 @@
+package com.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.Employee;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.OrgSummary;
+
+@DisplayName("Stats Index Tests")
+public class StatsIndexTest {
+
+	private StatsIndex statsIndex;
+
+	@BeforeEach
+	public void setUp() {
+		// 1 -> (2 -> (4, 5 -> 7), 3 -> 6), a separate root 10, plus a 8 <-> 9 cycle
+		List<Employee> employees = List.of(
+				new Employee(7, "E7", "Engineer", 5),
+				new Employee(1, "E1", "CEO", 0),
+				new Employee(2, "E2", "CTO", 1),
+				new Employee(3, "E3", "CFO", 1),
+				new Employee(4, "E4", "Engineer", 2),
+				new Employee(5, "E5", "Lead", 2),
+				new Employee(6, "E6", "Accountant", 3),
+				new Employee(8, "E8", "Engineer", 9),
+				new Employee(9, "E9", "Engineer", 8),
+				new Employee(10, "E10", "Founder", 0));
+		statsIndex = StatsIndex.build(3, employees);
+	}
+
+	@Test
+	@DisplayName("Build computes every subtree and the org summary")
+	public void testBuild() {
+		assertEquals(new EmployeeStats(1, 0, 2, 6, 3), statsIndex.getStats(1));
+		assertEquals(new EmployeeStats(2, 1, 2, 3, 2), statsIndex.getStats(2));
+		assertEquals(new EmployeeStats(7, 3, 0, 0, 0), statsIndex.getStats(7));
+		assertEquals(new EmployeeStats(10, 0, 0, 0, 0), statsIndex.getStats(10));
+		assertEquals(new OrgSummary(8, 4, 3, 2, 1.5), statsIndex.getSummary());
+	}
+
+	@Test
+	@DisplayName("Employees in a cycle or missing have no stats")
+	public void testGetStats_None() {
+		assertNull(statsIndex.getStats(8));
+		assertNull(statsIndex.getStats(99));
+	}
+
+	@Test
+	@DisplayName("A new leaf updates its manager chain")
+	public void testAddLeaf() {
+		// Act
+		assertTrue(statsIndex.addLeaf(new Employee(11, "E11", "Intern", 7), 4));
+
+		// Assert
+		assertEquals(4, statsIndex.getVersion());
+		assertEquals(new EmployeeStats(1, 0, 2, 7, 4), statsIndex.getStats(1));
+		assertEquals(new EmployeeStats(5, 2, 1, 2, 2), statsIndex.getStats(5));
+		assertEquals(new EmployeeStats(11, 4, 0, 0, 0), statsIndex.getStats(11));
+		assertEquals(new EmployeeStats(3, 1, 1, 1, 1), statsIndex.getStats(3));
+		assertEquals(4, statsIndex.getSummary().getDepth());
+	}
+
+	@Test
+	@DisplayName("A move shifts the subtree from the old manager chain to the new one")
+	public void testApply_Move() {
+		// Act
+		assertTrue(statsIndex.apply(List.of(), List.of(new Employee(5, "E5", "Lead", 3)), List.of(), 4));
+
+		// Assert
+		assertEquals(new EmployeeStats(2, 1, 1, 1, 1), statsIndex.getStats(2));
+		assertEquals(new EmployeeStats(3, 1, 2, 3, 2), statsIndex.getStats(3));
+		assertEquals(new EmployeeStats(1, 0, 2, 6, 3), statsIndex.getStats(1));
+		assertEquals(new EmployeeStats(7, 3, 0, 0, 0), statsIndex.getStats(7));
+	}
+
+	@Test
+	@DisplayName("An employee moved to a missing manager is attached once that manager is saved")
+	public void testApply_WaitingManager() {
+		// Act
+		statsIndex.apply(List.of(), List.of(new Employee(5, "E5", "Lead", 99)), List.of(), 4);
+		OrgSummary detached = statsIndex.getSummary();
+		statsIndex.addLeaf(new Employee(99, "E99", "Director", 10), 5);
+
+		// Assert
+		assertEquals(2, detached.getDepth());
+		assertEquals(new EmployeeStats(1, 0, 2, 4, 2), statsIndex.getStats(1));
+		assertEquals(new EmployeeStats(10, 0, 1, 3, 3), statsIndex.getStats(10));
+		assertEquals(new EmployeeStats(7, 3, 0, 0, 0), statsIndex.getStats(7));
+		assertEquals(new OrgSummary(9, 6, 3, 2, 7 / 6.0), statsIndex.getSummary());
+	}
+
+	@Test
+	@DisplayName("A move under the employee's own report is refused and leaves the index stale")
+	public void testApply_Cycle() {
+		// Act
+		boolean applied = statsIndex.apply(List.of(), List.of(new Employee(2, "E2", "CTO", 7)), List.of(), 4);
+
+		// Assert
+		assertFalse(applied);
+		assertTrue(statsIndex.getVersion() < 3);
+	}
+
+	@Test
+	@DisplayName("A removed employee leaves its chain and its reports wait for the id")
+	public void testApply_Remove() {
+		// Act
+		statsIndex.apply(List.of(), List.of(new Employee(4, "E4", "Engineer", 1)), List.of(2), 4);
+		OrgSummary removed = statsIndex.getSummary();
+		statsIndex.addLeaf(new Employee(2, "E2", "CTO", 3), 5);
+
+		// Assert
+		assertEquals(new OrgSummary(7, 3, 2, 2, 4 / 3.0), removed);
+		assertEquals(new EmployeeStats(3, 1, 2, 4, 3), statsIndex.getStats(3));
+		assertEquals(new EmployeeStats(7, 4, 0, 0, 0), statsIndex.getStats(7));
+		assertEquals(new EmployeeStats(1, 0, 2, 6, 4), statsIndex.getStats(1));
+	}
+
+	@Test
+	@DisplayName("Random leaves and moves match a fresh build")
+	public void testApply_MatchesBuild() {
+		// Arrange
+		Random random = new Random(42);
+		Map<Integer, Employee> org = new LinkedHashMap<>();
+		org.put(1, new Employee(1, "E1", "CEO", 0));
+		for (int id = 2; id <= 300; id++) {
+			org.put(id, new Employee(id, "E" + id, "Engineer", 1 + random.nextInt(id - 1)));
+		}
+		StatsIndex incremental = StatsIndex.build(1, org.values());
+
+		// Act
+		for (int step = 0; step < 500; step++) {
+			if (random.nextBoolean()) {
+				int id = org.size() + 1;
+				Employee leaf = new Employee(id, "E" + id, "Engineer", 1 + random.nextInt(org.size()));
+				org.put(id, leaf);
+				assertTrue(incremental.addLeaf(leaf, step + 2));
+			} else {
+				int id = 2 + random.nextInt(org.size() - 1);
+				int managerId = 1 + random.nextInt(org.size());
+				if (isWithin(org, managerId, id)) {
+					continue;
+				}
+				Employee moved = new Employee(id, "E" + id, "Engineer", managerId);
+				org.put(id, moved);
+				assertTrue(incremental.apply(List.of(), List.of(moved), List.of(), step + 2));
+			}
+		}
+
+		// Assert
+		StatsIndex rebuilt = StatsIndex.build(1, org.values());
+		assertEquals(rebuilt.getSummary(), incremental.getSummary());
+		for (Integer id : org.keySet()) {
+			assertEquals(rebuilt.getStats(id), incremental.getStats(id));
+		}
+	}
+
+	@Test
+	@DisplayName("Removing managers, with or without reassigning their reports, matches a fresh build")
+	public void testApply_RemovalsMatchBuild() {
+		// Arrange
+		Random random = new Random(7);
+		Map<Integer, Employee> org = new LinkedHashMap<>();
+		org.put(1, new Employee(1, "E1", "CEO", 0));
+		for (int id = 2; id <= 400; id++) {
+			// Mostly near the previous ids, so branches of many depths hang under the same managers
+			int managerId = random.nextInt(4) == 0 ? 1 + random.nextInt(id - 1) : Math.max(1, id - 1 - random.nextInt(3));
+			org.put(id, new Employee(id, "E" + id, "Engineer", managerId));
+		}
+		StatsIndex incremental = StatsIndex.build(1, org.values());
+		int nextId = 401;
+
+		// Act
+		for (int step = 0; step < 300; step++) {
+			List<Integer> ids = new ArrayList<>(org.keySet());
+			int choice = random.nextInt(3);
+			if (choice == 0) {
+				Employee leaf = new Employee(nextId, "E" + nextId, "Engineer", ids.get(random.nextInt(ids.size())));
+				org.put(nextId++, leaf);
+				assertTrue(incremental.addLeaf(leaf, step + 2));
+				continue;
+			}
+			Integer removed = ids.get(1 + random.nextInt(ids.size() - 1));
+			Integer managerId = org.get(removed).getManagerId();
+			List<Employee> reassigned = new ArrayList<>();
+			if (choice == 1 && org.containsKey(managerId)) {
+				for (Employee employee : org.values()) {
+					if (removed.equals(employee.getManagerId())) {
+						reassigned.add(new Employee(employee.getEmployeeId(), employee.getName(), employee.getTitle(),
+								managerId));
+					}
+				}
+			}
+			for (Employee employee : reassigned) {
+				org.put(employee.getEmployeeId(), employee);
+			}
+			org.remove(removed);
+			assertTrue(incremental.apply(List.of(), reassigned, List.of(removed), step + 2));
+		}
+
+		// Assert
+		StatsIndex rebuilt = StatsIndex.build(1, org.values());
+		assertEquals(rebuilt.getSummary(), incremental.getSummary());
+		for (Integer id : org.keySet()) {
+			assertEquals(rebuilt.getStats(id), incremental.getStats(id));
+		}
+	}
+
+	private static boolean isWithin(Map<Integer, Employee> org, Integer employeeId, Integer top) {
+		for (Employee e = org.get(employeeId); e != null; e = org.get(e.getManagerId())) {
+			if (e.getEmployeeId().equals(top)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,163 @@
+package com.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.org.management.model.ChangeEvent;
+import com.org.management.model.ChangePage;
+import com.org.management.model.Employee;
+
+@DisplayName("Change Feed Tests")
+public class ChangeFeedTest {
+
+	private ChangeFeed changeFeed;
+
+	private long start;
+
+	@BeforeEach
+	public void setUp() {
+		changeFeed = new ChangeFeed(4, 0);
+		start = changeFeed.getLast();
+	}
+
+	private Employee employee(int id) {
+		return new Employee(id, "E" + id, "Engineer", 1);
+	}
+
+	private List<Integer> ids(ChangePage page) {
+		List<Integer> ids = new ArrayList<>();
+		for (ChangeEvent event : page.getEvents()) {
+			ids.add(event.getEmployee().getEmployeeId());
+		}
+		return ids;
+	}
+
+	@Test
+	@DisplayName("Published events are numbered in order and read in batches")
+	public void testPublish_Read() {
+		// Act
+		changeFeed.add(ChangeEvent.Type.INSERT, employee(2));
+		changeFeed.add(ChangeEvent.Type.MOVE, employee(3));
+		ChangePage unpublished = changeFeed.read(start, 10);
+		changeFeed.publish();
+		changeFeed.add(ChangeEvent.Type.DELETE, employee(4));
+		changeFeed.publish();
+		ChangePage first = changeFeed.read(start, 2);
+		ChangePage second = changeFeed.read(first.getNext(), 2);
+
+		// Assert
+		assertTrue(unpublished.getEvents().isEmpty());
+		assertEquals(List.of(2, 3), ids(first));
+		assertEquals(start + 1, first.getEvents().get(0).getSequence());
+		assertEquals(ChangeEvent.Type.MOVE, first.getEvents().get(1).getType());
+		assertEquals(List.of(4), ids(second));
+		assertEquals(start + 3, second.getNext());
+		assertEquals(start + 3, changeFeed.getLast());
+	}
+
+	@Test
+	@DisplayName("Discarded events never become visible")
+	public void testDiscard() {
+		// Act
+		changeFeed.add(ChangeEvent.Type.INSERT, employee(2));
+		changeFeed.discard();
+		changeFeed.publish();
+
+		// Assert
+		assertEquals(start, changeFeed.getLast());
+		assertTrue(changeFeed.read(start, 10).getEvents().isEmpty());
+	}
+
+	@Test
+	@DisplayName("Positions that were overwritten, ahead of the feed or from before it are refused")
+	public void testRead_Gone() {
+		// Act
+		for (int id = 2; id <= 7; id++) {
+			changeFeed.add(ChangeEvent.Type.INSERT, employee(id));
+			changeFeed.publish();
+		}
+
+		// Assert
+		assertNull(changeFeed.read(start + 1, 10));
+		assertEquals(List.of(4, 5, 6, 7), ids(changeFeed.read(start + 2, 10)));
+		assertNull(changeFeed.read(start + 7, 10));
+		assertNull(changeFeed.read(start - 1, 10));
+	}
+
+	@Test
+	@DisplayName("A write larger than the ring keeps only its newest events")
+	public void testPublish_LargeWrite() {
+		// Act
+		for (int id = 1; id <= 21; id++) {
+			changeFeed.add(ChangeEvent.Type.INSERT, employee(id));
+		}
+		changeFeed.publish();
+
+		// Assert
+		assertEquals(start + 21, changeFeed.getLast());
+		assertNull(changeFeed.read(start, 10));
+		ChangePage kept = changeFeed.read(start + 17, 10);
+		assertEquals(List.of(18, 19, 20, 21), ids(kept));
+		assertEquals(start + 18, kept.getEvents().get(0).getSequence());
+	}
+
+	@Test
+	@DisplayName("Waiters run once an event past their position is published, and not after cancel")
+	public void testAwait() {
+		// Arrange
+		AtomicInteger woken = new AtomicInteger();
+		AtomicInteger cancelled = new AtomicInteger();
+		Runnable cancel = cancelled::incrementAndGet;
+		changeFeed.await(start, woken::incrementAndGet);
+		changeFeed.await(start, cancel);
+		changeFeed.cancel(cancel);
+
+		// Act
+		changeFeed.add(ChangeEvent.Type.INSERT, employee(2));
+		changeFeed.publish();
+		changeFeed.add(ChangeEvent.Type.INSERT, employee(3));
+		changeFeed.publish();
+		changeFeed.await(start, woken::incrementAndGet);
+
+		// Assert
+		assertEquals(2, woken.get());
+		assertEquals(0, cancelled.get());
+	}
+
+	@Test
+	@DisplayName("Publishes within the linger wake a waiter once with the whole burst")
+	public void testAwait_Linger() throws Exception {
+		// Arrange
+		ChangeFeed lingering = new ChangeFeed(100, 200);
+		long since = lingering.getLast();
+		List<ChangePage> batches = new ArrayList<>();
+		CountDownLatch woken = new CountDownLatch(1);
+		lingering.await(since, () -> {
+			batches.add(lingering.read(since, 100));
+			woken.countDown();
+		});
+
+		// Act
+		for (int id = 2; id <= 4; id++) {
+			lingering.add(ChangeEvent.Type.INSERT, employee(id));
+			lingering.publish();
+		}
+
+		// Assert
+		assertTrue(woken.await(5, TimeUnit.SECONDS));
+		assertEquals(1, batches.size());
+		assertEquals(List.of(2, 3, 4), ids(batches.get(0)));
+		lingering.close();
+	}
+}
@@ -0,0 +1,74 @@
+package com.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.org.management.model.Employee;
+
+@DisplayName("Chunked CSV Parser Tests")
+public class ChunkedCsvParserTest {
+
+	@TempDir
+	Path tempDir;
+
+	private List<Employee> parseAll(ChunkedCsvParser parser, Path csv) throws Exception {
+		List<Employee> employees = new ArrayList<>();
+		for (ChunkedCsvParser.Chunk chunk : parser.parse(csv)) {
+			employees.addAll(chunk.getEmployees());
+		}
+		return employees;
+	}
+
+	@Test
+	@DisplayName("Parse every line exactly once across many small chunks")
+	public void testParse_SmallChunks() throws Exception {
+		// Arrange
+		StringBuilder content = new StringBuilder("EmployeeID,Name,Title,ManagerID\r\n1,John Doe,CEO,\r\n");
+		for (int id = 2; id <= 5000; id++) {
+			content.append(id).append(",\"Employee, ").append(id).append("\",Engineer,").append(id / 2).append("\r\n");
+		}
+		Path csv = Files.writeString(tempDir.resolve("employees.csv"), content, StandardCharsets.UTF_8);
+		ChunkedCsvParser parser = new ChunkedCsvParser(new ForkJoinPool(4), 97);
+
+		// Act
+		List<ChunkedCsvParser.Chunk> chunks = parser.parse(csv);
+		List<Employee> employees = parseAll(parser, csv);
+
+		// Assert
+		assertTrue(chunks.size() > 1);
+		assertEquals(5000, employees.size());
+		for (int i = 0; i < employees.size(); i++) {
+			assertEquals(i + 1, employees.get(i).getEmployeeId());
+		}
+		assertEquals("Employee, 2", employees.get(1).getName());
+		assertEquals(0, employees.get(0).getManagerId());
+	}
+
+	@Test
+	@DisplayName("Count malformed rows as rejected")
+	public void testParse_Rejected() throws Exception {
+		// Arrange
+		Path csv = Files.writeString(tempDir.resolve("employees.csv"),
+				"1,John Doe,CEO,\nx,Bad Id,Engineer,1\n3,Too Short\n4,\"Unterminated,Engineer,1\n5,Jane Smith,CTO,1",
+				StandardCharsets.UTF_8);
+		ChunkedCsvParser parser = new ChunkedCsvParser(ForkJoinPool.commonPool(), 8);
+
+		// Act
+		List<ChunkedCsvParser.Chunk> chunks = parser.parse(csv);
+
+		// Assert
+		assertEquals(3, chunks.stream().mapToLong(ChunkedCsvParser.Chunk::getRejected).sum());
+		assertEquals(2, chunks.stream().mapToInt(chunk -> chunk.getEmployees().size()).sum());
+	}
+}
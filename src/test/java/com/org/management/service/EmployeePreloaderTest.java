@@ -0,0 +1,137 @@
+package com.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.org.management.persistence.EmployeeJournal;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+
+@DisplayName("Employee Preloader Tests")
+public class EmployeePreloaderTest {
+
+	private static final String CSV = "EmployeeID,Name,Title,ManagerID\n"
+			+ "1,John Doe,CEO,\n"
+			+ "2,Jane Smith,CTO,1\n"
+			+ "3,Andy Rivera,Engineer,2\n";
+
+	@TempDir
+	Path directory;
+
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	public void setUp() {
+		employeeRepository = new InMemoryEmployeeRepository();
+		employeeService = service(employeeRepository);
+	}
+
+	private EmployeeService service(EmployeeRepository repository) {
+		return new EmployeeService(repository, new EmployeeJournal(repository, "", false));
+	}
+
+	private EmployeePreloader preloader(Path path, String validation) {
+		return new EmployeePreloader(employeeService, path == null ? "" : path.toString(), validation);
+	}
+
+	@Test
+	@DisplayName("A CSV is loaded and indexed before the runner returns")
+	public void testRun_Csv() throws Exception {
+		// Arrange
+		Path csv = Files.writeString(directory.resolve("employees.csv"), CSV);
+
+		// Act
+		preloader(csv, "lenient").run(null);
+
+		// Assert
+		assertEquals(3, employeeRepository.getEmployees().size());
+		assertEquals(employeeRepository.getVersion(), employeeService.getTree().getVersion());
+		assertEquals(employeeRepository.getVersion(), employeeService.getStatsIndex().getVersion());
+		assertEquals(employeeRepository.getVersion(), employeeService.getSearchIndex().getVersion());
+	}
+
+	@Test
+	@DisplayName("An export is recognised by its header whatever its name")
+	public void testRun_Export() throws Exception {
+		// Arrange
+		EmployeeService source = service(new InMemoryEmployeeRepository());
+		source.parallelSave(Files.writeString(directory.resolve("source.csv"), CSV), ValidationMode.LENIENT);
+		Path export = directory.resolve("employees.csv");
+		try (OutputStream out = Files.newOutputStream(export)) {
+			source.export(out, true);
+		}
+
+		// Act
+		preloader(export, "strict").run(null);
+
+		// Assert
+		assertEquals(source.getEmployees(null, 10).getEmployees(), employeeRepository.getEmployees(null, 10));
+		assertTrue(employeeService.isUnder(3, 1));
+	}
+
+	@Test
+	@DisplayName("Nothing is loaded without a path or into a store that already holds employees")
+	public void testRun_Skipped() throws Exception {
+		// Arrange
+		Path csv = Files.writeString(directory.resolve("employees.csv"), CSV);
+		Path earlier = Files.writeString(directory.resolve("earlier.csv"), "7,Sam Lee,CEO,\n");
+		long version = employeeRepository.getVersion();
+
+		// Act
+		preloader(null, "lenient").run(null);
+		long afterBlank = employeeRepository.getVersion();
+		preloader(earlier, "lenient").run(null);
+		preloader(csv, "lenient").run(null);
+
+		// Assert
+		assertEquals(version, afterBlank);
+		assertEquals(1, employeeRepository.getEmployees().size());
+		assertNull(employeeRepository.getEmployee(1));
+	}
+
+	@Test
+	@DisplayName("A missing file or a strict load of an invalid hierarchy fails startup")
+	public void testRun_Failures() throws Exception {
+		// Arrange
+		Path invalid = Files.writeString(directory.resolve("invalid.csv"), CSV + "4,Kim Park,Engineer,9\n");
+
+		// Act & Assert
+		assertThrows(NoSuchFileException.class, () -> preloader(directory.resolve("missing.csv"), "strict").run(null));
+		assertThrows(InvalidHierarchyException.class, () -> preloader(invalid, "strict").run(null));
+		assertTrue(employeeRepository.getEmployees().isEmpty());
+	}
+
+	@Test
+	@DisplayName("A truncated export fails instead of loading part of the org")
+	public void testRun_TruncatedExport() throws Exception {
+		// Arrange
+		EmployeeService source = service(new InMemoryEmployeeRepository());
+		source.parallelSave(Files.writeString(directory.resolve("source.csv"), CSV), ValidationMode.LENIENT);
+		Path export = directory.resolve("employees.bin");
+		try (OutputStream out = Files.newOutputStream(export)) {
+			source.export(out, false);
+		}
+		byte[] bytes = Files.readAllBytes(export);
+		Files.write(export, Arrays.copyOf(bytes, bytes.length - 1));
+
+		// Act & Assert
+		assertThrows(IOException.class, () -> preloader(export, "lenient").run(null));
+		assertTrue(employeeRepository.getEmployees().isEmpty());
+	}
+}
@@ -0,0 +1,1088 @@
+package com.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.org.management.metrics.EmployeeMetrics;
+import com.org.management.model.BatchItemResult;
+import com.org.management.model.DeleteResult;
+import com.org.management.model.DeltaResult;
+import com.org.management.model.Employee;
+import com.org.management.model.EmployeeStats;
+import com.org.management.model.ImportResult;
+import com.org.management.model.LcaQuery;
+import com.org.management.model.LcaResult;
+import com.org.management.model.OrgSummary;
+import com.org.management.model.SearchPage;
+import com.org.management.persistence.EmployeeJournal;
+import com.org.management.repository.EulerTourTree;
+import com.org.management.repository.EmployeeRepository;
+import com.org.management.repository.InMemoryEmployeeRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("Employee Service Tests")
+public class EmployeeServiceTest {
+
+	private EmployeeRepository employeeRepository;
+
+	private EmployeeService employeeService;
+
+	@BeforeEach
+	public void setUp() {
+		employeeRepository = new InMemoryEmployeeRepository();
+		employeeService = service(employeeRepository);
+	}
+
+	private EmployeeService service(EmployeeRepository repository) {
+		return new EmployeeService(repository, new EmployeeJournal(repository, "", false));
+	}
+
+	private MockMultipartFile csv(String content) {
+		return new MockMultipartFile("employees", "test.csv", MediaType.TEXT_PLAIN_VALUE, content.getBytes());
+	}
+
+	@Nested
+	@DisplayName("Streaming Import Tests")
+	public class StreamingSaveTests {
+		@Test
+		@DisplayName("Stream rows and count loaded, skipped and rejected")
+		public void testStreamingSave_Counts() throws Exception {
+			// Arrange
+			MockMultipartFile file = csv("EmployeeID,Name,Title,ManagerID\n"
+					+ "1,John Doe,CEO,\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "x,Bad Id,Engineer,1\n"
+					+ "3,Too Short\n"
+					+ "4,Andy Rivera,Engineer,2\n");
+
+			// Act
+			ImportResult result = employeeService.streamingSave(file);
+
+			// Assert
+			assertEquals(3, result.getLoaded());
+			assertEquals(1, result.getSkipped());
+			assertEquals(2, result.getRejected());
+			assertEquals(0, employeeRepository.getEmployee(1).getManagerId());
+		}
+
+		@Test
+		@DisplayName("Stream more rows than a single batch")
+		public void testStreamingSave_MultipleBatches() throws Exception {
+			// Arrange
+			int rows = EmployeeService.IMPORT_BATCH_SIZE * 2 + 7;
+			StringBuilder content = new StringBuilder("1,John Doe,CEO,\n");
+			for (int id = 2; id <= rows; id++) {
+				content.append(id).append(",Employee ").append(id).append(",Engineer,1\n");
+			}
+
+			// Act
+			ImportResult result = employeeService.streamingSave(csv(content.toString()));
+
+			// Assert
+			assertEquals(rows, result.getLoaded());
+			assertNotNull(employeeRepository.getEmployee(rows));
+			assertEquals(rows - 1, employeeRepository.getSubordinates(employeeRepository.getEmployee(1)).size());
+		}
+	}
+
+	@Nested
+	@DisplayName("Parallel Import Tests")
+	public class ParallelSaveTests {
+		@Test
+		@DisplayName("Parallel import matches streaming import")
+		public void testParallelSave_MatchesStreaming() throws Exception {
+			// Arrange
+			MockMultipartFile file = csv("EmployeeID,Name,Title,ManagerID\n"
+					+ "1,John Doe,CEO,\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "2,Jane Doe,CFO,1\n"
+					+ "x,Bad Id,Engineer,1\n"
+					+ "4,Andy Rivera,Engineer,2\n");
+			EmployeeRepository streamingRepository = new InMemoryEmployeeRepository();
+
+			// Act
+			ImportResult parallel = employeeService.parallelSave(file);
+			ImportResult streaming = service(streamingRepository).streamingSave(file);
+
+			// Assert
+			assertEquals(streaming, parallel);
+			assertEquals("Jane Smith", employeeRepository.getEmployee(2).getName());
+			assertEquals(streamingRepository.getEmployees().size(), employeeRepository.getEmployees().size());
+		}
+	}
+
+	@Nested
+	@DisplayName("Binary Export And Import Tests")
+	public class BinaryTests {
+		@Test
+		@DisplayName("An export imports into an empty service as the same org")
+		public void testExport_BinarySave() throws Exception {
+			// Arrange
+			int rows = EmployeeService.IMPORT_BATCH_SIZE * 2 + 7;
+			StringBuilder content = new StringBuilder("1,John Doe,CEO,\n");
+			for (int id = 2; id <= rows; id++) {
+				content.append(id).append(",Employee ").append(id).append(",Engineer,").append(id / 2).append('\n');
+			}
+			employeeService.streamingSave(csv(content.toString()));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			EmployeeRepository copy = new InMemoryEmployeeRepository();
+
+			// Act
+			employeeService.export(out, true);
+			ImportResult result = service(copy).binarySave(new ByteArrayInputStream(out.toByteArray()),
+					ValidationMode.STRICT);
+
+			// Assert
+			assertEquals(rows, result.getLoaded());
+			assertTrue(result.getValidation().isValid());
+			assertEquals(employeeRepository.getEmployees(null, rows), copy.getEmployees(null, rows));
+			assertEquals(2, copy.getSubordinates(copy.getEmployee(1)).size());
+		}
+
+		@Test
+		@DisplayName("A corrupt file publishes nothing")
+		public void testBinarySave_Corrupt() throws Exception {
+			// Arrange
+			employeeService.save(new Employee(1, "John Doe", "CEO", null));
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			employeeService.export(out, false);
+			byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 1);
+			EmployeeService target = service(new InMemoryEmployeeRepository());
+			long version = target.getVersion();
+
+			// Act & Assert
+			assertThrows(IOException.class,
+					() -> target.binarySave(new ByteArrayInputStream(truncated), ValidationMode.LENIENT));
+			assertEquals(version, target.getVersion());
+			assertNull(target.getEmployee(1));
+		}
+	}
+
+	@Nested
+	@DisplayName("Tree Walk Tests")
+	public class WalkTreeTests {
+		// Renders the walk as id(reports...), with ids past the depth limit marked by a trailing dot
+		private String walk(Integer employeeId, Integer depth) throws IOException {
+			StringBuilder tree = new StringBuilder();
+			employeeService.walkTree(employeeRepository.getEmployee(employeeId), depth, new EmployeeService.TreeVisitor() {
+				@Override
+				public void enter(Employee employee, boolean expanded) {
+					tree.append(' ').append(employee.getEmployeeId()).append(expanded ? "(" : ".");
+				}
+
+				@Override
+				public void exit(Employee employee) {
+					tree.append(')');
+				}
+			});
+			return tree.toString().trim();
+		}
+
+		@Test
+		@DisplayName("Reports are nested in id order and cut at the depth limit")
+		public void testWalkTree_Depth() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n"
+					+ "5,Sam Lee,Engineer,3\n"
+					+ "3,Jane Smith,CTO,1\n"
+					+ "2,Andy Rivera,CFO,1\n"
+					+ "4,Kim Park,Engineer,3\n"));
+
+			// Act & Assert
+			assertEquals("1( 2() 3( 4() 5()))", walk(1, null));
+			assertEquals("1( 2. 3.)", walk(1, 1));
+			assertEquals("3( 4() 5())", walk(3, 2));
+			assertEquals("5()", walk(5, null));
+		}
+
+		@Test
+		@DisplayName("A chain far deeper than the call stack is walked")
+		public void testWalkTree_DeepChain() throws Exception {
+			// Arrange
+			int depth = 100_000;
+			StringBuilder content = new StringBuilder("1,John Doe,CEO,\n");
+			for (int id = 2; id <= depth; id++) {
+				content.append(id).append(",Employee ").append(id).append(",Engineer,").append(id - 1).append('\n');
+			}
+			employeeService.streamingSave(csv(content.toString()));
+			int[] entered = new int[1];
+			int[] exited = new int[1];
+
+			// Act
+			employeeService.walkTree(employeeRepository.getEmployee(1), null, new EmployeeService.TreeVisitor() {
+				@Override
+				public void enter(Employee employee, boolean expanded) {
+					entered[0]++;
+				}
+
+				@Override
+				public void exit(Employee employee) {
+					exited[0]++;
+				}
+			});
+
+			// Assert
+			assertEquals(depth, entered[0]);
+			assertEquals(depth, exited[0]);
+		}
+
+		@Test
+		@DisplayName("A walk from an employee in a manager cycle stops where it comes round")
+		public void testWalkTree_Cycle() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,3\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "3,Andy Rivera,CFO,2\n"));
+
+			// Act & Assert
+			assertEquals("1( 2( 3()))", walk(1, null));
+		}
+
+		@Test
+		@DisplayName("The cycle check before a walk asks the hierarchy and builds no stats")
+		public void testIsInHierarchy() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,3\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "3,Andy Rivera,CFO,2\n"
+					+ "4,Sam Lee,Founder,\n"
+					+ "5,Kim Park,Engineer,4\n"));
+
+			// Act & Assert
+			assertFalse(employeeService.isInHierarchy(employeeRepository.getEmployee(1)));
+			assertTrue(employeeService.isInHierarchy(employeeRepository.getEmployee(5)));
+			assertNull(ReflectionTestUtils.getField(employeeService, "statsIndex"));
+		}
+	}
+
+	@Nested
+	@DisplayName("Staged Import Tests")
+	public class StagedImportTests {
+		@Test
+		@DisplayName("Import publishes one new version")
+		public void testStreamingSave_PublishesVersion() throws Exception {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+			long before = employeeService.getVersion();
+
+			// Act
+			ImportResult result = employeeService.streamingSave(csv("2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"));
+
+			// Assert
+			assertEquals(before + 2, result.getVersion());
+			assertEquals(result.getVersion(), employeeService.getVersion());
+		}
+
+		@Test
+		@DisplayName("A file that fails part way leaves the store unchanged")
+		public void testInitialSave_FailureDiscardsLoad() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+			long before = employeeService.getVersion();
+			MockMultipartFile file = csv("EmployeeID,Name,Title,ManagerID\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "3,Andy Rivera\n");
+
+			// Act
+			assertThrows(IOException.class, () -> employeeService.initialSave(file));
+
+			// Assert
+			assertNull(employeeRepository.getEmployee(2));
+			assertEquals(before, employeeService.getVersion());
+			assertEquals(1, employeeService.save(new Employee(4, "Sam Lee", "Engineer", 1)));
+		}
+
+		@Test
+		@DisplayName("The legacy import stages rows a batch at a time")
+		public void testInitialSave_Batches() throws Exception {
+			// Arrange
+			List<Integer> batches = new ArrayList<>();
+			EmployeeRepository repository = new InMemoryEmployeeRepository() {
+				@Override
+				public StagedLoad stage() {
+					StagedLoad staged = super.stage();
+					return new StagedLoad() {
+						@Override
+						public List<Employee> saveAll(List<Employee> employees) {
+							batches.add(employees.size());
+							return staged.saveAll(employees);
+						}
+
+						@Override
+						public boolean update(Employee employee) {
+							return staged.update(employee);
+						}
+
+						@Override
+						public boolean remove(Integer employeeId) {
+							return staged.remove(employeeId);
+						}
+
+						@Override
+						public long publish() {
+							return staged.publish();
+						}
+
+						@Override
+						public void close() {
+							staged.close();
+						}
+					};
+				}
+			};
+			int rows = EmployeeService.IMPORT_BATCH_SIZE * 2 + 7;
+			StringBuilder content = new StringBuilder("EmployeeID,Name,Title,ManagerID\n1,John Doe,CEO,\n");
+			for (int id = 2; id <= rows; id++) {
+				content.append(id).append(",Employee ").append(id).append(",Engineer,1\n");
+			}
+
+			// Act
+			service(repository).initialSave(csv(content.toString()));
+
+			// Assert
+			assertEquals(List.of(EmployeeService.IMPORT_BATCH_SIZE, EmployeeService.IMPORT_BATCH_SIZE, 7), batches);
+			assertEquals(rows, repository.getEmployees().size());
+			assertEquals(0, repository.getEmployee(1).getManagerId());
+		}
+
+		@Test
+		@DisplayName("A read during another request's rebuild waits for it rather than answer from the old index")
+		public void testReads_DuringRebuild() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n"));
+			employeeService.warmIndexes();
+			employeeService.streamingSave(csv("3,Andy Rivera,Engineer,2\n"));
+			Employee andy = employeeService.getEmployee(3);
+			ReentrantLock rebuildLock = (ReentrantLock) ReflectionTestUtils.getField(employeeService, "rebuildLock");
+			CountDownLatch held = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			Thread rebuilder = new Thread(() -> {
+				rebuildLock.lock();
+				try {
+					held.countDown();
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					rebuildLock.unlock();
+				}
+			});
+			rebuilder.start();
+			held.await();
+
+			// Act
+			CompletableFuture<List<Employee>> chain = CompletableFuture.supplyAsync(() -> employeeService.getChain(andy));
+			CompletableFuture<EmployeeStats> stats = CompletableFuture.supplyAsync(() -> employeeService.getStats(andy));
+			CompletableFuture<SearchPage> page = CompletableFuture
+					.supplyAsync(() -> employeeService.search("andy", null, null, 0, 10));
+			Thread.sleep(200);
+			boolean answeredEarly = chain.isDone() || stats.isDone() || page.isDone();
+			release.countDown();
+
+			// Assert
+			assertFalse(answeredEarly);
+			assertEquals(Arrays.asList(2, 1),
+					chain.get(10, TimeUnit.SECONDS).stream().map(Employee::getEmployeeId).toList());
+			assertEquals(2, stats.get(10, TimeUnit.SECONDS).getLevel());
+			assertEquals(List.of(andy), page.get(10, TimeUnit.SECONDS).getEmployees());
+		}
+
+		@Test
+		@DisplayName("Reads rebuild stale indexes without waiting for a running import")
+		public void testReads_DuringImport() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,Engineer,2\n"));
+			EmployeeRepository sourceRepository = new InMemoryEmployeeRepository();
+			sourceRepository.initialSave(new Employee(4, "Sam Lee", "Engineer", 3));
+			ByteArrayOutputStream export = new ByteArrayOutputStream();
+			service(sourceRepository).export(export, false);
+			byte[] bytes = export.toByteArray();
+			PipedOutputStream pipe = new PipedOutputStream();
+			PipedInputStream in = new PipedInputStream(pipe, bytes.length);
+			// Just the header, so the import opens and then waits for its first block
+			pipe.write(bytes, 0, 6);
+			CompletableFuture<ImportResult> running = CompletableFuture
+					.supplyAsync(() -> {
+						try {
+							return employeeService.binarySave(in, ValidationMode.LENIENT);
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+			ReentrantLock writeLock = (ReentrantLock) ReflectionTestUtils.getField(employeeService, "writeLock");
+			while (!writeLock.isLocked()) {
+				Thread.sleep(1);
+			}
+			Employee andy = employeeService.getEmployee(3);
+
+			// Act
+			List<Employee> chain = CompletableFuture.supplyAsync(() -> employeeService.getChain(andy))
+					.get(10, TimeUnit.SECONDS);
+			EmployeeStats stats = CompletableFuture.supplyAsync(() -> employeeService.getStats(andy))
+					.get(10, TimeUnit.SECONDS);
+			SearchPage page = CompletableFuture.supplyAsync(() -> employeeService.search("andy", null, null, 0, 10))
+					.get(10, TimeUnit.SECONDS);
+			boolean stillRunning = !running.isDone();
+			pipe.write(bytes, 6, bytes.length - 6);
+			pipe.close();
+			running.get(10, TimeUnit.SECONDS);
+
+			// Assert
+			assertTrue(stillRunning);
+			assertEquals(Arrays.asList(2, 1), chain.stream().map(Employee::getEmployeeId).toList());
+			assertEquals(2, stats.getLevel());
+			assertEquals(List.of(andy), page.getEmployees());
+			assertEquals(3, employeeService.getChain(employeeService.getEmployee(4)).size());
+		}
+	}
+
+	@Nested
+	@DisplayName("Validation Tests")
+	public class ValidationTests {
+		private final String invalid = "1,John Doe,CEO,\n"
+				+ "2,Jane Smith,CTO,3\n"
+				+ "3,Andy Rivera,CFO,2\n"
+				+ "4,Sam Lee,Engineer,9\n"
+				+ "5,Kim Park,CEO, \n";
+
+		@Test
+		@DisplayName("Lenient import publishes the rows and reports the problems")
+		public void testStreamingSave_Lenient() throws Exception {
+			// Act
+			ImportResult result = employeeService.streamingSave(csv(invalid), ValidationMode.LENIENT);
+
+			// Assert
+			assertEquals(5, result.getLoaded());
+			assertEquals(2, result.getValidation().getCycles());
+			assertEquals(List.of(4), result.getValidation().getOrphanIds());
+			assertEquals(List.of(5), result.getValidation().getExtraRootIds());
+			assertEquals(0, employeeRepository.getEmployee(5).getManagerId());
+		}
+
+		@Test
+		@DisplayName("Strict import discards an invalid file in every mode")
+		public void testStrict_Rejects() throws Exception {
+			// Arrange
+			long before = employeeService.getVersion();
+
+			// Act
+			InvalidHierarchyException streamed = assertThrows(InvalidHierarchyException.class,
+					() -> employeeService.streamingSave(csv(invalid), ValidationMode.STRICT));
+			assertThrows(InvalidHierarchyException.class,
+					() -> employeeService.parallelSave(csv(invalid), ValidationMode.STRICT));
+			assertThrows(InvalidHierarchyException.class,
+					() -> employeeService.initialSave(csv(invalid), ValidationMode.STRICT));
+			assertThrows(InvalidHierarchyException.class,
+					() -> employeeService.deltaSave(csv(invalid), ValidationMode.STRICT));
+
+			// Assert
+			assertEquals(1, streamed.getReport().getOrphans());
+			assertEquals(before, employeeService.getVersion());
+			assertNull(employeeRepository.getEmployee(1));
+		}
+
+		@Test
+		@DisplayName("Strict import accepts a valid file that extends the stored org")
+		public void testStrict_Accepts() throws Exception {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+
+			// Act
+			ImportResult result = employeeService.streamingSave(csv("2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,2\n"),
+					ValidationMode.STRICT);
+
+			// Assert
+			assertTrue(result.getValidation().isValid());
+			assertEquals(2, result.getLoaded());
+		}
+	}
+
+	@Nested
+	@DisplayName("Metrics Tests")
+	public class MetricsTests {
+		private SimpleMeterRegistry registry;
+
+		@BeforeEach
+		public void setUp() {
+			registry = new SimpleMeterRegistry();
+			ReflectionTestUtils.setField(employeeService, "metrics", new EmployeeMetrics(registry));
+		}
+
+		@Test
+		@DisplayName("Imports, saves, rebuilds and queries are recorded")
+		public void testMetricsRecorded() throws Exception {
+			// Act
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n2,Jane Smith,CTO,1\nx,Bad\n"));
+			employeeService.save(new Employee(3, "Andy Rivera", "CFO", 1));
+			employeeService.save(new Employee(3, "Andy Rivera", "CFO", 1));
+			employeeService.save(new Employee(4, "Sam Lee", "Engineer", 99));
+			employeeService.getChain(employeeRepository.getEmployee(3));
+			employeeService.getChain(employeeRepository.getEmployee(2));
+
+			// Assert
+			assertEquals(1, registry.get("employee.import").tag("mode", "stream").timer().count());
+			assertEquals(2.0, registry.get("employee.import.rows").tag("outcome", "loaded").counter().count());
+			assertEquals(1.0, registry.get("employee.import.rows").tag("outcome", "skipped").counter().count());
+			assertEquals(1.0, registry.get("employee.import.rows").tag("outcome", "rejected").counter().count());
+			assertEquals(1.0, registry.get("employee.validation.problems").tag("type", "duplicate").counter().count());
+			assertEquals(1.0, registry.get("employee.saves").tag("status", "saved").counter().count());
+			assertEquals(1.0, registry.get("employee.saves").tag("status", "exists").counter().count());
+			assertEquals(1.0, registry.get("employee.saves").tag("status", "missing_manager").counter().count());
+			assertEquals(1, registry.get("employee.index.rebuild").tag("index", "hierarchy").timer().count());
+			assertEquals(2, registry.get("employee.query").tag("type", "chain").timer().count());
+		}
+
+		@Test
+		@DisplayName("Strict rejections are counted")
+		public void testStrictRejectionCounted() {
+			// Act
+			assertThrows(InvalidHierarchyException.class,
+					() -> employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CEO,\n"), ValidationMode.STRICT));
+
+			// Assert
+			assertEquals(1.0, registry.get("employee.import.rejections").counter().count());
+			assertEquals(1.0, registry.get("employee.validation.problems").tag("type", "extra_root").counter().count());
+		}
+	}
+
+	@Nested
+	@DisplayName("Delta Import Tests")
+	public class DeltaSaveTests {
+		@BeforeEach
+		public void setUp() {
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(1, "John Doe", "CEO", 0),
+					new Employee(2, "Jane Smith", "CTO", 1),
+					new Employee(3, "Andy Rivera", "CFO", 1),
+					new Employee(4, "Sam Lee", "Engineer", 2),
+					new Employee(5, "Kim Park", "Engineer", 3)));
+		}
+
+		@Test
+		@DisplayName("Delta applies inserts, updates, moves and removals and counts each")
+		public void testDeltaSave_ChangeSet() throws Exception {
+			// Arrange
+			MockMultipartFile file = csv("EmployeeID,Name,Title,ManagerID\n"
+					+ "1,John Doe,CEO,\n"
+					+ "2,Jane Smith,COO,1\n"
+					+ "4,Sam Lee,Engineer,2\n"
+					+ "5,Kim Park,Engineer,2\n"
+					+ "6,Lee Chen,Engineer,5\n"
+					+ "6,Lee Chen,Designer,5\n"
+					+ "x,Bad Id,Engineer,1\n");
+			long before = employeeService.getVersion();
+
+			// Act
+			DeltaResult result = employeeService.deltaSave(file);
+
+			// Assert
+			assertEquals(1, result.getLoaded());
+			assertEquals(1, result.getUpdated());
+			assertEquals(1, result.getMoved());
+			assertEquals(1, result.getRemoved());
+			assertEquals(2, result.getUnchanged());
+			assertEquals(1, result.getSkipped());
+			assertEquals(1, result.getRejected());
+			assertEquals(before + 4, result.getVersion());
+			assertNull(employeeRepository.getEmployee(3));
+			assertEquals("COO", employeeRepository.getEmployee(2).getTitle());
+			assertEquals(2, employeeRepository.getSubordinates(employeeRepository.getEmployee(2)).size());
+			assertEquals(List.of(2, 1), employeeService.getChain(employeeRepository.getEmployee(5))
+					.stream().map(Employee::getEmployeeId).toList());
+		}
+
+		@Test
+		@DisplayName("Renames and new leaves carry the indexes forward instead of rebuilding them")
+		public void testDeltaSave_CarriesIndexes() throws Exception {
+			// Arrange
+			EulerTourTree tree = employeeService.getTree();
+			MockMultipartFile file = csv("1,John Doe,CEO,\n"
+					+ "2,Jane Smith,COO,1\n"
+					+ "3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Engineer,2\n"
+					+ "5,Kim Park,Engineer,3\n"
+					+ "7,Lee Chen,Engineer,6\n"
+					+ "6,Ana Cruz,Manager,2\n");
+
+			// Act
+			DeltaResult result = employeeService.deltaSave(file);
+			LcaResult common = employeeService.getCommonManager(7, 4);
+
+			// Assert
+			assertEquals(2, result.getLoaded());
+			assertSame(tree, employeeService.getTree());
+			assertEquals("COO", common.getManager().getTitle());
+			assertEquals(3, common.getDistance());
+			assertEquals("COO", employeeService.getChain(employeeRepository.getEmployee(4)).get(0).getTitle());
+		}
+
+		@Test
+		@DisplayName("Unchanged file publishes no new version")
+		public void testDeltaSave_NoChanges() throws Exception {
+			// Arrange
+			long before = employeeService.getVersion();
+			MockMultipartFile file = csv("1,John Doe,CEO,\n"
+					+ "2,Jane Smith,CTO,1\n"
+					+ "3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Engineer,2\n"
+					+ "5,Kim Park,Engineer,3\n");
+
+			// Act
+			DeltaResult result = employeeService.deltaSave(file);
+
+			// Assert
+			assertEquals(5, result.getUnchanged());
+			assertEquals(before, result.getVersion());
+		}
+	}
+
+	@Nested
+	@DisplayName("Subtree Version Tests")
+	public class SubtreeVersionTests {
+		@BeforeEach
+		public void setUp() throws Exception {
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n4,Sam Lee,Engineer,2\n"));
+		}
+
+		@Test
+		@DisplayName("Save bumps only the new employee's manager")
+		public void testSave_TouchesManager() {
+			// Arrange
+			long cto = employeeService.getSubtreeVersion(2);
+			long cfo = employeeService.getSubtreeVersion(3);
+
+			// Act
+			employeeService.save(new Employee(5, "Kim Park", "Engineer", 3));
+
+			// Assert
+			assertEquals(cto, employeeService.getSubtreeVersion(2));
+			assertEquals(employeeService.getVersion(), employeeService.getSubtreeVersion(3));
+			assertTrue(employeeService.getSubtreeVersion(3) > cfo);
+		}
+
+		@Test
+		@DisplayName("Delta bumps the old and new manager of a moved employee")
+		public void testDeltaSave_TouchesMovedManagers() throws Exception {
+			// Arrange
+			long ceo = employeeService.getSubtreeVersion(1);
+
+			// Act
+			employeeService.deltaSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n4,Sam Lee,Engineer,3\n"));
+
+			// Assert
+			long version = employeeService.getVersion();
+			assertEquals(ceo, employeeService.getSubtreeVersion(1));
+			assertEquals(version, employeeService.getSubtreeVersion(2));
+			assertEquals(version, employeeService.getSubtreeVersion(3));
+		}
+	}
+
+	@Nested
+	@DisplayName("Move and Delete Tests")
+	public class MoveAndDeleteTests {
+		@BeforeEach
+		public void setUp() throws Exception {
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Engineer,2\n5,Kim Park,Engineer,4\n6,Lee Chen,Accountant,3\n"));
+			employeeService.getOrgSummary();
+			employeeService.search("a", null, null, 0, 10);
+		}
+
+		private List<Integer> ids(List<Employee> employees) {
+			return employees.stream().map(Employee::getEmployeeId).toList();
+		}
+
+		@Test
+		@DisplayName("Update moves the whole subtree without rebuilding any index")
+		public void testUpdate_MovesSubtree() {
+			// Arrange
+			EulerTourTree tree = employeeService.getTree();
+			long cto = employeeService.getSubtreeVersion(2);
+
+			// Act
+			int status = employeeService.update(new Employee(4, "Sam Lee", "Lead", 3));
+
+			// Assert
+			assertEquals(1, status);
+			assertSame(tree, employeeService.getTree());
+			assertEquals(List.of(4, 3, 1), ids(employeeService.getChain(employeeRepository.getEmployee(5))));
+			assertEquals(new EmployeeStats(3, 1, 2, 3, 2), employeeService.getStats(employeeRepository.getEmployee(3)));
+			assertEquals("Lead", employeeService.search(null, "lead", 3, 0, 10).getEmployees().get(0).getTitle());
+			assertTrue(employeeService.getSubtreeVersion(2) > cto);
+			assertEquals(employeeService.getVersion(), employeeService.getSubtreeVersion(3));
+		}
+
+		@Test
+		@DisplayName("Update refuses missing employees, missing managers and cycles")
+		public void testUpdate_Rejected() {
+			// Arrange
+			long before = employeeService.getVersion();
+
+			// Act
+			int missing = employeeService.update(new Employee(99, "Nobody", "Engineer", 1));
+			int noManager = employeeService.update(new Employee(4, "Sam Lee", "Engineer", 99));
+			int cycle = employeeService.update(new Employee(2, "Jane Smith", "CTO", 5));
+			int self = employeeService.update(new Employee(2, "Jane Smith", "CTO", 2));
+
+			// Assert
+			assertEquals(-1, missing);
+			assertEquals(0, noManager);
+			assertEquals(-2, cycle);
+			assertEquals(-2, self);
+			assertEquals(before, employeeService.getVersion());
+		}
+
+		@Test
+		@DisplayName("Delete hands the direct reports to the removed employee's manager")
+		public void testDelete_Reassign() {
+			// Act
+			DeleteResult result = employeeService.delete(2, false);
+
+			// Assert
+			assertEquals(List.of(2), result.getRemoved());
+			assertEquals(List.of(4), result.getReassigned());
+			assertNull(employeeRepository.getEmployee(2));
+			assertEquals(List.of(4, 1), ids(employeeService.getChain(employeeRepository.getEmployee(5))));
+			assertEquals(new OrgSummary(5, 3, 2, 2, 4 / 3.0), employeeService.getOrgSummary());
+			assertTrue(employeeService.search("jane", null, null, 0, 10).getEmployees().isEmpty());
+		}
+
+		@Test
+		@DisplayName("Delete publishes the moved reports and the removal as one staged load")
+		public void testDelete_ReassignStaged() throws Exception {
+			// Arrange
+			List<String> writes = new ArrayList<>();
+			EmployeeRepository repository = new InMemoryEmployeeRepository() {
+				@Override
+				public boolean update(Employee employee) {
+					writes.add("update");
+					return super.update(employee);
+				}
+
+				@Override
+				public int removeAll(List<Integer> employeeIds) {
+					writes.add("removeAll");
+					return super.removeAll(employeeIds);
+				}
+
+				@Override
+				public StagedLoad stage() {
+					writes.add("stage");
+					return super.stage();
+				}
+			};
+			EmployeeService service = service(repository);
+			service.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Sam Lee,Engineer,2\n"
+					+ "4,Kim Park,Engineer,2\n5,Lee Chen,Engineer,\n"));
+			writes.clear();
+
+			// Act
+			service.delete(2, false);
+			service.delete(5, false);
+
+			// Assert
+			assertEquals(List.of("stage", "removeAll"), writes);
+			assertEquals(List.of(3, 4), ids(repository.getSubordinates(repository.getEmployee(1)).stream()
+					.sorted(Comparator.comparing(Employee::getEmployeeId)).toList()));
+		}
+
+		@Test
+		@DisplayName("Cascading delete removes the subtree, reports first")
+		public void testDelete_Cascade() {
+			// Arrange
+			EulerTourTree tree = employeeService.getTree();
+
+			// Act
+			DeleteResult result = employeeService.delete(2, true);
+
+			// Assert
+			assertEquals(List.of(5, 4, 2), result.getRemoved());
+			assertTrue(result.getReassigned().isEmpty());
+			assertSame(tree, employeeService.getTree());
+			assertEquals(3, employeeService.getEmployees().size());
+			assertEquals(List.of(3, 6), ids(employeeService.getReports(employeeRepository.getEmployee(1), null)));
+			assertEquals(new EmployeeStats(1, 0, 1, 2, 2), employeeService.getStats(employeeRepository.getEmployee(1)));
+			assertNull(employeeService.delete(2, true));
+		}
+	}
+
+	@Nested
+	@DisplayName("Change Feed Tests")
+	public class ChangeFeedTests {
+
+		private ChangeFeed changeFeed;
+
+		private long start;
+
+		@BeforeEach
+		public void setUp() throws Exception {
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"));
+			changeFeed = new ChangeFeed(100, 0);
+			ReflectionTestUtils.setField(employeeService, "changeFeed", changeFeed);
+			start = changeFeed.getLast();
+		}
+
+		private List<String> changes() {
+			return changeFeed.read(start, 100).getEvents().stream()
+					.map(event -> event.getType() + " " + event.getEmployee().getEmployeeId())
+					.toList();
+		}
+
+		@Test
+		@DisplayName("Saves, edits and deletes publish their changes in order")
+		public void testWrites() {
+			// Act
+			employeeService.save(new Employee(4, "Sam Lee", "Engineer", 2));
+			employeeService.saveBatch(List.of(new Employee(5, "Kim Park", "Engineer", 4)));
+			employeeService.update(new Employee(4, "Sam Lee", "Lead", 2));
+			employeeService.update(new Employee(4, "Sam Lee", "Lead", 3));
+			employeeService.update(new Employee(3, "Andy Rivera", "CFO", 5));
+			employeeService.delete(4, false);
+
+			// Assert
+			assertEquals(List.of("INSERT 4", "INSERT 5", "UPDATE 4", "MOVE 4", "MOVE 5", "DELETE 4"), changes());
+			assertEquals(3, changeFeed.read(start, 100).getEvents().get(4).getEmployee().getManagerId());
+		}
+
+		@Test
+		@DisplayName("Imports publish their rows once the load is visible, failed ones publish nothing")
+		public void testImports() throws Exception {
+			// Act
+			employeeService.streamingSave(csv("4,Sam Lee,Engineer,2\n4,Sam Lee,Engineer,3\n1,John Doe,CEO,\n"));
+			assertThrows(InvalidHierarchyException.class, () -> employeeService.streamingSave(
+					csv("5,Kim Park,Engineer,99\n"), ValidationMode.STRICT));
+			employeeService.deltaSave(csv("1,John Doe,CEO,\n2,Jane Smith,COO,1\n4,Sam Lee,Engineer,1\n"
+					+ "6,Lee Chen,Engineer,4\n"));
+
+			// Assert
+			assertEquals(List.of("INSERT 4", "UPDATE 2", "MOVE 4", "DELETE 3", "INSERT 6"), changes());
+		}
+	}
+
+	@Nested
+	@DisplayName("Stats Tests")
+	public class StatsTests {
+		@Test
+		@DisplayName("Stats follow saves and delta moves without a rebuild")
+		public void testStats_Incremental() throws Exception {
+			// Arrange
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			ReflectionTestUtils.setField(employeeService, "metrics", new EmployeeMetrics(registry));
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n4,Sam Lee,Engineer,2\n"));
+			employeeService.getOrgSummary();
+
+			// Act
+			employeeService.save(new Employee(5, "Kim Park", "Engineer", 4));
+			employeeService.deltaSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Engineer,3\n5,Kim Park,Engineer,4\n6,Lee Chen,Engineer,2\n"));
+
+			// Assert
+			assertEquals(new EmployeeStats(1, 0, 2, 5, 3), employeeService.getStats(employeeRepository.getEmployee(1)));
+			assertEquals(new EmployeeStats(3, 1, 1, 2, 2), employeeService.getStats(employeeRepository.getEmployee(3)));
+			assertEquals(new EmployeeStats(2, 1, 1, 1, 1), employeeService.getStats(employeeRepository.getEmployee(2)));
+			assertEquals(new OrgSummary(6, 4, 3, 2, 5 / 4.0), employeeService.getOrgSummary());
+			assertEquals(1, registry.get("employee.index.rebuild").tag("index", "stats").timer().count());
+		}
+
+		@Test
+		@DisplayName("Stats are rebuilt after a delta that removes employees")
+		public void testStats_RebuiltAfterRemoval() throws Exception {
+			// Arrange
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"));
+			employeeService.getOrgSummary();
+
+			// Act
+			employeeService.deltaSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n"));
+
+			// Assert
+			assertEquals(new EmployeeStats(1, 0, 1, 1, 1), employeeService.getStats(employeeRepository.getEmployee(1)));
+			assertEquals(2, employeeService.getOrgSummary().getEmployees());
+		}
+	}
+
+	@Nested
+	@DisplayName("Search Tests")
+	public class SearchTests {
+		@BeforeEach
+		public void setUp() throws Exception {
+			employeeService.streamingSave(csv("1,John Doe,CEO,\n2,Jane Smith,CTO,1\n3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Software Engineer,2\n5,Kim Park,Software Engineer,3\n"));
+		}
+
+		@Test
+		@DisplayName("Search pages through matches and can be scoped to a subtree")
+		public void testSearch() {
+			// Act
+			SearchPage first = employeeService.search(null, "software", null, 0, 1);
+			SearchPage second = employeeService.search(null, "software", null, first.getNext(), 1);
+			SearchPage scoped = employeeService.search(null, "Software", 3, 0, 10);
+
+			// Assert
+			assertEquals(4, first.getEmployees().get(0).getEmployeeId());
+			assertEquals(5, second.getEmployees().get(0).getEmployeeId());
+			assertNull(second.getNext());
+			assertEquals(List.of(new Employee(5, "Kim Park", "Software Engineer", 3)), scoped.getEmployees());
+		}
+
+		@Test
+		@DisplayName("Search follows saves and delta imports without a rebuild")
+		public void testSearch_Incremental() throws Exception {
+			// Arrange
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			ReflectionTestUtils.setField(employeeService, "metrics", new EmployeeMetrics(registry));
+			employeeService.search("j", null, null, 0, 10);
+
+			// Act
+			employeeService.save(new Employee(6, "Lee Chen", "Designer", 2));
+			employeeService.deltaSave(csv("1,John Doe,CEO,\n2,Jane Smith-Chen,CTO,1\n3,Andy Rivera,CFO,1\n"
+					+ "4,Sam Lee,Software Engineer,3\n6,Lee Chen,Designer,2\n"));
+
+			// Assert
+			assertEquals(2, employeeService.search("chen", null, null, 0, 10).getEmployees().size());
+			assertEquals(List.of(4), employeeService.search("sam", null, 3, 0, 10).getEmployees().stream()
+					.map(Employee::getEmployeeId).toList());
+			assertTrue(employeeService.search("kim", null, null, 0, 10).getEmployees().isEmpty());
+			assertEquals(1, registry.get("employee.index.rebuild").tag("index", "search").timer().count());
+		}
+	}
+
+	@Nested
+	@DisplayName("Batch Save Tests")
+	public class SaveBatchTests {
+		@BeforeEach
+		public void setUp() {
+			employeeRepository.initialSaveAll(List.of(
+					new Employee(1, "John Doe", "CEO", 0),
+					new Employee(2, "Jane Smith", "CTO", 1)));
+		}
+
+		@Test
+		@DisplayName("Batch resolves managers within itself and reports a status per item")
+		public void testSaveBatch_Statuses() {
+			// Arrange
+			long before = employeeService.getVersion();
+			List<Employee> batch = List.of(
+					new Employee(4, "Sam Lee", "Engineer", 3),
+					new Employee(3, "Ana Cruz", "Manager", 2),
+					new Employee(2, "Jane Smith", "CTO", 1),
+					new Employee(3, "Ana Cruz", "Manager", 2),
+					new Employee(5, "Kim Park", "Engineer", 99),
+					new Employee(6, "Lee Chen", "Engineer", 5),
+					new Employee(7, "", "Engineer", 1),
+					new Employee(8, "Max Hill", "Engineer", 9),
+					new Employee(9, "Eve Ross", "Engineer", 8));
+
+			// Act
+			List<BatchItemResult> results = employeeService.saveBatch(batch);
+
+			// Assert
+			assertEquals(List.of(
+					BatchItemResult.Status.SAVED,
+					BatchItemResult.Status.SAVED,
+					BatchItemResult.Status.EXISTS,
+					BatchItemResult.Status.DUPLICATE,
+					BatchItemResult.Status.MISSING_MANAGER,
+					BatchItemResult.Status.MISSING_MANAGER,
+					BatchItemResult.Status.INVALID,
+					BatchItemResult.Status.MISSING_MANAGER,
+					BatchItemResult.Status.MISSING_MANAGER),
+					results.stream().map(BatchItemResult::getStatus).toList());
+			assertEquals(4, results.get(0).getEmployeeId());
+			assertEquals(before + 2, employeeService.getVersion());
+			assertEquals(List.of(3, 2, 1), employeeService.getChain(employeeRepository.getEmployee(4))
+					.stream().map(Employee::getEmployeeId).toList());
+			assertNull(employeeRepository.getEmployee(5));
+			assertNull(employeeRepository.getEmployee(8));
+		}
+
+		@Test
+		@DisplayName("Batch extends the tree instead of rebuilding it")
+		public void testSaveBatch_ExtendsTree() {
+			// Arrange
+			EulerTourTree index = employeeService.getTree();
+
+			// Act
+			employeeService.saveBatch(List.of(
+					new Employee(4, "Sam Lee", "Engineer", 3),
+					new Employee(3, "Ana Cruz", "Manager", 2),
+					new Employee(5, "Kim Park", "Engineer", 1)));
+			LcaResult result = employeeService.getCommonManager(4, 5);
+
+			// Assert
+			assertSame(index, employeeService.getTree());
+			assertEquals(1, result.getManager().getEmployeeId());
+			assertEquals(4, result.getDistance());
+		}
+	}
+
+	@Nested
+	@DisplayName("Common Manager Tests")
+	public class CommonManagerTests {
+		@Test
+		@DisplayName("Saves extend the tree instead of rebuilding it")
+		public void testSave_ExtendsTree() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+			employeeRepository.initialSave(new Employee(2, "Jane Smith", "CTO", 1));
+			EulerTourTree index = employeeService.getTree();
+
+			// Act
+			employeeService.save(new Employee(3, "Andy Rivera", "Engineer", 2));
+			employeeService.save(new Employee(4, "Sam Lee", "Engineer", 2));
+			LcaResult result = employeeService.getCommonManager(3, 4);
+
+			// Assert
+			assertSame(index, employeeService.getTree());
+			assertEquals(2, result.getManager().getEmployeeId());
+			assertEquals(2, result.getDistance());
+		}
+
+		@Test
+		@DisplayName("Imports after the tree was built trigger a rebuild")
+		public void testImport_RebuildsTree() {
+			// Arrange
+			employeeRepository.initialSave(new Employee(1, "John Doe", "CEO", 0));
+			employeeService.getTree();
+
+			// Act
+			employeeRepository.initialSave(new Employee(2, "Jane Smith", "CTO", 1));
+			List<LcaResult> results = employeeService.getCommonManagers(
+					List.of(new LcaQuery(1, 2), new LcaQuery(2, 99)));
+
+			// Assert
+			assertEquals(1, results.get(0).getManager().getEmployeeId());
+			assertEquals(1, results.get(0).getDistance());
+			assertEquals(null, results.get(1).getManager());
+		}
+	}
+}